@@ -0,0 +1,118 @@
+package com.gftworkshopcatalog.benchmarks;
+
+import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.gftworkshopcatalog.repositories.PromotionRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Deterministic fixtures and map-backed repositories shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    static final int CATEGORIES = 6;
+    private static final long SEED = 42L;
+
+    private BenchmarkData() {
+    }
+
+    static List<ProductEntity> products(int count) {
+        Random random = new Random(SEED);
+        List<ProductEntity> products = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            products.add(ProductEntity.builder()
+                    .id(id)
+                    .name("Product " + id)
+                    .description("Benchmark product number " + id)
+                    .price(1 + random.nextInt(50_000) / 100.0)
+                    .categoryId(1 + id % CATEGORIES)
+                    .weight(0.1 + random.nextInt(500) / 100.0)
+                    .currentStock(random.nextInt(1_000))
+                    .minStock(random.nextInt(50))
+                    .build());
+        }
+        return products;
+    }
+
+    static List<PromotionEntity> promotions() {
+        List<PromotionEntity> promotions = new ArrayList<>();
+        for (long categoryId = 1; categoryId <= CATEGORIES; categoryId++) {
+            promotions.add(promotion(categoryId * 2 - 1, categoryId, "SEASONAL", 1, 0.05));
+            promotions.add(promotion(categoryId * 2, categoryId, "VOLUME", 5, 0.20));
+        }
+        return promotions;
+    }
+
+    static List<CartProductDTO> cart(int catalogSize, int lines) {
+        Random random = new Random(SEED);
+        List<CartProductDTO> cart = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            cart.add(CartProductDTO.builder()
+                    .productId(1L + random.nextInt(catalogSize))
+                    .quantity(1 + random.nextInt(10))
+                    .build());
+        }
+        return cart;
+    }
+
+    static ProductRepository productRepository(List<ProductEntity> products) {
+        Map<Long, ProductEntity> productsById = new HashMap<>();
+        products.forEach(product -> productsById.put(product.getId(), product));
+        return repository(ProductRepository.class, (method, args) -> switch (method) {
+            case "findById" -> Optional.ofNullable(productsById.get((Long) args[0]));
+            case "findAllById" -> {
+                List<ProductEntity> found = new ArrayList<>();
+                for (Object id : (Iterable<?>) args[0]) {
+                    ProductEntity product = productsById.get((Long) id);
+                    if (product != null) {
+                        found.add(product);
+                    }
+                }
+                yield found;
+            }
+            case "findAll" -> List.copyOf(products);
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    static PromotionRepository promotionRepository(List<PromotionEntity> promotions) {
+        return repository(PromotionRepository.class, (method, args) -> switch (method) {
+            case "findAll" -> List.copyOf(promotions);
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    private static PromotionEntity promotion(long id, long categoryId, String type, int threshold, double discount) {
+        return PromotionEntity.builder()
+                .promotionId(id)
+                .categoryId(categoryId)
+                .discount(discount)
+                .promotionType(type)
+                .volumeThreshold(threshold)
+                .startDate(LocalDate.now().minusDays(1))
+                .endDate(LocalDate.now().plusDays(1))
+                .isActive(true)
+                .build();
+    }
+
+    private static <T> T repository(Class<T> type, RepositoryMethod handler) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) ->
+                switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    case "toString" -> "InMemory" + type.getSimpleName();
+                    default -> handler.invoke(method.getName(), args);
+                });
+        return type.cast(proxy);
+    }
+
+    @FunctionalInterface
+    private interface RepositoryMethod {
+        Object invoke(String method, Object[] args);
+    }
+}
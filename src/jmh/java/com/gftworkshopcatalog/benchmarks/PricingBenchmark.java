@@ -0,0 +1,61 @@
+package com.gftworkshopcatalog.benchmarks;
+
+import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.cache.ProductCache;
+import com.gftworkshopcatalog.indexes.ActivePromotionIndex;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart pricing through {@link ProductServiceImpl#calculateListDiscountedPrice} with the product cache either
+ * warm (every product already loaded) or cold (emptied before each call, so every line is a bulk miss).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+
+    @Param({"1", "40", "200"})
+    private int cartSize;
+
+    @Param({"1000", "100000"})
+    private int catalogSize;
+
+    private ProductServiceImpl productService;
+    private ProductCache productCache;
+    private List<CartProductDTO> cart;
+
+    @Setup
+    public void setUp() {
+        List<ProductEntity> products = BenchmarkData.products(catalogSize);
+        ProductRepository productRepository = BenchmarkData.productRepository(products);
+        ActivePromotionIndex activePromotionIndex = new ActivePromotionIndex(
+                BenchmarkData.promotionRepository(BenchmarkData.promotions()));
+        activePromotionIndex.init();
+        productCache = new ProductCache(productRepository, catalogSize, Duration.ofHours(1));
+        productService = new ProductServiceImpl(activePromotionIndex, productRepository, productCache, null, null, null,
+                new SimpleMeterRegistry(), event -> { }, null, null);
+        cart = BenchmarkData.cart(catalogSize, cartSize);
+    }
+
+    @Benchmark
+    public List<ProductEntity> calculateListDiscountedPrice_warmCache() {
+        return productService.calculateListDiscountedPrice(cart);
+    }
+
+    @Benchmark
+    public List<ProductEntity> calculateListDiscountedPrice_coldCache() {
+        productCache.invalidateAll();
+        return productService.calculateListDiscountedPrice(cart);
+    }
+}
@@ -0,0 +1,32 @@
+package com.gftworkshopcatalog.benchmarks;
+
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.operations.ProductOperations;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductOperationsBenchmark {
+
+    private PromotionEntity volumePromotion;
+    private double price;
+    private int quantity;
+
+    @Setup
+    public void setUp() {
+        volumePromotion = BenchmarkData.promotions().get(1);
+        price = 84.22;
+        quantity = 7;
+    }
+
+    @Benchmark
+    public double calculateNewPrice() {
+        return ProductOperations.calculateNewPrice(price, volumePromotion, quantity);
+    }
+}
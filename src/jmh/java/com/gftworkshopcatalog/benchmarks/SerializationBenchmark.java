@@ -0,0 +1,55 @@
+package com.gftworkshopcatalog.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.gftworkshopcatalog.config.JacksonConfig;
+import com.gftworkshopcatalog.model.ProductEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the product payloads, using the application's {@link JacksonConfig} mapper: a JSON array as
+ * returned by GET /products and one object per line as written by GET /products/export.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"50", "500", "5000"})
+    private int listSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter productWriter;
+    private List<ProductEntity> products;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        productWriter = objectMapper.writerFor(ProductEntity.class);
+        products = BenchmarkData.products(listSize);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] serializeNdjson() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(listSize * 256);
+        for (ProductEntity product : products) {
+            outputStream.write(productWriter.writeValueAsBytes(product));
+            outputStream.write('\n');
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * JMH benchmarks for pricing and serialization. They live outside the regular test sources and are only
+ * compiled with the {@code benchmarks} Maven profile:
+ *
+ * <pre>
+ * ./mvnw -P benchmarks test-compile exec:exec
+ * ./mvnw -P benchmarks test-compile exec:exec -Djmh.args="PricingBenchmark -p cartSize=200 -prof gc"
+ * </pre>
+ *
+ * {@code jmh.args} is passed straight to {@code org.openjdk.jmh.Main} and defaults to {@code -prof gc}, so every
+ * run reports {@code gc.alloc.rate.norm} (bytes allocated per operation) next to the timings. Repositories are
+ * replaced by in-memory maps so only the code under test is measured.
+ */
+package com.gftworkshopcatalog.benchmarks;
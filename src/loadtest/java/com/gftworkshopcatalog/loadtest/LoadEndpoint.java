@@ -0,0 +1,83 @@
+package com.gftworkshopcatalog.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Requests the load test can send. Ids are drawn uniformly from the configured ranges; stock changes are
+ * small increments and decrements that roughly cancel out so a long run does not drain the catalog.
+ */
+enum LoadEndpoint {
+
+    GET_PRODUCT("getProduct") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, LoadTestOptions options, Random random) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/products/" + productId(options, random))).GET();
+        }
+    },
+    CATEGORY_PRODUCTS("categoryProducts") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, LoadTestOptions options, Random random) {
+            long categoryId = 1 + random.nextInt(options.categories());
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/categories/" + categoryId + "/products")).GET();
+        }
+    },
+    PRODUCTS_BY_IDS("byIds") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, LoadTestOptions options, Random random) {
+            String ids = IntStream.range(0, 10)
+                    .mapToObj(i -> String.valueOf(productId(options, random)))
+                    .distinct()
+                    .collect(Collectors.joining(",", "[", "]"));
+            return json(baseUrl + "/products/byIds").POST(HttpRequest.BodyPublishers.ofString(ids));
+        }
+    },
+    VOLUME_PROMOTION("volumePromotion") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, LoadTestOptions options, Random random) {
+            String cart = IntStream.range(0, 5)
+                    .mapToObj(i -> "{\"productId\":" + productId(options, random) + ",\"quantity\":" + (1 + random.nextInt(10)) + "}")
+                    .collect(Collectors.joining(",", "[", "]"));
+            return json(baseUrl + "/products/volumePromotion").POST(HttpRequest.BodyPublishers.ofString(cart));
+        }
+    },
+    NEW_STOCK("newStock") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, LoadTestOptions options, Random random) {
+            int quantity = random.nextBoolean() ? 1 : -1;
+            String uri = baseUrl + "/products/newStock/" + productId(options, random) + "/" + quantity + "?quantity=" + quantity;
+            return HttpRequest.newBuilder(URI.create(uri)).method("PATCH", HttpRequest.BodyPublishers.noBody());
+        }
+    };
+
+    private final String optionName;
+
+    LoadEndpoint(String optionName) {
+        this.optionName = optionName;
+    }
+
+    abstract HttpRequest.Builder request(String baseUrl, LoadTestOptions options, Random random);
+
+    String optionName() {
+        return optionName;
+    }
+
+    static LoadEndpoint fromName(String name) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.optionName.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint in mix: " + name));
+    }
+
+    private static long productId(LoadTestOptions options, Random random) {
+        return 1 + random.nextInt(options.products());
+    }
+
+    private static HttpRequest.Builder json(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).header("Content-Type", "application/json");
+    }
+}
@@ -0,0 +1,168 @@
+package com.gftworkshopcatalog.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gftworkshopcatalog.CatalogServiceWorkshopApplication;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load generator: every worker sends one request, waits for the response and sends the next, so the
+ * offered load follows the service's own latency. Latencies are recorded per endpoint in HdrHistograms and written
+ * as a JSON report; see {@link LoadTestOptions} for the knobs.
+ */
+public final class LoadTest {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final Map<LoadEndpoint, Recorder> recorders = new EnumMap<>(LoadEndpoint.class);
+    private final Map<LoadEndpoint, LongAdder> errors = new EnumMap<>(LoadEndpoint.class);
+    private final LoadEndpoint[] weightedEndpoints;
+
+    LoadTest(LoadTestOptions options, String baseUrl) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<LoadEndpoint> weighted = new ArrayList<>();
+        options.mix().forEach((endpoint, weight) -> {
+            recorders.put(endpoint, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            errors.put(endpoint, new LongAdder());
+            weighted.addAll(Collections.nCopies(weight, endpoint));
+        });
+        this.weightedEndpoints = weighted.toArray(LoadEndpoint[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext context = options.target() == null ? bootCatalog() : null;
+        try {
+            String baseUrl = context == null
+                    ? options.target()
+                    : "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/catalog";
+            Map<String, Object> report = new LoadTest(options, baseUrl).run();
+            ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            String json = objectMapper.writeValueAsString(report);
+            if (options.output().getParent() != null) {
+                Files.createDirectories(options.output().getParent());
+            }
+            Files.writeString(options.output(), json);
+            System.out.println(json);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext bootCatalog() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return SpringApplication.run(CatalogServiceWorkshopApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.gftworkshopcatalog=WARN",
+                "--logging.level.org.hibernate.SQL=WARN");
+    }
+
+    Map<String, Object> run() throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency());
+        long deadline = System.nanoTime() + options.warmup().toNanos() + options.duration().toNanos();
+        for (int i = 0; i < options.concurrency(); i++) {
+            Random random = new Random(options.seed() + i);
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    send(weightedEndpoints[random.nextInt(weightedEndpoints.length)], random);
+                }
+            });
+        }
+        Thread.sleep(options.warmup().toMillis());
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+        long measureStart = System.nanoTime();
+        workers.shutdown();
+        if (!workers.awaitTermination(options.duration().toSeconds() + REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        double measuredSeconds = (System.nanoTime() - measureStart) / 1e9;
+        return report(measuredSeconds);
+    }
+
+    private void send(LoadEndpoint endpoint, Random random) {
+        HttpRequest request = endpoint.request(baseUrl, options, random).timeout(REQUEST_TIMEOUT).build();
+        long start = System.nanoTime();
+        boolean failed;
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            failed = response.statusCode() >= 400;
+        } catch (IOException e) {
+            failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        recorders.get(endpoint).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        if (failed) {
+            errors.get(endpoint).increment();
+        }
+    }
+
+    private Map<String, Object> report(double measuredSeconds) {
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        long totalErrors = 0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Map.Entry<LoadEndpoint, Recorder> entry : recorders.entrySet()) {
+            Histogram histogram = entry.getValue().getIntervalHistogram();
+            long endpointErrors = errors.get(entry.getKey()).sum();
+            total.add(histogram);
+            totalErrors += endpointErrors;
+            endpoints.put(entry.getKey().optionName(), summary(histogram, endpointErrors, measuredSeconds));
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("target", baseUrl);
+        report.put("concurrency", options.concurrency());
+        report.put("warmupSeconds", options.warmup().toSeconds());
+        report.put("measuredSeconds", Math.round(measuredSeconds * 100) / 100.0);
+        report.put("total", summary(total, totalErrors, measuredSeconds));
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private static Map<String, Object> summary(Histogram histogram, long errors, double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", histogram.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("throughputPerSecond", Math.round(histogram.getTotalCount() / seconds * 10) / 10.0);
+        summary.put("p50Millis", millis(histogram.getValueAtPercentile(50)));
+        summary.put("p99Millis", millis(histogram.getValueAtPercentile(99)));
+        summary.put("p999Millis", millis(histogram.getValueAtPercentile(99.9)));
+        summary.put("maxMillis", millis(histogram.getMaxValue()));
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.gftworkshopcatalog.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of {@link LoadTest}, all given as {@code --name=value}.
+ *
+ * <ul>
+ *     <li>{@code target}: base URL of a running instance, e.g. {@code http://localhost:8080/catalog}. When absent
+ *     the application is booted in-process on a random port against its own H2 database.</li>
+ *     <li>{@code duration} / {@code warmup}: measured and discarded seconds, default 30 and 10.</li>
+ *     <li>{@code concurrency}: closed-loop workers, each with one request in flight, default 16.</li>
+ *     <li>{@code mix}: endpoint weights, default
+ *     {@code getProduct=40,categoryProducts=20,byIds=15,volumePromotion=15,newStock=10}.</li>
+ *     <li>{@code products} / {@code categories}: id ranges requests are drawn from, default 40 and 6.</li>
+ *     <li>{@code seed}: random seed of the request mix, default 42.</li>
+ *     <li>{@code output}: JSON report path, default {@code target/loadtest-report.json}.</li>
+ * </ul>
+ */
+record LoadTestOptions(String target, Duration duration, Duration warmup, int concurrency,
+                       Map<LoadEndpoint, Integer> mix, int products, int categories, long seed, Path output) {
+
+    private static final String DEFAULT_MIX = "getProduct=40,categoryProducts=20,byIds=15,volumePromotion=15,newStock=10";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(
+                values.get("target"),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))),
+                Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(values.getOrDefault("products", "40")),
+                Integer.parseInt(values.getOrDefault("categories", "6")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("output", "target/loadtest-report.json")));
+    }
+
+    private static Map<LoadEndpoint, Integer> parseMix(String mix) {
+        Map<LoadEndpoint, Integer> weights = new EnumMap<>(LoadEndpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(LoadEndpoint.fromName(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix must give at least one endpoint a positive weight");
+        }
+        return weights;
+    }
+}
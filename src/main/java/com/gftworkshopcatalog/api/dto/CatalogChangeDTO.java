@@ -0,0 +1,20 @@
+package com.gftworkshopcatalog.api.dto;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Generated
+public class CatalogChangeDTO {
+    private long sequence;
+    private String type;
+    private Instant occurredAt;
+    private Long productId;
+    private Long categoryId;
+    private ProductEntity product;
+}
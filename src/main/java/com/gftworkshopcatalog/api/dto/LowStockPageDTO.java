@@ -0,0 +1,17 @@
+package com.gftworkshopcatalog.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Generated
+public class LowStockPageDTO {
+    private long total;
+    private int page;
+    private int size;
+    private List<LowStockProductDTO> products;
+}
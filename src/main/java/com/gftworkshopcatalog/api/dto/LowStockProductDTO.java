@@ -0,0 +1,19 @@
+package com.gftworkshopcatalog.api.dto;
+
+import com.gftworkshopcatalog.model.StockLevel;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Generated
+public class LowStockProductDTO {
+    private Long id;
+    private String name;
+    private Long categoryId;
+    private int currentStock;
+    private int minStock;
+    private int deficit;
+    private StockLevel level;
+}
@@ -0,0 +1,28 @@
+package com.gftworkshopcatalog.api.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Generated
+public class PriceAdjustmentDTO {
+    private Type type;
+    private BigDecimal amount;
+    private Rounding rounding;
+    private Integer scale;
+
+    public enum Type {
+        PERCENTAGE,
+        ABSOLUTE
+    }
+
+    public enum Rounding {
+        NEAREST,
+        UP,
+        DOWN
+    }
+}
@@ -0,0 +1,20 @@
+package com.gftworkshopcatalog.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Generated
+public class ProductFacetsDTO {
+    private int total;
+    private List<Long> productIds;
+    private Map<String, Integer> categories;
+    private Map<String, Integer> priceBands;
+    private Map<String, Integer> weightBands;
+    private Map<String, Integer> stock;
+}
@@ -0,0 +1,18 @@
+package com.gftworkshopcatalog.api.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Generated
+public class ProductFilterDTO {
+    private Long categoryId;
+    private Double minPrice;
+    private Double maxPrice;
+    private Boolean inStock;
+    private String sort;
+    private String cursor;
+    private Integer size;
+}
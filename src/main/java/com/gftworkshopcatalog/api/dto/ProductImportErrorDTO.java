@@ -0,0 +1,13 @@
+package com.gftworkshopcatalog.api.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Generated
+public class ProductImportErrorDTO {
+    private int row;
+    private String message;
+}
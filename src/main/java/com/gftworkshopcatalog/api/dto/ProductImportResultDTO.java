@@ -0,0 +1,17 @@
+package com.gftworkshopcatalog.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Generated
+public class ProductImportResultDTO {
+    private int inserted;
+    private int updated;
+    private int failed;
+    private List<ProductImportErrorDTO> errors;
+}
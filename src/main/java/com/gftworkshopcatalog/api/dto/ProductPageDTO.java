@@ -0,0 +1,16 @@
+package com.gftworkshopcatalog.api.dto;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Generated
+public class ProductPageDTO {
+    private List<ProductEntity> content;
+    private String nextCursor;
+}
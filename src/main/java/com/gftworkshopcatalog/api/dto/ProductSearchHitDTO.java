@@ -0,0 +1,14 @@
+package com.gftworkshopcatalog.api.dto;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Generated
+public class ProductSearchHitDTO {
+    private double score;
+    private ProductEntity product;
+}
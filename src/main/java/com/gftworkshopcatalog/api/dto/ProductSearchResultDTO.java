@@ -0,0 +1,18 @@
+package com.gftworkshopcatalog.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Generated
+public class ProductSearchResultDTO {
+    private String query;
+    private long total;
+    private int page;
+    private int size;
+    private List<ProductSearchHitDTO> hits;
+}
@@ -0,0 +1,13 @@
+package com.gftworkshopcatalog.api.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Generated
+public class ProductStockDTO {
+    private Long productId;
+    private Integer currentStock;
+}
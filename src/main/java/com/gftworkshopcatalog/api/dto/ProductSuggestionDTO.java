@@ -0,0 +1,14 @@
+package com.gftworkshopcatalog.api.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Generated
+public class ProductSuggestionDTO {
+    private Long id;
+    private String name;
+    private Long categoryId;
+}
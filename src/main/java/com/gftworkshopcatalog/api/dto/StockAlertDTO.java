@@ -0,0 +1,19 @@
+package com.gftworkshopcatalog.api.dto;
+
+import com.gftworkshopcatalog.model.StockLevel;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Generated
+public class StockAlertDTO {
+    private Long productId;
+    private String name;
+    private Long categoryId;
+    private StockLevel previousLevel;
+    private StockLevel level;
+    private int currentStock;
+    private int minStock;
+}
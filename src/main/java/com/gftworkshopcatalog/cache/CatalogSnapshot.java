@@ -0,0 +1,201 @@
+package com.gftworkshopcatalog.cache;
+
+import com.gftworkshopcatalog.model.CategoryEntity;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.ProductSortField;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Immutable view of the whole catalog. Products are held in arrays sorted for each listing order, plus one
+ * array per category sorted by id, so listings are a binary search to the cursor followed by a scan. Nothing
+ * here is ever modified after construction: a change produces a new snapshot that shares every array it did
+ * not touch with the previous one.
+ */
+public final class CatalogSnapshot {
+
+    private static final ProductEntity[] NO_PRODUCTS = new ProductEntity[0];
+    private static final Comparator<ProductEntity> BY_ID = Comparator.comparing(ProductEntity::getId);
+    private static final Comparator<ProductEntity> BY_PRICE = Comparator.comparing(ProductEntity::getPrice).thenComparing(BY_ID);
+    private static final Comparator<ProductEntity> BY_NAME = Comparator.comparing(ProductEntity::getName).thenComparing(BY_ID);
+
+    private final ProductEntity[] byId;
+    private final ProductEntity[] byPrice;
+    private final ProductEntity[] byName;
+    private final Map<Long, ProductEntity[]> byCategory;
+    private final List<CategoryEntity> categories;
+    private final List<PromotionEntity> promotions;
+
+    private CatalogSnapshot(ProductEntity[] byId, ProductEntity[] byPrice, ProductEntity[] byName,
+                            Map<Long, ProductEntity[]> byCategory, List<CategoryEntity> categories,
+                            List<PromotionEntity> promotions) {
+        this.byId = byId;
+        this.byPrice = byPrice;
+        this.byName = byName;
+        this.byCategory = byCategory;
+        this.categories = categories;
+        this.promotions = promotions;
+    }
+
+    public static CatalogSnapshot of(Collection<ProductEntity> products, Collection<CategoryEntity> categories,
+                                     Collection<PromotionEntity> promotions) {
+        ProductEntity[] all = products.toArray(NO_PRODUCTS);
+        Map<Long, List<ProductEntity>> grouped = new HashMap<>();
+        for (ProductEntity product : all) {
+            grouped.computeIfAbsent(product.getCategoryId(), key -> new ArrayList<>()).add(product);
+        }
+        Map<Long, ProductEntity[]> byCategory = new HashMap<>();
+        grouped.forEach((categoryId, categoryProducts) -> byCategory.put(categoryId, sorted(categoryProducts.toArray(NO_PRODUCTS), BY_ID)));
+        return new CatalogSnapshot(sorted(all.clone(), BY_ID), sorted(all.clone(), BY_PRICE), sorted(all, BY_NAME),
+                Map.copyOf(byCategory), sortedCategories(categories), List.copyOf(promotions));
+    }
+
+    public List<ProductEntity> products() {
+        return List.of(byId);
+    }
+
+    public Optional<ProductEntity> product(Long productId) {
+        int position = Arrays.binarySearch(byId, ProductEntity.builder().id(productId).build(), BY_ID);
+        return position < 0 ? Optional.empty() : Optional.of(byId[position]);
+    }
+
+    public List<ProductEntity> productsByCategory(Long categoryId) {
+        return List.of(byCategory.getOrDefault(categoryId, NO_PRODUCTS));
+    }
+
+    public List<CategoryEntity> categories() {
+        return categories;
+    }
+
+    public List<PromotionEntity> promotions() {
+        return promotions;
+    }
+
+    /**
+     * Up to {@code limit} products in {@code sortField} order that come after the cursor and match the filter.
+     * {@code after} must hold for a suffix of that order, as a keyset cursor does; a null cursor starts at the
+     * beginning and a category listed by id only walks that category's own array.
+     */
+    public List<ProductEntity> page(ProductSortField sortField, Long categoryId, Predicate<ProductEntity> after,
+                                    Predicate<ProductEntity> filter, int limit) {
+        ProductEntity[] ordered = switch (sortField) {
+            case ID -> categoryId == null ? byId : byCategory.getOrDefault(categoryId, NO_PRODUCTS);
+            case PRICE -> byPrice;
+            case NAME -> byName;
+        };
+        List<ProductEntity> page = new ArrayList<>(Math.min(limit, ordered.length));
+        for (int i = after == null ? 0 : firstMatching(ordered, after); i < ordered.length && page.size() < limit; i++) {
+            ProductEntity product = ordered[i];
+            if ((categoryId == null || categoryId.equals(product.getCategoryId())) && filter.test(product)) {
+                page.add(product);
+            }
+        }
+        return page;
+    }
+
+    public int productCount() {
+        return byId.length;
+    }
+
+    /**
+     * Snapshot with {@code product} added or replacing the product with the same id, or this snapshot when it
+     * already holds that product at the same or a later version.
+     */
+    public CatalogSnapshot withProduct(ProductEntity product) {
+        Optional<ProductEntity> existing = product(product.getId());
+        if (existing.isPresent() && !isNewer(product, existing.get())) {
+            return this;
+        }
+        CatalogSnapshot without = withoutProduct(product.getId());
+        Map<Long, ProductEntity[]> byCategory = new HashMap<>(without.byCategory);
+        byCategory.put(product.getCategoryId(), inserted(byCategory.getOrDefault(product.getCategoryId(), NO_PRODUCTS), product, BY_ID));
+        return new CatalogSnapshot(inserted(without.byId, product, BY_ID), inserted(without.byPrice, product, BY_PRICE),
+                inserted(without.byName, product, BY_NAME), Map.copyOf(byCategory), categories, promotions);
+    }
+
+    public CatalogSnapshot withoutProduct(Long productId) {
+        Optional<ProductEntity> existing = product(productId);
+        if (existing.isEmpty()) {
+            return this;
+        }
+        ProductEntity product = existing.get();
+        Map<Long, ProductEntity[]> byCategory = new HashMap<>(this.byCategory);
+        ProductEntity[] categoryProducts = removed(byCategory.get(product.getCategoryId()), product, BY_ID);
+        if (categoryProducts.length == 0) {
+            byCategory.remove(product.getCategoryId());
+        } else {
+            byCategory.put(product.getCategoryId(), categoryProducts);
+        }
+        return new CatalogSnapshot(removed(byId, product, BY_ID), removed(byPrice, product, BY_PRICE),
+                removed(byName, product, BY_NAME), Map.copyOf(byCategory), categories, promotions);
+    }
+
+    /**
+     * Snapshot where the products of {@code categoryId} are exactly {@code products}. Every array is rebuilt,
+     * which is the right trade for bulk writes that touch a whole category at once.
+     */
+    public CatalogSnapshot withCategoryProducts(Long categoryId, Collection<ProductEntity> products) {
+        List<ProductEntity> all = new ArrayList<>(byId.length - productsByCategory(categoryId).size() + products.size());
+        for (ProductEntity product : byId) {
+            if (!categoryId.equals(product.getCategoryId())) {
+                all.add(product);
+            }
+        }
+        all.addAll(products);
+        return of(all, categories, promotions);
+    }
+
+    public CatalogSnapshot withCategories(Collection<CategoryEntity> categories) {
+        return new CatalogSnapshot(byId, byPrice, byName, byCategory, sortedCategories(categories), promotions);
+    }
+
+    public CatalogSnapshot withPromotions(Collection<PromotionEntity> promotions) {
+        return new CatalogSnapshot(byId, byPrice, byName, byCategory, categories, List.copyOf(promotions));
+    }
+
+    private static boolean isNewer(ProductEntity product, ProductEntity existing) {
+        return product.getVersion() == null || existing.getVersion() == null || product.getVersion() > existing.getVersion();
+    }
+
+    private static int firstMatching(ProductEntity[] ordered, Predicate<ProductEntity> after) {
+        int low = 0;
+        int high = ordered.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (after.test(ordered[middle])) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private static ProductEntity[] sorted(ProductEntity[] products, Comparator<ProductEntity> order) {
+        Arrays.sort(products, order);
+        return products;
+    }
+
+    private static ProductEntity[] inserted(ProductEntity[] products, ProductEntity product, Comparator<ProductEntity> order) {
+        int position = -Arrays.binarySearch(products, product, order) - 1;
+        ProductEntity[] result = new ProductEntity[products.length + 1];
+        System.arraycopy(products, 0, result, 0, position);
+        result[position] = product;
+        System.arraycopy(products, position, result, position + 1, products.length - position);
+        return result;
+    }
+
+    private static ProductEntity[] removed(ProductEntity[] products, ProductEntity product, Comparator<ProductEntity> order) {
+        int position = Arrays.binarySearch(products, product, order);
+        ProductEntity[] result = new ProductEntity[products.length - 1];
+        System.arraycopy(products, 0, result, 0, position);
+        System.arraycopy(products, position + 1, result, position, products.length - position - 1);
+        return result;
+    }
+
+    private static List<CategoryEntity> sortedCategories(Collection<CategoryEntity> categories) {
+        return categories.stream().sorted(Comparator.comparing(CategoryEntity::getCategoryId)).toList();
+    }
+}
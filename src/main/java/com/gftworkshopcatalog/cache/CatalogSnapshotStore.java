@@ -0,0 +1,123 @@
+package com.gftworkshopcatalog.cache;
+
+import com.gftworkshopcatalog.events.CatalogChangedEvent;
+import com.gftworkshopcatalog.events.ProductChangedEvent;
+import com.gftworkshopcatalog.events.ProductVersions;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.CategoryRepository;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.gftworkshopcatalog.repositories.PromotionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the current {@link CatalogSnapshot}. Readers take whatever snapshot the volatile field points at and
+ * never block; writers are serialized and publish a new snapshot once their transaction has committed. A
+ * single product write is patched in from the event without touching the database, unless the snapshot already
+ * holds that product at the same or a later version or has seen it deleted. Bulk writes (category repricing)
+ * and writes to categories or promotions re-read just what they changed, on the writing thread, so reads never
+ * wait on the database.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotStore implements MeterBinder {
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final PromotionRepository promotionRepository;
+    private final AtomicLong rebuildCount = new AtomicLong();
+    private final ProductVersions versions = new ProductVersions();
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(), List.of(), List.of());
+
+    public CatalogSnapshotStore(ProductRepository productRepository, CategoryRepository categoryRepository,
+                                PromotionRepository promotionRepository) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.promotionRepository = promotionRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        snapshot = CatalogSnapshot.of(productRepository.findAll().stream().map(CatalogSnapshotStore::copyOf).toList(),
+                categoryRepository.findAll(), promotionRepository.findAll());
+        rebuildCount.incrementAndGet();
+        log.info("Catalog snapshot rebuilt with {} products, {} categories and {} promotions",
+                snapshot.productCount(), snapshot.categories().size(), snapshot.promotions().size());
+    }
+
+    public CatalogSnapshot current() {
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.type()) {
+            case SAVED -> put(event.product());
+            case DELETED -> remove(event.product());
+            case RELOADED -> rebuild();
+            case CATEGORY_REPRICED -> reloadCategory(event.categoryId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        snapshot = switch (event.table()) {
+            case CATEGORIES -> snapshot.withCategories(categoryRepository.findAll());
+            case PROMOTIONS -> snapshot.withPromotions(promotionRepository.findAll());
+        };
+    }
+
+    public synchronized void put(ProductEntity product) {
+        if (versions.advance(product)) {
+            snapshot = snapshot.withProduct(copyOf(product));
+        }
+    }
+
+    public synchronized void remove(ProductEntity product) {
+        versions.delete(product);
+        snapshot = snapshot.withoutProduct(product.getId());
+    }
+
+    public int size() {
+        return snapshot.productCount();
+    }
+
+    public long getRebuildCount() {
+        return rebuildCount.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.snapshot.size", this, CatalogSnapshotStore::size)
+                .description("Products held in the in-memory catalog snapshot")
+                .register(registry);
+        FunctionCounter.builder("catalog.snapshot.rebuilds", this, CatalogSnapshotStore::getRebuildCount)
+                .description("Full rebuilds of the catalog snapshot from the database")
+                .register(registry);
+    }
+
+    private synchronized void reloadCategory(Long categoryId) {
+        snapshot = snapshot.withCategoryProducts(categoryId,
+                productRepository.findByCategoryId(categoryId).stream().map(CatalogSnapshotStore::copyOf).toList());
+    }
+
+    /**
+     * Detached copy, so that later changes to a managed entity cannot leak into a published snapshot.
+     */
+    private static ProductEntity copyOf(ProductEntity product) {
+        return product.toBuilder().build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.gftworkshopcatalog.cache;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded read-through cache in front of {@link ProductRepository#findById}. Concurrent misses on the same
+ * product share a single load. Write paths must call {@link #evict(Long)} once they have changed a product.
+ * Callers get their own copies, so changing a product they read cannot alter what later readers see.
+ */
+@Slf4j
+@Component
+public class ProductCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "products";
+
+    private final LoadingCache<Long, ProductEntity> cache;
+
+    public ProductCache(ProductRepository productRepository,
+                        @Value("${catalog.cache.products.maximum-size:10000}") long maximumSize,
+                        @Value("${catalog.cache.products.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public ProductEntity load(Long productId) {
+                        return productRepository.findById(productId).orElse(null);
+                    }
+
+                    @Override
+                    public Map<Long, ProductEntity> loadAll(Set<? extends Long> productIds) {
+                        return productRepository.findAllById(Set.copyOf(productIds)).stream()
+                                .collect(Collectors.toMap(ProductEntity::getId, Function.identity()));
+                    }
+                });
+    }
+
+    public ProductEntity get(Long productId) {
+        return copy(cache.get(productId));
+    }
+
+    public Map<Long, ProductEntity> getAll(Collection<Long> productIds) {
+        Map<Long, ProductEntity> products = new LinkedHashMap<>();
+        cache.getAll(productIds).forEach((productId, product) -> products.put(productId, copy(product)));
+        return products;
+    }
+
+    /**
+     * Drops the product now and, when called inside a transaction, again once it completes so that a read
+     * racing with the write cannot put the old row back.
+     */
+    public void evict(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        cache.invalidate(productId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(productId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops every product, again once the surrounding transaction completes, as {@link #evict} does.
+     */
+    public void invalidateAll() {
+        log.info("Invalidating product cache");
+        cache.invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+
+    private static ProductEntity copy(ProductEntity product) {
+        return product == null ? null : product.toBuilder().build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
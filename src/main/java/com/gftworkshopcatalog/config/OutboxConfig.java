@@ -0,0 +1,26 @@
+package com.gftworkshopcatalog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gftworkshopcatalog.outbox.FileOutboxSink;
+import com.gftworkshopcatalog.outbox.OutboxSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+
+@Configuration
+public class OutboxConfig {
+
+    /**
+     * Used unless another {@link OutboxSink} bean is defined, such as one publishing to a message broker.
+     */
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink fileOutboxSink(ObjectMapper objectMapper,
+                                     @Value("${catalog.outbox.sink.path:${java.io.tmpdir}/catalog-outbox/events.ndjson}") String path) {
+        return new FileOutboxSink(Path.of(path), objectMapper);
+    }
+}
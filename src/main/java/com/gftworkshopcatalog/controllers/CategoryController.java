@@ -1,9 +1,12 @@
 package com.gftworkshopcatalog.controllers;
 
+import com.gftworkshopcatalog.api.dto.PriceAdjustmentDTO;
+import com.gftworkshopcatalog.api.dto.PriceAdjustmentResultDTO;
 import com.gftworkshopcatalog.exceptions.ErrorResponse;
 import com.gftworkshopcatalog.model.CategoryEntity;
 import com.gftworkshopcatalog.model.ProductEntity;
 import com.gftworkshopcatalog.services.CategoryService;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -18,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 @RestController
+@Timed(value = "catalog.controller", description = "Time spent in catalog controller methods")
 @RequestMapping("/categories")
 @Tag(name = "Categories", description = "Everything about the categories")
 public class CategoryController {
@@ -111,4 +115,24 @@ public class CategoryController {
         return ResponseEntity.ok(products);
     }
 
-}
\ No newline at end of file
+    @PostMapping("/{id}/prices/adjust")
+    @Operation(summary = "Adjust the prices of a category",
+            description = "Changes the price of every product in the category by a percentage or an absolute amount in one update. "
+                    + "New prices are rounded to the given number of decimals (default 2) towards the nearest value (default), up or down, and never go below zero.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of products repriced",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = PriceAdjustmentResultDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "404", description = "Category not found",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "500", description = "Error response",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<PriceAdjustmentResultDTO> adjustPrices(@Parameter(description = "Category ID") @PathVariable("id") long categoryId,
+                                                                 @RequestBody PriceAdjustmentDTO adjustment) {
+        PriceAdjustmentResultDTO result = categoryService.adjustPrices(categoryId, adjustment);
+        return ResponseEntity.ok(result);
+    }
+
+}
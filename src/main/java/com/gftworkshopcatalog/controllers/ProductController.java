@@ -1,46 +1,230 @@
 package com.gftworkshopcatalog.controllers;
 
 import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.api.dto.CatalogChangeDTO;
+import com.gftworkshopcatalog.api.dto.LowStockPageDTO;
+import com.gftworkshopcatalog.api.dto.ProductFacetsDTO;
+import com.gftworkshopcatalog.api.dto.ProductFilterDTO;
+import com.gftworkshopcatalog.api.dto.ProductImportResultDTO;
+import com.gftworkshopcatalog.api.dto.ProductSearchResultDTO;
+import com.gftworkshopcatalog.api.dto.ProductSuggestionDTO;
+import com.gftworkshopcatalog.api.dto.ProductPageDTO;
+import com.gftworkshopcatalog.api.dto.ProductStockDTO;
+import com.gftworkshopcatalog.api.dto.StockAlertDTO;
+import com.gftworkshopcatalog.api.dto.StockUpdateDTO;
 import com.gftworkshopcatalog.exceptions.ErrorResponse;
 import com.gftworkshopcatalog.exceptions.SuccessResponse;
 import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.services.ChangeFeedService;
+import com.gftworkshopcatalog.services.LowStockService;
+import com.gftworkshopcatalog.services.ProductImportFormat;
+import com.gftworkshopcatalog.services.ProductImportService;
+import com.gftworkshopcatalog.services.ProductSearchService;
 import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static com.gftworkshopcatalog.utils.ProductVersionUtils.okWithETag;
+import static com.gftworkshopcatalog.utils.ProductVersionUtils.parseIfMatch;
 
 
 @RestController
+@Timed(value = "catalog.controller", description = "Time spent in catalog controller methods")
 @RequestMapping("/products")
 @Tag(name = "Products", description = "Everything about the products")
 public class ProductController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
     private final ProductServiceImpl productServiceImpl;
+    private final ProductImportService productImportService;
+    private final ProductSearchService productSearchService;
+    private final LowStockService lowStockService;
+    private final ChangeFeedService changeFeedService;
 
-    public ProductController(ProductServiceImpl productServiceImpl) {
+    public ProductController(ProductServiceImpl productServiceImpl, ProductImportService productImportService,
+                             ProductSearchService productSearchService, LowStockService lowStockService,
+                             ChangeFeedService changeFeedService) {
         this.productServiceImpl = productServiceImpl;
+        this.productImportService = productImportService;
+        this.productSearchService = productSearchService;
+        this.lowStockService = lowStockService;
+        this.changeFeedService = changeFeedService;
     }
 
     @GetMapping
-    @Operation(summary = "List all products", description = "Returns a list of all products.")
+    @Operation(summary = "List products", description = "Returns a page of products ordered by ID, price or name, optionally filtered by category, price range and stock. "
+            + "Pass the returned nextCursor to get the following page. With unpaged=true the whole catalog is returned as a plain list. "
+            + "Prices are base prices; promotions only apply at checkout.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Product list",
-                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductEntity.class)) }),
+            @ApiResponse(responseCode = "200", description = "Product page",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductPageDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
             @ApiResponse(responseCode = "500", description = "Error response",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
     })
-    public ResponseEntity<List<ProductEntity>> listAllProducts() {
-            List<ProductEntity> products = productServiceImpl.findAllProducts();
-            return ResponseEntity.ok(products);
+    public ResponseEntity<?> listAllProducts(@ParameterObject ProductFilterDTO filter,
+                                             @Parameter(description = "Return the whole catalog without paging") @RequestParam(defaultValue = "false") boolean unpaged) {
+            if (unpaged) {
+                List<ProductEntity> products = productServiceImpl.findAllProducts();
+                return ResponseEntity.ok(products);
+            }
+            ProductPageDTO page = productServiceImpl.findProductsPage(filter);
+            return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search products", description = "Full-text search over product names and descriptions, best matches first. "
+            + "Words are matched whole and case- and accent-insensitively; a product matching more of them, or matching them in its name, ranks higher. "
+            + "Prices are base prices; promotions only apply at checkout.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of ranked matches",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductSearchResultDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "500", description = "Error response",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<ProductSearchResultDTO> searchProducts(@Parameter(description = "Words to search for") @RequestParam String q,
+                                                                 @Parameter(description = "Category ID") @RequestParam(required = false) Long categoryId,
+                                                                 @Parameter(description = "Page number, starting at 0") @RequestParam(required = false) Integer page,
+                                                                 @Parameter(description = "Page size, at most 100") @RequestParam(required = false) Integer size) {
+            ProductSearchResultDTO result = productSearchService.search(q, categoryId, page, size);
+            return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest products", description = "Typeahead over product names: products whose name starts with the prefix, "
+            + "ignoring case and accents. Heavier products (by default, those with more stock) come first, then alphabetical order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching product names",
+                    content = { @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductSuggestionDTO.class))) }),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "500", description = "Error response",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<List<ProductSuggestionDTO>> suggestProducts(@Parameter(description = "Start of the product name") @RequestParam String prefix,
+                                                                      @Parameter(description = "Category ID") @RequestParam(required = false) Long categoryId,
+                                                                      @Parameter(description = "Maximum number of suggestions, at most 50") @RequestParam(required = false) Integer limit) {
+            List<ProductSuggestionDTO> suggestions = productSearchService.suggest(prefix, categoryId, limit);
+            return ResponseEntity.ok(suggestions);
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Facet counts", description = "Counts products by category, price band, weight band and stock level for the given filters, "
+            + "and returns the first matching product IDs. Several values of one filter match any of them; different filters must all match. "
+            + "The counts of a facet ignore that facet's own filter.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching total, product IDs and facet counts",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductFacetsDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "500", description = "Error response",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<ProductFacetsDTO> getFacets(@Parameter(description = "Category IDs") @RequestParam(required = false) List<Long> categoryId,
+                                                      @Parameter(description = "Price bands, e.g. 10-25 or 100+") @RequestParam(required = false) List<String> priceBand,
+                                                      @Parameter(description = "Weight bands, e.g. 0.5-1 or 5+") @RequestParam(required = false) List<String> weightBand,
+                                                      @Parameter(description = "Stock levels: OUT_OF_STOCK, LOW_STOCK or IN_STOCK") @RequestParam(required = false) List<String> stock,
+                                                      @Parameter(description = "Maximum number of product IDs returned, at most 100") @RequestParam(required = false) Integer limit) {
+            ProductFacetsDTO facets = productSearchService.facets(categoryId, priceBand, weightBand, stock, limit);
+            return ResponseEntity.ok(facets);
+    }
+
+    @GetMapping("/low-stock")
+    @Operation(summary = "List low stock products", description = "Returns a page of the products below their minimum stock or out of stock, "
+            + "furthest below their minimum first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of low stock products",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = LowStockPageDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "500", description = "Error response",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<LowStockPageDTO> listLowStockProducts(@Parameter(description = "Page number, starting at 0") @RequestParam(required = false) Integer page,
+                                                                @Parameter(description = "Page size, at most 500") @RequestParam(required = false) Integer size) {
+            LowStockPageDTO lowStock = lowStockService.findLowStockProducts(page, size);
+            return ResponseEntity.ok(lowStock);
+    }
+
+    @GetMapping(value = "/low-stock/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream stock level changes", description = "Server-sent events named stock-level-changed, one each time a product "
+            + "drops below its minimum stock, runs out, or is replenished back above its minimum.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock level changes as they are committed",
+                    content = { @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = StockAlertDTO.class)) })
+    })
+    public SseEmitter streamStockLevelChanges() {
+            return lowStockService.subscribe();
+    }
+
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream catalog changes", description = "Server-sent events named created, updated, price-changed, stock-changed, "
+            + "deleted and promotion-changed, each with a sequence number as its ID. A client reconnecting with Last-Event-ID first "
+            + "receives the changes it missed; when those are no longer held it receives a reset event and should reload the catalog.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Catalog changes as they are committed",
+                    content = { @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = CatalogChangeDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Invalid Last-Event-ID",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+    })
+    public SseEmitter streamCatalogChanges(@Parameter(description = "ID of the last change received, to resume after it")
+                                           @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+            return changeFeedService.subscribe(lastEventId);
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    @Operation(summary = "Export the catalog", description = "Streams every product, optionally of a single category, as newline-delimited JSON. "
+            + "The body is gzip-compressed when the client accepts it. Prices are base prices; promotions only apply at checkout.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "One product per line",
+                    content = { @Content(mediaType = NDJSON, schema = @Schema(implementation = ProductEntity.class)) }),
+            @ApiResponse(responseCode = "500", description = "Error response",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<StreamingResponseBody> exportProducts(@Parameter(description = "Category ID") @RequestParam(required = false) Long categoryId,
+                                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+            boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+            StreamingResponseBody body = outputStream -> {
+                if (gzip) {
+                    try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 8192)) {
+                        productServiceImpl.exportProducts(categoryId, gzipOutputStream);
+                    }
+                } else {
+                    productServiceImpl.exportProducts(categoryId, outputStream);
+                }
+            };
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(NDJSON))
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(body);
     }
 
     @PostMapping
@@ -58,8 +242,32 @@ public class ProductController {
             return new ResponseEntity<>(createdProductEntity, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, CSV})
+    @Operation(summary = "Import products", description = "Creates or updates products from a JSON array or a CSV file with a header line. "
+            + "Rows with an id update that product, rows without one are created. Invalid rows are skipped and reported; all other rows are stored.")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Products to import", content = {
+            @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductEntity.class))),
+            @Content(mediaType = CSV, schema = @Schema(type = "string", example = "id,name,description,price,categoryId,weight,currentStock,minStock"))
+    })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import summary with the rejected rows",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductImportResultDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Body is not a JSON array or the CSV header is incomplete",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "500", description = "Error response",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<ProductImportResultDTO> importProducts(@Parameter(hidden = true) @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                 @Parameter(hidden = true) InputStream body) throws IOException {
+            ProductImportFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)
+                    ? ProductImportFormat.JSON
+                    : ProductImportFormat.CSV;
+            return ResponseEntity.ok(productImportService.importProducts(body, format));
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get product details", description = "Returns details of a specific product.")
+    @Operation(summary = "Get product details", description = "Returns details of a specific product. "
+            + "The price is the base price; promotions only apply at checkout.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product details",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductEntity.class)) }),
@@ -70,7 +278,7 @@ public class ProductController {
     })
     public ResponseEntity<ProductEntity> getProductDetails(@Parameter(description = "Product ID")@PathVariable Long id) {
             ProductEntity productEntity = productServiceImpl.findProductById(id);
-            return ResponseEntity.ok(productEntity);
+            return okWithETag(productEntity);
     }
 
     @PutMapping("/{id}")
@@ -82,12 +290,17 @@ public class ProductController {
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
             @ApiResponse(responseCode = "404", description = "Product not found",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "409", description = "Concurrent update could not be applied",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
             @ApiResponse(responseCode = "500", description = "Error response",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
     })
-    public ResponseEntity<ProductEntity> updateProduct(@Parameter(description = "Product ID")@PathVariable Long id, @RequestBody ProductEntity productEntity) {
-            ProductEntity updatedProductEntity = productServiceImpl.updateProduct(id, productEntity);
-            return ResponseEntity.ok(updatedProductEntity);
+    public ResponseEntity<ProductEntity> updateProduct(@Parameter(description = "Product ID")@PathVariable Long id, @RequestBody ProductEntity productEntity,
+                                                       @Parameter(description = "ETag of the version being replaced") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+            ProductEntity updatedProductEntity = productServiceImpl.updateProduct(id, productEntity, parseIfMatch(ifMatch));
+            return okWithETag(updatedProductEntity);
     }
 
     @DeleteMapping("/{id}")
@@ -112,12 +325,17 @@ public class ProductController {
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductEntity.class)) }),
             @ApiResponse(responseCode = "404", description = "Product not found",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "409", description = "Concurrent update could not be applied",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
             @ApiResponse(responseCode = "500", description = "Error response",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
     })
-    public ResponseEntity<ProductEntity> updateProductPrice(@Parameter(description = "Product ID")@PathVariable Long id, @Parameter(description = "New price to update the current one")@RequestParam double newPrice) {
-            ProductEntity updatedProductEntity = productServiceImpl.updateProductPrice(id, newPrice);
-            return ResponseEntity.ok(updatedProductEntity);
+    public ResponseEntity<ProductEntity> updateProductPrice(@Parameter(description = "Product ID")@PathVariable Long id, @Parameter(description = "New price to update the current one")@RequestParam double newPrice,
+                                                            @Parameter(description = "ETag of the version being changed") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+            ProductEntity updatedProductEntity = productServiceImpl.updateProductPrice(id, newPrice, parseIfMatch(ifMatch));
+            return okWithETag(updatedProductEntity);
     }
 
     @PatchMapping("/newStock/{id}/{quantity}")
@@ -127,15 +345,37 @@ public class ProductController {
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductEntity.class)) }),
             @ApiResponse(responseCode = "404", description = "Product not found",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "409", description = "Concurrent update could not be applied",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
             @ApiResponse(responseCode = "500", description = "Error response",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
     })
-    public ResponseEntity<ProductEntity> updateProductStock(@Parameter(description = "Product ID")@PathVariable Long id, @Parameter(description = "Quantity of the stock to change")@RequestParam int quantity) {
-            ProductEntity updatedProductEntity = productServiceImpl.updateProductStock(id, quantity);
-            return ResponseEntity.ok(updatedProductEntity);
+    public ResponseEntity<ProductEntity> updateProductStock(@Parameter(description = "Product ID")@PathVariable Long id, @Parameter(description = "Quantity of the stock to change")@RequestParam int quantity,
+                                                            @Parameter(description = "ETag of the version being changed") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+            ProductEntity updatedProductEntity = productServiceImpl.updateProductStock(id, quantity, parseIfMatch(ifMatch));
+            return okWithETag(updatedProductEntity);
     }
 
 
+    @PostMapping("/stock/batch")
+    @Operation(summary = "Update the stock of several products", description = "Applies every stock change in a single transaction: either all lines are applied or none is.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock successfully updated",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductStockDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Insufficient stock or bad request",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "404", description = "Product not found",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "500", description = "Error response",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<List<ProductStockDTO>> updateProductsStock(@Parameter(description = "Stock changes per product") @RequestBody List<StockUpdateDTO> stockUpdates) {
+            List<ProductStockDTO> stockLevels = productServiceImpl.updateProductsStock(stockUpdates);
+            return ResponseEntity.ok(stockLevels);
+    }
+
     @PostMapping("/byIds")
     @Operation(summary = "Get products by IDs", description = "Returns a list of products for the given list of IDs.")
     @ApiResponses(value = {
@@ -152,7 +392,8 @@ public class ProductController {
     }
 
     @GetMapping("/{id}/{quantity}")
-    @Operation(summary = "Get the product price at checkout", description = "Gets the product price based on volume promotions during checkout.")
+    @Operation(summary = "Get the product price at checkout", description = "Gets the product price with today's seasonal promotion and, from its threshold, "
+            + "volume promotion of the product's category applied to the base price.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Price successfully retrieved",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = Double.class)) }),
@@ -167,7 +408,8 @@ public class ProductController {
     }
 
     @PostMapping("/volumePromotion")
-    @Operation(summary = "Get the total price at checkout", description = "Gets the total price based on volume promotions during checkout.")
+    @Operation(summary = "Get the total price at checkout", description = "Gets the total price of each cart line with today's seasonal promotion and, from its threshold, "
+            + "volume promotion of the product's category applied to the base price.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Price successfully retrieved",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductEntity.class))),
@@ -0,0 +1,21 @@
+package com.gftworkshopcatalog.events;
+
+/**
+ * Published after a write to one of the small catalog tables, categories or promotions, so that in-memory
+ * copies of it can be refreshed. Product writes publish {@link ProductChangedEvent} instead.
+ */
+public record CatalogChangedEvent(Table table) {
+
+    public enum Table {
+        CATEGORIES,
+        PROMOTIONS
+    }
+
+    public static CatalogChangedEvent categories() {
+        return new CatalogChangedEvent(Table.CATEGORIES);
+    }
+
+    public static CatalogChangedEvent promotions() {
+        return new CatalogChangedEvent(Table.PROMOTIONS);
+    }
+}
@@ -0,0 +1,66 @@
+package com.gftworkshopcatalog.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongFunction;
+
+/**
+ * The most recent {@code capacity} changes, numbered from 1 in the order they were appended. Appending past
+ * the capacity overwrites the oldest change, so a reader that fell further behind than that has to start over.
+ */
+public class ChangeRingBuffer<E> {
+
+    private final Object[] slots;
+    private long lastSequence;
+
+    public ChangeRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.slots = new Object[capacity];
+    }
+
+    /**
+     * Numbers the next change and stores the element {@code factory} builds for that number.
+     */
+    public synchronized E append(LongFunction<E> factory) {
+        long sequence = lastSequence + 1;
+        E change = factory.apply(sequence);
+        slots[slot(sequence)] = change;
+        lastSequence = sequence;
+        return change;
+    }
+
+    /**
+     * Every change after {@code sequence}, oldest first, or empty when some of them have already been
+     * overwritten or {@code sequence} was never handed out by this buffer.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized Optional<List<E>> since(long sequence) {
+        if (sequence < firstSequence() - 1 || sequence > lastSequence) {
+            return Optional.empty();
+        }
+        List<E> changes = new ArrayList<>((int) (lastSequence - sequence));
+        for (long next = sequence + 1; next <= lastSequence; next++) {
+            changes.add((E) slots[slot(next)]);
+        }
+        return Optional.of(changes);
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    private long firstSequence() {
+        return Math.max(1, lastSequence - slots.length + 1);
+    }
+
+    private int slot(long sequence) {
+        return (int) ((sequence - 1) % slots.length);
+    }
+}
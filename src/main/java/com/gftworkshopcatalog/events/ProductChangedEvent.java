@@ -0,0 +1,62 @@
+package com.gftworkshopcatalog.events;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+
+/**
+ * Published by the services after a product write so that in-memory views of the catalog can follow it.
+ * Listeners receive it after the surrounding transaction commits, or straight away when there is none.
+ * Bulk writes that bypass JPA publish {@link Type#CATEGORY_REPRICED} or {@link Type#RELOADED} instead of
+ * one event per row. {@link Type#SAVED} and {@link Type#DELETED} carry the product at the version that was
+ * committed, which listeners use to drop events that arrive after a later write to the same product.
+ */
+public record ProductChangedEvent(Type type, Change change, Long productId, ProductEntity product, Long categoryId) {
+
+    public enum Type {
+        SAVED,
+        DELETED,
+        CATEGORY_REPRICED,
+        RELOADED
+    }
+
+    /**
+     * What a {@link Type#SAVED} write was, for listeners that report changes rather than mirror the product.
+     */
+    public enum Change {
+        CREATED,
+        UPDATED,
+        PRICE,
+        STOCK
+    }
+
+    public static ProductChangedEvent created(ProductEntity product) {
+        return saved(Change.CREATED, product);
+    }
+
+    public static ProductChangedEvent saved(ProductEntity product) {
+        return saved(Change.UPDATED, product);
+    }
+
+    public static ProductChangedEvent priceChanged(ProductEntity product) {
+        return saved(Change.PRICE, product);
+    }
+
+    public static ProductChangedEvent stockChanged(ProductEntity product) {
+        return saved(Change.STOCK, product);
+    }
+
+    public static ProductChangedEvent deleted(ProductEntity product) {
+        return new ProductChangedEvent(Type.DELETED, null, product.getId(), product, product.getCategoryId());
+    }
+
+    public static ProductChangedEvent categoryRepriced(Long categoryId) {
+        return new ProductChangedEvent(Type.CATEGORY_REPRICED, null, null, null, categoryId);
+    }
+
+    public static ProductChangedEvent reloaded() {
+        return new ProductChangedEvent(Type.RELOADED, null, null, null, null);
+    }
+
+    private static ProductChangedEvent saved(Change change, ProductEntity product) {
+        return new ProductChangedEvent(Type.SAVED, change, product.getId(), product, product.getCategoryId());
+    }
+}
@@ -0,0 +1,107 @@
+package com.gftworkshopcatalog.events;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The latest committed version a view has applied for each product, deleted products included. After-commit
+ * {@link ProductChangedEvent}s for the same product can arrive out of order when two writes commit close
+ * together, so a view asks {@link #advance} before applying a write and drops it when it is not newer than what
+ * it already holds. A deleted product keeps its version as a tombstone, so a late write cannot bring it back.
+ * Callers apply the write under the same lock they call this from.
+ * <p>
+ * A view that rebuilds from rows read outside its lock brackets the read with {@link #startReload} and
+ * {@link #finishReload}: rows the view has since moved past are dropped by {@link #reload}, and the writes
+ * applied while it was reading are handed back so it can apply them again on top of what it read.
+ */
+public class ProductVersions {
+
+    private final Map<Long, Long> versions = new HashMap<>();
+    private final Set<Long> deleted = new HashSet<>();
+    private List<Write> written;
+
+    /**
+     * Records {@code product}'s version and returns {@code true} when it is newer than the last one seen for it.
+     * A product without a version is always applied.
+     */
+    public synchronized boolean advance(ProductEntity product) {
+        Long version = product.getVersion();
+        if (version != null) {
+            Long seen = versions.get(product.getId());
+            if (seen != null && version <= seen) {
+                return false;
+            }
+            versions.put(product.getId(), version);
+            deleted.remove(product.getId());
+        }
+        record(new Write(product, false));
+        return true;
+    }
+
+    /**
+     * Records the delete of {@code product}; writes at or below its version are stale from now on, and so is
+     * every write when the version is unknown, as product ids are never reused.
+     */
+    public synchronized void delete(ProductEntity product) {
+        long version = product.getVersion() == null ? Long.MAX_VALUE : product.getVersion();
+        versions.merge(product.getId(), version, Math::max);
+        deleted.add(product.getId());
+        record(new Write(product, true));
+    }
+
+    /**
+     * Starts keeping the writes applied from now on, before a rebuild reads its rows.
+     */
+    public synchronized void startReload() {
+        written = new ArrayList<>();
+    }
+
+    /**
+     * Records the version of a row read by a rebuild and returns {@code true} unless the product has been
+     * deleted or a newer write to it has been applied since the read started; unlike {@link #advance}, a row at
+     * the version already held is applied, as the rebuild starts from nothing.
+     */
+    public synchronized boolean reload(ProductEntity product) {
+        Long version = product.getVersion();
+        Long seen = versions.get(product.getId());
+        if (deleted.contains(product.getId())) {
+            if (version == null || version <= seen) {
+                return false;
+            }
+            deleted.remove(product.getId());
+        } else if (version == null) {
+            return true;
+        } else if (seen != null && version < seen) {
+            return false;
+        }
+        versions.put(product.getId(), version);
+        return true;
+    }
+
+    /**
+     * Stops keeping writes and returns the ones applied since {@link #startReload}, oldest first.
+     */
+    public synchronized List<Write> finishReload() {
+        List<Write> writes = written == null ? List.of() : written;
+        written = null;
+        return writes;
+    }
+
+    private void record(Write write) {
+        if (written != null) {
+            written.add(write);
+        }
+    }
+
+    /**
+     * A write a view applied; {@code product} is the deleted product when {@code deleted} is set.
+     */
+    public record Write(ProductEntity product, boolean deleted) {
+    }
+}
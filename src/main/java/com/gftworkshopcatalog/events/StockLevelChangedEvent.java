@@ -0,0 +1,12 @@
+package com.gftworkshopcatalog.events;
+
+import com.gftworkshopcatalog.model.StockLevel;
+
+/**
+ * Published when a committed write moves a product across its minimum stock or across zero. Products that are
+ * not on the low-stock watchlist, including ones just created, count as {@link StockLevel#IN_STOCK} before the
+ * write; a deleted product does not produce one.
+ */
+public record StockLevelChangedEvent(Long productId, String name, Long categoryId, StockLevel previous,
+                                     StockLevel current, int currentStock, int minStock) {
+}
@@ -1,7 +1,9 @@
 package com.gftworkshopcatalog.exceptions;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Generated;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -13,6 +15,14 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 @Generated
 public class GlobalExceptionHandler {
 
+    private static final String NOT_FOUND_METRIC = "catalog.not.found";
+
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(BadRequest.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<ErrorResponse> handleBadRequest(BadRequest exception) {
@@ -56,6 +66,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(NotFoundProduct.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<ErrorResponse> handleNotFoundException(NotFoundProduct exception) {
+        countNotFound("product");
         ErrorResponse response = ErrorResponse.builder()
                 .message(exception.getMessage())
                 .status(HttpStatus.NOT_FOUND)
@@ -66,6 +77,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(NotFoundCategory.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<ErrorResponse> handleNotFoundCategory(NotFoundCategory exception) {
+        countNotFound("category");
         ErrorResponse response = ErrorResponse.builder()
                 .message(exception.getMessage())
                 .status(exception.getStatus())
@@ -76,6 +88,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(NotFoundPromotion.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<ErrorResponse> handleNotFoundPromotion(NotFoundPromotion exception) {
+        countNotFound("promotion");
         ErrorResponse response = ErrorResponse.builder()
                 .message(exception.getMessage())
                 .status(exception.getStatus())
@@ -83,6 +96,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(PreconditionFailed.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(PreconditionFailed exception) {
+        ErrorResponse response = ErrorResponse.builder()
+                .message(exception.getMessage())
+                .status(exception.getStatus())
+                .build();
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        ErrorResponse response = ErrorResponse.builder()
+                .message("The resource was modified concurrently, please retry")
+                .status(HttpStatus.CONFLICT)
+                .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     @ExceptionHandler(DatabaseException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<ErrorResponse> handleDatabaseException(DatabaseException exception) {
@@ -128,4 +161,8 @@ public class GlobalExceptionHandler {
                 .build();
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
+
+    private void countNotFound(String resource) {
+        meterRegistry.counter(NOT_FOUND_METRIC, "resource", resource).increment();
+    }
 }
@@ -0,0 +1,20 @@
+package com.gftworkshopcatalog.exceptions;
+
+import lombok.Generated;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Generated
+@Getter
+public class PreconditionFailed extends RuntimeException {
+    private final HttpStatus status;
+
+    public PreconditionFailed(String message) {
+        super(message);
+        this.status = HttpStatus.PRECONDITION_FAILED;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
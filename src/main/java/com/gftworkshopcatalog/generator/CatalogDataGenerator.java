@@ -0,0 +1,178 @@
+package com.gftworkshopcatalog.generator;
+
+import com.gftworkshopcatalog.cache.ProductCache;
+import com.gftworkshopcatalog.events.ProductChangedEvent;
+import com.gftworkshopcatalog.indexes.ActivePromotionIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the database with a large, reproducible catalog on top of the seed data so that queries can be tried at
+ * production sizes. Enabled with the {@code generate-catalog} profile, e.g.
+ * {@code --spring.profiles.active=development,generate-catalog --catalog.generator.products=1000000}.
+ * The same seed always produces the same rows; names and category sizes are skewed so that a few words and
+ * categories are far more common than the rest, as in a real catalog.
+ */
+@Slf4j
+@Component
+@Profile("generate-catalog")
+public class CatalogDataGenerator implements ApplicationRunner {
+
+    private static final String INSERT_CATEGORY = "INSERT INTO categories (name) VALUES (?)";
+    private static final String INSERT_PRODUCT = "INSERT INTO products " +
+            "(name, description, price, category_id, weight, current_stock, min_stock) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PROMOTION = "INSERT INTO promotions " +
+            "(category_id, discount, promotion_type, volume_threshold, start_date, end_date, is_active) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] DEPARTMENTS = {"Clothing", "Toys", "Sports", "Food", "Books", "Others"};
+    private static final String[][] NOUNS = {
+            {"Jacket", "Hat", "Shirt", "Jeans", "Scarf", "Sweater", "Socks", "Dress", "Coat", "Gloves"},
+            {"Puzzle", "Building Blocks", "Doll", "Robot", "Kite", "Train Set", "Yo-yo", "Board Game", "Teddy Bear", "Ball"},
+            {"Football", "Swimming Goggles", "Tennis Racket", "Basketball", "Yoga Mat", "Helmet", "Skateboard", "Dumbbell", "Bike", "Golf Club"},
+            {"Box of Cereal", "Fruit Basket", "Chocolate Bar", "Olive Oil", "Coffee Beans", "Pasta", "Honey", "Tea", "Cheese", "Cookies"},
+            {"Novel", "Cookbook", "Atlas", "Comic", "Biography", "Dictionary", "Poetry Book", "Guide", "Notebook", "Encyclopedia"},
+            {"Lamp", "Backpack", "Umbrella", "Mug", "Candle", "Clock", "Frame", "Vase", "Wallet", "Keychain"}
+    };
+    private static final String[] ADJECTIVES = {"Classic", "Premium", "Compact", "Deluxe", "Eco", "Vintage", "Smart",
+            "Ultra", "Mini", "Pro", "Soft", "Bright", "Rustic", "Modern", "Travel", "Kids", "Family", "Limited", "Sport", "Basic"};
+    private static final String[] WORDS = {"quality", "design", "daily", "use", "light", "durable", "made", "with",
+            "care", "perfect", "for", "home", "outdoor", "gift", "comfortable", "easy", "to", "clean", "fresh", "natural",
+            "material", "great", "value", "new", "season", "favourite", "of", "our", "customers", "and", "the", "best"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ActivePromotionIndex activePromotionIndex;
+    private final ProductCache productCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int products;
+    private final int categories;
+    private final int promotionsPerCategory;
+    private final long seed;
+    private final int batchSize;
+
+    public CatalogDataGenerator(JdbcTemplate jdbcTemplate, ActivePromotionIndex activePromotionIndex, ProductCache productCache,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${catalog.generator.products:10000}") int products,
+                                @Value("${catalog.generator.categories:50}") int categories,
+                                @Value("${catalog.generator.promotions-per-category:10}") int promotionsPerCategory,
+                                @Value("${catalog.generator.seed:42}") long seed,
+                                @Value("${catalog.generator.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.activePromotionIndex = activePromotionIndex;
+        this.productCache = productCache;
+        this.eventPublisher = eventPublisher;
+        this.products = products;
+        this.categories = categories;
+        this.promotionsPerCategory = promotionsPerCategory;
+        this.seed = seed;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generate();
+    }
+
+    public void generate() {
+        long start = System.nanoTime();
+        Random random = new Random(seed);
+        List<Long> categoryIds = insertCategories();
+        insertPromotions(random, categoryIds);
+        insertProducts(random, categoryIds);
+        activePromotionIndex.rebuild();
+        productCache.invalidateAll();
+        eventPublisher.publishEvent(ProductChangedEvent.reloaded());
+        log.info("Generated {} categories, {} promotions and {} products in {} ms", categoryIds.size(),
+                categoryIds.size() * promotionsPerCategory, products, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private List<Long> insertCategories() {
+        Long firstNewId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(category_id), 0) FROM categories", Long.class);
+        List<Object[]> rows = new ArrayList<>(categories);
+        for (int i = 0; i < categories; i++) {
+            rows.add(new Object[]{DEPARTMENTS[i % DEPARTMENTS.length] + " " + (i / DEPARTMENTS.length + 1)});
+        }
+        jdbcTemplate.batchUpdate(INSERT_CATEGORY, rows);
+        return jdbcTemplate.queryForList("SELECT category_id FROM categories WHERE category_id > ? ORDER BY category_id",
+                Long.class, firstNewId);
+    }
+
+    private void insertPromotions(Random random, List<Long> categoryIds) {
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>(categoryIds.size() * promotionsPerCategory);
+        for (Long categoryId : categoryIds) {
+            for (int i = 0; i < promotionsPerCategory; i++) {
+                boolean seasonal = random.nextBoolean();
+                LocalDate startDate = today.plusDays(random.nextInt(545) - 365L);
+                LocalDate endDate = startDate.plusDays(7L + random.nextInt(84));
+                boolean isActive = !today.isBefore(startDate) && !today.isAfter(endDate);
+                rows.add(new Object[]{categoryId, BigDecimal.valueOf(5L * (1 + random.nextInt(10)), 2),
+                        seasonal ? "SEASONAL" : "VOLUME", seasonal ? 1 : 2 + random.nextInt(19),
+                        Date.valueOf(startDate), Date.valueOf(endDate), isActive});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_PROMOTION, rows);
+    }
+
+    private void insertProducts(Random random, List<Long> categoryIds) {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < products; i++) {
+            batch.add(productRow(random, categoryIds));
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_PRODUCT, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT, batch);
+        }
+    }
+
+    private Object[] productRow(Random random, List<Long> categoryIds) {
+        int categoryIndex = skewed(random, categoryIds.size());
+        String[] nouns = NOUNS[categoryIndex % DEPARTMENTS.length];
+        String name = ADJECTIVES[skewed(random, ADJECTIVES.length)] + " " + nouns[skewed(random, nouns.length)];
+        if (random.nextInt(4) == 0) {
+            name += " " + (100 + random.nextInt(900));
+        }
+        double price = Math.min(99_999.0, Math.max(0.5, Math.exp(3 + random.nextGaussian())));
+        return new Object[]{name, description(random), money(price), categoryIds.get(categoryIndex),
+                money(0.1 + random.nextInt(5000) / 100.0), random.nextInt(500), random.nextInt(50)};
+    }
+
+    private static String description(Random random) {
+        int words = 6 + random.nextInt(10);
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            String word = WORDS[skewed(random, WORDS.length)];
+            description.append(i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : " " + word);
+        }
+        return description.append('.').toString();
+    }
+
+    /**
+     * Index in {@code [0, size)} with low values far more likely than high ones.
+     */
+    private static int skewed(Random random, int size) {
+        double value = random.nextDouble();
+        return (int) (size * value * value);
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
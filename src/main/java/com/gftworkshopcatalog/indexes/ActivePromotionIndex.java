@@ -0,0 +1,172 @@
+package com.gftworkshopcatalog.indexes;
+
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.PromotionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory categoryId to promotions index used by pricing so that checkout never queries the promotions table.
+ * Writers publish a new immutable {@link Snapshot} on every change; readers never lock.
+ */
+@Slf4j
+@Component
+public class ActivePromotionIndex implements MeterBinder {
+
+    private static final String VOLUME_PROMOTION = "VOLUME";
+    private static final String SEASONAL_PROMOTION = "SEASONAL";
+    private static final Comparator<PromotionEntity> BY_DISCOUNT_DESC =
+            Comparator.comparing(PromotionEntity::getDiscount).reversed();
+
+    private final PromotionRepository promotionRepository;
+    private final AtomicLong rebuildCount = new AtomicLong();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public ActivePromotionIndex(PromotionRepository promotionRepository) {
+        this.promotionRepository = promotionRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        Map<Long, PromotionEntity> promotionsById = new HashMap<>();
+        promotionRepository.findAll().forEach(promotion -> promotionsById.put(promotion.getPromotionId(), copyOf(promotion)));
+        snapshot = Snapshot.of(promotionsById);
+        rebuildCount.incrementAndGet();
+        log.info("Active promotion index rebuilt with {} promotions", promotionsById.size());
+    }
+
+    public synchronized void put(PromotionEntity promotion) {
+        Map<Long, PromotionEntity> promotionsById = new HashMap<>(snapshot.promotionsById);
+        promotionsById.put(promotion.getPromotionId(), copyOf(promotion));
+        snapshot = Snapshot.of(promotionsById);
+    }
+
+    public synchronized void remove(Long promotionId) {
+        if (!snapshot.promotionsById.containsKey(promotionId)) {
+            return;
+        }
+        Map<Long, PromotionEntity> promotionsById = new HashMap<>(snapshot.promotionsById);
+        promotionsById.remove(promotionId);
+        snapshot = Snapshot.of(promotionsById);
+    }
+
+    /**
+     * Reloads one promotion after a write has committed and applies what the database holds now, removing it when
+     * it is gone. Promotions carry no version, so two writes committing close together may hand their rows over in
+     * either order; reading the row under the index lock instead means the last refresh always leaves the current
+     * row in place.
+     */
+    public synchronized void refresh(Long promotionId) {
+        promotionRepository.findById(promotionId).ifPresentOrElse(this::put, () -> remove(promotionId));
+    }
+
+    /**
+     * Applies an {@code is_active} bulk update to the indexed promotions; ids the index does not hold are ignored.
+     */
+    public synchronized void setActive(Collection<Long> promotionIds, boolean isActive) {
+        Map<Long, PromotionEntity> promotionsById = new HashMap<>(snapshot.promotionsById);
+        boolean changed = false;
+        for (Long promotionId : promotionIds) {
+            PromotionEntity promotion = promotionsById.get(promotionId);
+            if (promotion != null && !Boolean.valueOf(isActive).equals(promotion.getIsActive())) {
+                PromotionEntity copy = copyOf(promotion);
+                copy.setIsActive(isActive);
+                promotionsById.put(promotionId, copy);
+                changed = true;
+            }
+        }
+        if (changed) {
+            snapshot = Snapshot.of(promotionsById);
+        }
+    }
+
+    /**
+     * Returns the active volume promotion of the category that is in force today, the highest discount winning
+     * when several overlap, or {@code null} when there is none.
+     */
+    public PromotionEntity findActiveVolumePromotion(Long categoryId) {
+        return findActivePromotion(categoryId, VOLUME_PROMOTION);
+    }
+
+    /**
+     * Returns the active seasonal promotion of the category that is in force today, the highest discount winning
+     * when several overlap, or {@code null} when there is none.
+     */
+    public PromotionEntity findActiveSeasonalPromotion(Long categoryId) {
+        return findActivePromotion(categoryId, SEASONAL_PROMOTION);
+    }
+
+    public int size() {
+        return snapshot.promotionsById.size();
+    }
+
+    public long getRebuildCount() {
+        return rebuildCount.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.promotion.index.size", this, ActivePromotionIndex::size)
+                .description("Promotions held in the in-memory active promotion index")
+                .register(registry);
+        FunctionCounter.builder("catalog.promotion.index.rebuilds", this, ActivePromotionIndex::getRebuildCount)
+                .description("Full rebuilds of the active promotion index from the database")
+                .register(registry);
+    }
+
+    private PromotionEntity findActivePromotion(Long categoryId, String promotionType) {
+        LocalDate today = LocalDate.now();
+        return snapshot.promotionsByCategoryId.getOrDefault(categoryId, List.of()).stream()
+                .filter(promotion -> promotionType.equalsIgnoreCase(promotion.getPromotionType()))
+                .filter(promotion -> Boolean.TRUE.equals(promotion.getIsActive()))
+                .filter(promotion -> isActiveOn(promotion, today))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static boolean isActiveOn(PromotionEntity promotion, LocalDate date) {
+        return !date.isBefore(promotion.getStartDate()) && !date.isAfter(promotion.getEndDate());
+    }
+
+    private static PromotionEntity copyOf(PromotionEntity promotion) {
+        return PromotionEntity.builder()
+                .promotionId(promotion.getPromotionId())
+                .categoryId(promotion.getCategoryId())
+                .discount(promotion.getDiscount())
+                .promotionType(promotion.getPromotionType())
+                .volumeThreshold(promotion.getVolumeThreshold())
+                .startDate(promotion.getStartDate())
+                .endDate(promotion.getEndDate())
+                .isActive(promotion.getIsActive())
+                .build();
+    }
+
+    private record Snapshot(Map<Long, PromotionEntity> promotionsById,
+                            Map<Long, List<PromotionEntity>> promotionsByCategoryId) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+
+        static Snapshot of(Map<Long, PromotionEntity> promotionsById) {
+            Map<Long, List<PromotionEntity>> promotionsByCategoryId = promotionsById.values().stream()
+                    .collect(Collectors.groupingBy(PromotionEntity::getCategoryId,
+                            Collectors.collectingAndThen(Collectors.toList(), promotions -> promotions.stream()
+                                    .sorted(BY_DISCOUNT_DESC)
+                                    .toList())));
+            return new Snapshot(Map.copyOf(promotionsById), Map.copyOf(promotionsByCategoryId));
+        }
+    }
+}
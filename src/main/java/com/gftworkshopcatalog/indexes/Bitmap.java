@@ -0,0 +1,100 @@
+package com.gftworkshopcatalog.indexes;
+
+import java.util.Arrays;
+
+/**
+ * Growable set of small non-negative ints stored as 64-bit words. Unlike {@link java.util.BitSet} it can count
+ * an intersection without materialising it, which is what facet counting does most.
+ */
+final class Bitmap {
+
+    private long[] words;
+
+    Bitmap() {
+        this(new long[0]);
+    }
+
+    private Bitmap(long[] words) {
+        this.words = words;
+    }
+
+    void set(int bit) {
+        int word = bit >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+        }
+        words[word] |= 1L << bit;
+    }
+
+    void clear(int bit) {
+        int word = bit >>> 6;
+        if (word < words.length) {
+            words[word] &= ~(1L << bit);
+        }
+    }
+
+    Bitmap copy() {
+        return new Bitmap(words.clone());
+    }
+
+    /**
+     * Keeps only the bits also set in {@code other}.
+     */
+    void and(Bitmap other) {
+        int common = Math.min(words.length, other.words.length);
+        for (int i = 0; i < common; i++) {
+            words[i] &= other.words[i];
+        }
+        Arrays.fill(words, common, words.length, 0L);
+    }
+
+    void or(Bitmap other) {
+        if (other.words.length > words.length) {
+            words = Arrays.copyOf(words, other.words.length);
+        }
+        for (int i = 0; i < other.words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    int andCardinality(Bitmap other) {
+        int common = Math.min(words.length, other.words.length);
+        int count = 0;
+        for (int i = 0; i < common; i++) {
+            count += Long.bitCount(words[i] & other.words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * First set bit at or after {@code from}, or -1 when there is none.
+     */
+    int nextSetBit(int from) {
+        int word = from >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long remaining = words[word] & (-1L << from);
+        while (true) {
+            if (remaining != 0) {
+                return word * 64 + Long.numberOfTrailingZeros(remaining);
+            }
+            if (++word == words.length) {
+                return -1;
+            }
+            remaining = words[word];
+        }
+    }
+
+    long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+}
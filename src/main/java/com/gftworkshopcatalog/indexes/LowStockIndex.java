@@ -0,0 +1,200 @@
+package com.gftworkshopcatalog.indexes;
+
+import com.gftworkshopcatalog.events.ProductChangedEvent;
+import com.gftworkshopcatalog.events.ProductVersions;
+import com.gftworkshopcatalog.events.StockLevelChangedEvent;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.model.StockLevel;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Watchlist of the products below their minimum stock or out of stock, ordered by how far below the minimum
+ * they are. Only those products are ever loaded; afterwards each committed product write moves its product in
+ * or out, and a move across a threshold is republished as a {@link StockLevelChangedEvent}; a write that
+ * arrives after a later write to the same product is skipped. Reads walk a concurrent skip list and take no lock.
+ */
+@Slf4j
+@Component
+public class LowStockIndex implements MeterBinder {
+
+    private static final Comparator<Entry> BY_DEFICIT = Comparator.comparingInt(Entry::deficit).reversed()
+            .thenComparingLong(Entry::productId);
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicLong rebuildCount = new AtomicLong();
+    private final AtomicLong crossingCount = new AtomicLong();
+    private final ProductVersions versions = new ProductVersions();
+    private final Object rebuilding = new Object();
+    private volatile Watchlist watchlist = new Watchlist();
+
+    public LowStockIndex(ProductRepository productRepository, ApplicationEventPublisher eventPublisher) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * Re-reads the products below their minimum outside the lock, skipping rows that were deleted or rewritten
+     * while the read ran, and then applies the writes made during the read again, without republishing them.
+     */
+    public void rebuild() {
+        List<ProductEntity> products;
+        synchronized (rebuilding) {
+            versions.startReload();
+            products = productRepository.findBelowMinimumStock();
+            Watchlist rebuilt = new Watchlist();
+            synchronized (this) {
+                products.stream()
+                        .filter(versions::reload)
+                        .forEach(product -> rebuilt.add(entryOf(product, StockLevel.of(product))));
+                for (ProductVersions.Write write : versions.finishReload()) {
+                    rebuilt.remove(write.product().getId());
+                    StockLevel level = write.deleted() ? StockLevel.IN_STOCK : StockLevel.of(write.product());
+                    if (level != StockLevel.IN_STOCK) {
+                        rebuilt.add(entryOf(write.product(), level));
+                    }
+                }
+                watchlist = rebuilt;
+            }
+        }
+        rebuildCount.incrementAndGet();
+        log.info("Low stock index rebuilt with {} products", products.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.type()) {
+            case SAVED -> put(event.product());
+            case DELETED -> remove(event.product());
+            case RELOADED -> rebuild();
+            case CATEGORY_REPRICED -> {
+                // Prices do not move stock.
+            }
+        }
+    }
+
+    /**
+     * Moves the product to its new stock level and, when that crosses a threshold, publishes the crossing before
+     * releasing the lock, so listeners see the crossings of a product in the order they were applied. Listeners
+     * are expected to hand the event off rather than do any work on this thread.
+     */
+    public synchronized void put(ProductEntity product) {
+        if (!versions.advance(product)) {
+            return;
+        }
+        StockLevel level = StockLevel.of(product);
+        Entry previous = watchlist.remove(product.getId());
+        if (level != StockLevel.IN_STOCK) {
+            watchlist.add(entryOf(product, level));
+        }
+        StockLevel previousLevel = previous == null ? StockLevel.IN_STOCK : previous.level();
+        if (previousLevel != level) {
+            crossingCount.incrementAndGet();
+            eventPublisher.publishEvent(new StockLevelChangedEvent(product.getId(), product.getName(), product.getCategoryId(),
+                    previousLevel, level, product.getCurrentStock(), product.getMinStock()));
+        }
+    }
+
+    public synchronized void remove(ProductEntity product) {
+        versions.delete(product);
+        watchlist.remove(product.getId());
+    }
+
+    /**
+     * Products on the watchlist, furthest below their minimum first, skipping the first {@code offset}.
+     */
+    public Result page(int offset, int limit) {
+        Watchlist current = watchlist;
+        List<Entry> page = new ArrayList<>(Math.min(limit, 64));
+        Iterator<Entry> iterator = current.entries.iterator();
+        for (int skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return new Result(current.byId.size(), page);
+    }
+
+    public int size() {
+        return watchlist.byId.size();
+    }
+
+    public long getRebuildCount() {
+        return rebuildCount.get();
+    }
+
+    public long getCrossingCount() {
+        return crossingCount.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.low-stock.size", this, LowStockIndex::size)
+                .description("Products below their minimum stock or out of stock")
+                .register(registry);
+        FunctionCounter.builder("catalog.low-stock.rebuilds", this, LowStockIndex::getRebuildCount)
+                .description("Full rebuilds of the low stock index from the database")
+                .register(registry);
+        FunctionCounter.builder("catalog.low-stock.crossings", this, LowStockIndex::getCrossingCount)
+                .description("Product writes that moved a product to another stock level")
+                .register(registry);
+    }
+
+    private static Entry entryOf(ProductEntity product, StockLevel level) {
+        return new Entry(product.getId(), product.getName(), product.getCategoryId(), product.getCurrentStock(),
+                product.getMinStock(), level);
+    }
+
+    public record Entry(long productId, String name, Long categoryId, int currentStock, int minStock, StockLevel level) {
+
+        public int deficit() {
+            return minStock - currentStock;
+        }
+    }
+
+    public record Result(int total, List<Entry> entries) {
+    }
+
+    /**
+     * The ordered entries plus a lookup by id; an entry is always removed through the exact instance that was
+     * added, since its sort key may no longer match the product.
+     */
+    private static final class Watchlist {
+
+        final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>(BY_DEFICIT);
+        final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+
+        void add(Entry entry) {
+            entries.add(entry);
+            byId.put(entry.productId(), entry);
+        }
+
+        Entry remove(Long productId) {
+            Entry entry = byId.remove(productId);
+            if (entry != null) {
+                entries.remove(entry);
+            }
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.gftworkshopcatalog.indexes;
+
+import com.gftworkshopcatalog.events.ProductChangedEvent;
+import com.gftworkshopcatalog.events.ProductVersions;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.model.StockLevel;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Facet counts over the whole catalog. Every product gets a dense ordinal and every facet value a bitmap of the
+ * ordinals that carry it, so a filter is an OR within each facet and an AND across facets, and a count is a
+ * popcount. Counts for a facet ignore that facet's own selection, so picking one price band still shows how
+ * many products sit in the others. Ordinals are handed out in id order on rebuild and appended afterwards;
+ * deleted ones are only reclaimed by the next rebuild. A category repricing only marks the category stale; the
+ * next facet query re-reads it, so bulk price writes stay a single statement. Product events that arrive after
+ * a later write to the same product are skipped.
+ */
+@Slf4j
+@Component
+public class ProductFacetIndex implements MeterBinder {
+
+    public enum Facet {
+        CATEGORY, PRICE_BAND, WEIGHT_BAND, STOCK
+    }
+
+    private static final Facet[] FACETS = Facet.values();
+
+    private final ProductRepository productRepository;
+    private final double[] priceBounds;
+    private final double[] weightBounds;
+    private final String[] priceBands;
+    private final String[] weightBands;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong rebuildCount = new AtomicLong();
+    private final ProductVersions versions = new ProductVersions();
+    private final EnumMap<Facet, Map<String, Bitmap>> bitmaps = new EnumMap<>(Facet.class);
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Set<Long> staleCategories = ConcurrentHashMap.newKeySet();
+    private Bitmap live = new Bitmap();
+    private long[] productIds = new long[0];
+    private String[][] facetValues = new String[0][];
+    private int nextOrdinal;
+
+    public ProductFacetIndex(ProductRepository productRepository,
+                             @Value("${catalog.facets.price-bands:10,25,50,100}") double[] priceBounds,
+                             @Value("${catalog.facets.weight-bands:0.5,1,2,5}") double[] weightBounds) {
+        this.productRepository = productRepository;
+        this.priceBounds = priceBounds.clone();
+        this.weightBounds = weightBounds.clone();
+        Arrays.sort(this.priceBounds);
+        Arrays.sort(this.weightBounds);
+        this.priceBands = bandLabels(this.priceBounds);
+        this.weightBands = bandLabels(this.weightBounds);
+        reset();
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * Re-reads every product outside the lock, skipping rows that were deleted or rewritten while the read ran,
+     * and then applies the writes made during the read again, so none of them is lost to the rebuild.
+     */
+    public synchronized void rebuild() {
+        staleCategories.clear();
+        versions.startReload();
+        List<ProductEntity> products = new ArrayList<>(productRepository.findAll());
+        products.sort(Comparator.comparing(ProductEntity::getId));
+        lock.writeLock().lock();
+        try {
+            List<ProductVersions.Write> written = versions.finishReload();
+            reset();
+            products.stream().filter(versions::reload).forEach(this::index);
+            written.forEach(write -> {
+                if (write.deleted()) {
+                    unindexProduct(write.product().getId());
+                } else {
+                    index(write.product());
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        rebuildCount.incrementAndGet();
+        log.info("Product facet index rebuilt with {} products", products.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.type()) {
+            case SAVED -> put(event.product());
+            case DELETED -> remove(event.product());
+            case RELOADED -> rebuild();
+            case CATEGORY_REPRICED -> staleCategories.add(event.categoryId());
+        }
+    }
+
+    public void put(ProductEntity product) {
+        lock.writeLock().lock();
+        try {
+            if (versions.advance(product)) {
+                index(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(ProductEntity product) {
+        lock.writeLock().lock();
+        try {
+            versions.delete(product);
+            unindexProduct(product.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the products matching {@code selection}, where each facet lists the values to accept (none means
+     * any), and returns up to {@code limit} of their ids in ascending order with the count of every facet value.
+     */
+    public Result facets(Map<Facet, ? extends Collection<String>> selection, int limit) {
+        refreshStaleCategories();
+        lock.readLock().lock();
+        try {
+            EnumMap<Facet, Bitmap> filters = new EnumMap<>(Facet.class);
+            selection.forEach((facet, values) -> {
+                if (values != null && !values.isEmpty()) {
+                    Bitmap union = new Bitmap();
+                    values.stream().map(bitmaps.get(facet)::get).filter(Objects::nonNull).forEach(union::or);
+                    filters.put(facet, union);
+                }
+            });
+
+            EnumMap<Facet, Map<String, Integer>> counts = new EnumMap<>(Facet.class);
+            for (Facet facet : FACETS) {
+                Bitmap base = matching(filters, facet);
+                Map<String, Integer> facetCounts = new LinkedHashMap<>();
+                bitmaps.get(facet).forEach((value, bitmap) -> facetCounts.put(value, base.andCardinality(bitmap)));
+                counts.put(facet, facetCounts);
+            }
+
+            Bitmap matches = matching(filters, null);
+            List<Long> ids = new ArrayList<>(limit);
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0 && ids.size() < limit; ordinal = matches.nextSetBit(ordinal + 1)) {
+                ids.add(productIds[ordinal]);
+            }
+            return new Result(matches.cardinality(), ids, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The values a facet can take; categories are only known once a product uses them.
+     */
+    public Set<String> values(Facet facet) {
+        return switch (facet) {
+            case PRICE_BAND -> new LinkedHashSet<>(List.of(priceBands));
+            case WEIGHT_BAND -> new LinkedHashSet<>(List.of(weightBands));
+            case STOCK -> new LinkedHashSet<>(Arrays.stream(StockLevel.values()).map(Enum::name).toList());
+            case CATEGORY -> {
+                lock.readLock().lock();
+                try {
+                    yield new LinkedHashSet<>(bitmaps.get(Facet.CATEGORY).keySet());
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+        };
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return live.sizeInBytes() + bitmaps.values().stream()
+                    .flatMap(values -> values.values().stream())
+                    .mapToLong(Bitmap::sizeInBytes)
+                    .sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getRebuildCount() {
+        return rebuildCount.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.facets.index.size", this, ProductFacetIndex::size)
+                .description("Products held in the in-memory facet index")
+                .register(registry);
+        Gauge.builder("catalog.facets.index.bytes", this, ProductFacetIndex::sizeInBytes)
+                .description("Memory used by the facet bitmaps")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("catalog.facets.index.rebuilds", this, ProductFacetIndex::getRebuildCount)
+                .description("Full rebuilds of the facet index from the database")
+                .register(registry);
+    }
+
+    private void refreshStaleCategories() {
+        for (Long categoryId : List.copyOf(staleCategories)) {
+            if (staleCategories.remove(categoryId)) {
+                productRepository.findByCategoryId(categoryId).forEach(this::put);
+            }
+        }
+    }
+
+    private Bitmap matching(EnumMap<Facet, Bitmap> filters, Facet ignored) {
+        Bitmap result = live.copy();
+        filters.forEach((facet, filter) -> {
+            if (facet != ignored) {
+                result.and(filter);
+            }
+        });
+        return result;
+    }
+
+    private void reset() {
+        ordinals.clear();
+        live = new Bitmap();
+        productIds = new long[0];
+        facetValues = new String[0][];
+        nextOrdinal = 0;
+        bitmaps.put(Facet.CATEGORY, new TreeMap<>(Comparator.comparingLong(Long::parseLong)));
+        bitmaps.put(Facet.PRICE_BAND, emptyBitmaps(priceBands));
+        bitmaps.put(Facet.WEIGHT_BAND, emptyBitmaps(weightBands));
+        bitmaps.put(Facet.STOCK, emptyBitmaps(Arrays.stream(StockLevel.values()).map(Enum::name).toArray(String[]::new)));
+    }
+
+    private void index(ProductEntity product) {
+        String[] values = {
+                product.getCategoryId() == null ? null : product.getCategoryId().toString(),
+                band(priceBounds, priceBands, product.getPrice()),
+                band(weightBounds, weightBands, product.getWeight()),
+                StockLevel.of(product).name()
+        };
+        Integer ordinal = ordinals.get(product.getId());
+        if (ordinal == null) {
+            ordinal = nextOrdinal++;
+            ordinals.put(product.getId(), ordinal);
+            if (ordinal == productIds.length) {
+                int capacity = Math.max(16, productIds.length * 2);
+                productIds = Arrays.copyOf(productIds, capacity);
+                facetValues = Arrays.copyOf(facetValues, capacity);
+            }
+            productIds[ordinal] = product.getId();
+            live.set(ordinal);
+        } else if (Arrays.equals(facetValues[ordinal], values)) {
+            return;
+        } else {
+            unindex(ordinal);
+        }
+        for (Facet facet : FACETS) {
+            String value = values[facet.ordinal()];
+            if (value != null) {
+                bitmaps.get(facet).computeIfAbsent(value, key -> new Bitmap()).set(ordinal);
+            }
+        }
+        facetValues[ordinal] = values;
+    }
+
+    private void unindexProduct(Long productId) {
+        Integer ordinal = ordinals.remove(productId);
+        if (ordinal != null) {
+            unindex(ordinal);
+            live.clear(ordinal);
+        }
+    }
+
+    private void unindex(int ordinal) {
+        String[] values = facetValues[ordinal];
+        for (Facet facet : FACETS) {
+            String value = values[facet.ordinal()];
+            if (value != null) {
+                bitmaps.get(facet).get(value).clear(ordinal);
+            }
+        }
+        facetValues[ordinal] = null;
+    }
+
+    private static String band(double[] bounds, String[] labels, Double value) {
+        if (value == null) {
+            return null;
+        }
+        int band = 0;
+        while (band < bounds.length && value >= bounds[band]) {
+            band++;
+        }
+        return labels[band];
+    }
+
+    /**
+     * Bounds {@code 10, 25} give bands {@code 0-10}, {@code 10-25} and {@code 25+}; each includes its lower bound.
+     */
+    private static String[] bandLabels(double[] bounds) {
+        String[] labels = new String[bounds.length + 1];
+        String lower = "0";
+        for (int i = 0; i < bounds.length; i++) {
+            String upper = BigDecimal.valueOf(bounds[i]).stripTrailingZeros().toPlainString();
+            labels[i] = lower + "-" + upper;
+            lower = upper;
+        }
+        labels[bounds.length] = lower + "+";
+        return labels;
+    }
+
+    private static Map<String, Bitmap> emptyBitmaps(String[] values) {
+        Map<String, Bitmap> empty = new LinkedHashMap<>();
+        for (String value : values) {
+            empty.put(value, new Bitmap());
+        }
+        return empty;
+    }
+
+    public record Result(int total, List<Long> productIds, Map<Facet, Map<String, Integer>> counts) {
+    }
+}
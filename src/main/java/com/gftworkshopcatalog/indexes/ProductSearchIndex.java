@@ -0,0 +1,245 @@
+package com.gftworkshopcatalog.indexes;
+
+import com.gftworkshopcatalog.events.ProductChangedEvent;
+import com.gftworkshopcatalog.events.ProductVersions;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over product names and descriptions, ranked with BM25. A term in the name counts as
+ * {@value #NAME_WEIGHT} occurrences so that name matches outrank description matches. The index is built once
+ * from the database and then follows {@link ProductChangedEvent}s, skipping any that arrive after a later
+ * write to the same product; searches share a read lock and never touch the database.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex implements MeterBinder {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+    private static final Comparator<Hit> BY_RANK = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparing(Hit::productId);
+
+    private final ProductRepository productRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong rebuildCount = new AtomicLong();
+    private final ProductVersions versions = new ProductVersions();
+    private Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * Re-reads every product outside the lock, skipping rows that were deleted or rewritten while the read ran,
+     * and then applies the writes made during the read again, so none of them is lost to the rebuild.
+     */
+    public synchronized void rebuild() {
+        versions.startReload();
+        List<ProductEntity> products = productRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            List<ProductVersions.Write> written = versions.finishReload();
+            postings = new HashMap<>();
+            documents = new HashMap<>();
+            totalLength = 0;
+            products.stream().filter(versions::reload).forEach(this::index);
+            written.forEach(write -> {
+                unindex(write.product().getId());
+                if (!write.deleted()) {
+                    index(write.product());
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        rebuildCount.incrementAndGet();
+        log.info("Product search index rebuilt with {} products and {} terms", products.size(), postings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.type()) {
+            case SAVED -> put(event.product());
+            case DELETED -> remove(event.product());
+            case RELOADED -> rebuild();
+            case CATEGORY_REPRICED -> {
+                // Prices are not indexed
+            }
+        }
+    }
+
+    public void put(ProductEntity product) {
+        lock.writeLock().lock();
+        try {
+            if (!versions.advance(product)) {
+                return;
+            }
+            Document current = documents.get(product.getId());
+            if (current != null && current.indexes(product)) {
+                return;
+            }
+            unindex(product.getId());
+            index(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(ProductEntity product) {
+        lock.writeLock().lock();
+        try {
+            versions.delete(product);
+            unindex(product.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the products matching any term of the query, optionally only within one category, and returns
+     * {@code limit} hits starting at {@code offset} together with the total number of matches.
+     */
+    public Result search(String query, Long categoryId, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(TextTokenizer.tokenize(query));
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (terms.isEmpty() || documentCount == 0) {
+                return new Result(0, List.of());
+            }
+            double averageLength = (double) totalLength / documentCount;
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Integer> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                termPostings.forEach((productId, frequency) -> {
+                    Document document = documents.get(productId);
+                    if (categoryId == null || categoryId.equals(document.categoryId())) {
+                        double norm = frequency + K1 * (1 - B + B * document.length() / averageLength);
+                        scores.merge(productId, idf * frequency * (K1 + 1) / norm, Double::sum);
+                    }
+                });
+            }
+            return new Result(scores.size(), top(scores, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getRebuildCount() {
+        return rebuildCount.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.search.index.size", this, ProductSearchIndex::size)
+                .description("Products held in the in-memory search index")
+                .register(registry);
+        Gauge.builder("catalog.search.index.terms", this, ProductSearchIndex::termCount)
+                .description("Distinct terms in the in-memory search index")
+                .register(registry);
+        FunctionCounter.builder("catalog.search.index.rebuilds", this, ProductSearchIndex::getRebuildCount)
+                .description("Full rebuilds of the search index from the database")
+                .register(registry);
+    }
+
+    private static List<Hit> top(Map<Long, Double> scores, int offset, int limit) {
+        int wanted = offset + limit;
+        PriorityQueue<Hit> best = new PriorityQueue<>(BY_RANK.reversed());
+        scores.forEach((productId, score) -> {
+            best.add(new Hit(productId, score));
+            if (best.size() > wanted) {
+                best.poll();
+            }
+        });
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(BY_RANK);
+        return offset >= hits.size() ? List.of() : hits.subList(offset, hits.size());
+    }
+
+    private void index(ProductEntity product) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        TextTokenizer.tokenize(product.getName()).forEach(term -> frequencies.merge(term, NAME_WEIGHT, Integer::sum));
+        TextTokenizer.tokenize(product.getDescription()).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(product.getId(), frequency));
+        documents.put(product.getId(), new Document(product.getCategoryId(), product.getName(), product.getDescription(),
+                length, frequencies.keySet().toArray(String[]::new)));
+        totalLength += length;
+    }
+
+    private void unindex(Long productId) {
+        Document document = documents.remove(productId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            termPostings.remove(productId);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= document.length();
+    }
+
+    public record Hit(Long productId, double score) {
+    }
+
+    public record Result(long total, List<Hit> hits) {
+    }
+
+    private record Document(Long categoryId, String name, String description, int length, String[] terms) {
+
+        /**
+         * Stock and price writes leave the indexed text alone, so they can skip re-indexing.
+         */
+        boolean indexes(ProductEntity product) {
+            return Objects.equals(categoryId, product.getCategoryId()) && Objects.equals(name, product.getName())
+                    && Objects.equals(description, product.getDescription());
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.gftworkshopcatalog.indexes;
+
+import com.gftworkshopcatalog.events.ProductChangedEvent;
+import com.gftworkshopcatalog.events.ProductVersions;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Name prefix lookups for typeahead. Each category keeps its products in parallel arrays sorted by normalized
+ * name, so a prefix is two binary searches away from its range and an entry costs a handful of array slots
+ * instead of a map node. The arrays are replaced on every add, rename or delete, which lets lookups run without
+ * locking; weight-only changes (stock, price) are written in place. Product events that arrive after a later
+ * write to the same product are skipped.
+ */
+@Slf4j
+@Component
+public class ProductSuggestIndex implements MeterBinder {
+
+    public enum Weight {
+        CURRENT_STOCK, PRICE, NONE
+    }
+
+    private static final Comparator<Suggestion> BY_RANK = Comparator.comparingDouble(Suggestion::weight).reversed()
+            .thenComparing(Suggestion::key)
+            .thenComparing(Suggestion::productId);
+
+    private final ProductRepository productRepository;
+    private final Weight weight;
+    private final AtomicLong rebuildCount = new AtomicLong();
+    private final ProductVersions versions = new ProductVersions();
+    private volatile Map<Long, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public ProductSuggestIndex(ProductRepository productRepository,
+                               @Value("${catalog.suggest.weight:CURRENT_STOCK}") Weight weight) {
+        this.productRepository = productRepository;
+        this.weight = weight;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        List<ProductEntity> products = productRepository.findAll().stream().filter(versions::reload).toList();
+        Map<Long, Bucket> rebuilt = new ConcurrentHashMap<>();
+        products.stream()
+                .filter(product -> product.getCategoryId() != null)
+                .collect(Collectors.groupingBy(ProductEntity::getCategoryId))
+                .forEach((categoryId, categoryProducts) -> rebuilt.put(categoryId, bucketOf(categoryProducts)));
+        buckets = rebuilt;
+        rebuildCount.incrementAndGet();
+        log.info("Product suggest index rebuilt with {} products in {} categories", products.size(), rebuilt.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.type()) {
+            case SAVED -> put(event.product());
+            case DELETED -> remove(event.product());
+            case RELOADED -> rebuild();
+            case CATEGORY_REPRICED -> {
+                if (weight == Weight.PRICE) {
+                    reloadCategory(event.categoryId());
+                }
+            }
+        }
+    }
+
+    public synchronized void put(ProductEntity product) {
+        if (!versions.advance(product)) {
+            return;
+        }
+        Long categoryId = product.getCategoryId();
+        String key = TextTokenizer.normalize(product.getName()).strip();
+        Bucket current = categoryId == null ? null : buckets.get(categoryId);
+        int position = current == null ? -1 : current.indexOf(product.getId());
+        if (position >= 0 && current.keys[position].equals(key)) {
+            current.weights[position] = weightOf(product);
+            current.names[position] = product.getName();
+            return;
+        }
+        if (position >= 0) {
+            replace(categoryId, current.without(position));
+        } else {
+            removeFromOtherCategories(product.getId(), categoryId);
+        }
+        if (categoryId != null) {
+            Bucket bucket = buckets.getOrDefault(categoryId, Bucket.EMPTY);
+            replace(categoryId, bucket.with(key, product.getName(), product.getId(), weightOf(product)));
+        }
+    }
+
+    public synchronized void remove(ProductEntity product) {
+        versions.delete(product);
+        removeFromOtherCategories(product.getId(), null);
+    }
+
+    /**
+     * Returns up to {@code limit} products whose normalized name starts with the normalized {@code prefix},
+     * heaviest first and then alphabetically, optionally only within one category.
+     */
+    public List<Suggestion> suggest(String prefix, Long categoryId, int limit) {
+        String from = TextTokenizer.normalize(prefix).strip();
+        String to = from + Character.MAX_VALUE;
+        PriorityQueue<Suggestion> best = new PriorityQueue<>(BY_RANK.reversed());
+        Map<Long, Bucket> snapshot = buckets;
+        Collection<Map.Entry<Long, Bucket>> candidates = categoryId == null ? snapshot.entrySet()
+                : snapshot.containsKey(categoryId) ? List.of(Map.entry(categoryId, snapshot.get(categoryId))) : List.of();
+        for (Map.Entry<Long, Bucket> entry : candidates) {
+            Bucket bucket = entry.getValue();
+            int end = bucket.lowerBound(to);
+            for (int i = bucket.lowerBound(from); i < end; i++) {
+                Suggestion worst = best.peek();
+                if (best.size() == limit && (bucket.weights[i] < worst.weight()
+                        || bucket.weights[i] == worst.weight() && bucket.keys[i].compareTo(worst.key()) > 0)) {
+                    continue;
+                }
+                best.add(new Suggestion(bucket.ids[i], bucket.names[i], entry.getKey(), bucket.weights[i], bucket.keys[i]));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        List<Suggestion> suggestions = new ArrayList<>(best);
+        suggestions.sort(BY_RANK);
+        return suggestions;
+    }
+
+    public int size() {
+        return buckets.values().stream().mapToInt(bucket -> bucket.ids.length).sum();
+    }
+
+    public long getRebuildCount() {
+        return rebuildCount.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.suggest.index.size", this, ProductSuggestIndex::size)
+                .description("Products held in the in-memory suggest index")
+                .register(registry);
+        FunctionCounter.builder("catalog.suggest.index.rebuilds", this, ProductSuggestIndex::getRebuildCount)
+                .description("Full rebuilds of the suggest index from the database")
+                .register(registry);
+    }
+
+    private synchronized void reloadCategory(Long categoryId) {
+        List<ProductEntity> products = productRepository.findByCategoryId(categoryId).stream()
+                .filter(versions::reload)
+                .toList();
+        replace(categoryId, bucketOf(products));
+    }
+
+    private void removeFromOtherCategories(Long productId, Long exceptCategoryId) {
+        for (Map.Entry<Long, Bucket> entry : buckets.entrySet()) {
+            if (entry.getKey().equals(exceptCategoryId)) {
+                continue;
+            }
+            int position = entry.getValue().indexOf(productId);
+            if (position >= 0) {
+                replace(entry.getKey(), entry.getValue().without(position));
+                return;
+            }
+        }
+    }
+
+    private void replace(Long categoryId, Bucket bucket) {
+        if (bucket.ids.length == 0) {
+            buckets.remove(categoryId);
+        } else {
+            buckets.put(categoryId, bucket);
+        }
+    }
+
+    private Bucket bucketOf(List<ProductEntity> products) {
+        String[] keys = new String[products.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = TextTokenizer.normalize(products.get(i).getName()).strip();
+        }
+        Integer[] order = new Integer[keys.length];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.<Integer, String>comparing(i -> keys[i]).thenComparing(i -> products.get(i).getId()));
+        Bucket bucket = new Bucket(keys.length);
+        for (int i = 0; i < order.length; i++) {
+            ProductEntity product = products.get(order[i]);
+            bucket.set(i, keys[order[i]], product.getName(), product.getId(), weightOf(product));
+        }
+        return bucket;
+    }
+
+    private float weightOf(ProductEntity product) {
+        return switch (weight) {
+            case CURRENT_STOCK -> product.getCurrentStock() == null ? 0 : product.getCurrentStock();
+            case PRICE -> product.getPrice() == null ? 0 : product.getPrice().floatValue();
+            case NONE -> 0;
+        };
+    }
+
+    public record Suggestion(long productId, String name, Long categoryId, float weight, String key) {
+    }
+
+    /**
+     * One category's entries ordered by normalized name and then id. Only {@code weights} and {@code names} are
+     * ever written after construction; a reader racing such a write sees either the old or the new value.
+     */
+    private static final class Bucket {
+
+        static final Bucket EMPTY = new Bucket(0);
+
+        final String[] keys;
+        final String[] names;
+        final long[] ids;
+        final float[] weights;
+
+        Bucket(int size) {
+            keys = new String[size];
+            names = new String[size];
+            ids = new long[size];
+            weights = new float[size];
+        }
+
+        void set(int position, String key, String name, long id, float weight) {
+            keys[position] = key;
+            names[position] = name;
+            ids[position] = id;
+            weights[position] = weight;
+        }
+
+        int indexOf(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * First position whose key is not less than {@code key}.
+         */
+        int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle].compareTo(key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        Bucket with(String key, String name, long id, float weight) {
+            int position = lowerBound(key);
+            while (position < ids.length && keys[position].equals(key) && ids[position] < id) {
+                position++;
+            }
+            Bucket bucket = new Bucket(ids.length + 1);
+            copy(this, 0, bucket, 0, position);
+            bucket.set(position, key, name, id, weight);
+            copy(this, position, bucket, position + 1, ids.length - position);
+            return bucket;
+        }
+
+        Bucket without(int position) {
+            Bucket bucket = new Bucket(ids.length - 1);
+            copy(this, 0, bucket, 0, position);
+            copy(this, position + 1, bucket, position, ids.length - position - 1);
+            return bucket;
+        }
+
+        private static void copy(Bucket source, int from, Bucket target, int to, int length) {
+            System.arraycopy(source.keys, from, target.keys, to, length);
+            System.arraycopy(source.names, from, target.names, to, length);
+            System.arraycopy(source.ids, from, target.ids, to, length);
+            System.arraycopy(source.weights, from, target.weights, to, length);
+        }
+    }
+}
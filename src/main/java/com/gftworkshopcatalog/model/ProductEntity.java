@@ -6,6 +6,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.*;
 
 @Data
@@ -13,7 +14,7 @@ import lombok.*;
 @AllArgsConstructor
 @Generated
 @Entity
-@Builder
+@Builder(toBuilder = true)
 @Table(name = "products")
 public class ProductEntity {
 
@@ -43,6 +44,17 @@ public class ProductEntity {
     @Column(nullable = false)
     private Integer minStock;
 
+    /**
+     * Bumped on every write; a save carrying an older value fails instead of overwriting the newer row.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    public ProductEntity(Long id, String name, String description, Double price, Long categoryId, Double weight,
+                         Integer currentStock, Integer minStock) {
+        this(id, name, description, price, categoryId, weight, currentStock, minStock, null);
+    }
 
     @Override
     public String toString() {
@@ -55,6 +67,7 @@ public class ProductEntity {
                 ", weight=" + weight +
                 ", current_stock=" + currentStock +
                 ", min_stock=" + minStock +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.gftworkshopcatalog.model;
+
+/**
+ * Where a product's current stock stands against its minimum: nothing left, below the minimum, or enough.
+ */
+public enum StockLevel {
+    OUT_OF_STOCK,
+    LOW_STOCK,
+    IN_STOCK;
+
+    public static StockLevel of(ProductEntity product) {
+        Integer currentStock = product.getCurrentStock();
+        if (currentStock == null || currentStock <= 0) {
+            return OUT_OF_STOCK;
+        }
+        Integer minStock = product.getMinStock();
+        return minStock != null && currentStock < minStock ? LOW_STOCK : IN_STOCK;
+    }
+}
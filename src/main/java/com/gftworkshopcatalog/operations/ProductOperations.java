@@ -5,8 +5,12 @@ public class ProductOperations {
 
     public static double calculateNewPrice(double originalPrice, PromotionEntity promotion, int quantity) {
         if (quantity >= promotion.getVolumeThreshold()) {
-            return originalPrice * (1 - promotion.getDiscount());
+            return applyDiscount(originalPrice, promotion);
         }
         return originalPrice;
     }
+
+    public static double applyDiscount(double originalPrice, PromotionEntity promotion) {
+        return originalPrice * (1 - promotion.getDiscount());
+    }
 }
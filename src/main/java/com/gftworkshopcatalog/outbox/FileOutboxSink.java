@@ -0,0 +1,64 @@
+package com.gftworkshopcatalog.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.gftworkshopcatalog.model.OutboxEventEntity;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Stand-in sink that appends each event as one JSON line to a local file and syncs the file once per batch, so
+ * a batch counts as delivered only once it is on disk.
+ */
+@Slf4j
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxEventEntity> events) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (OutboxEventEntity event : events) {
+            ObjectNode line = objectMapper.createObjectNode()
+                    .put("id", event.getId())
+                    .put("aggregateType", event.getAggregateType().name())
+                    .put("aggregateId", event.getAggregateId())
+                    .put("type", event.getEventType())
+                    .put("occurredAt", event.getCreatedAt().toString());
+            line.putRawValue("payload", new RawValue(event.getPayload()));
+            lines.write(objectMapper.writeValueAsBytes(line));
+            lines.write('\n');
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        log.debug("Wrote {} outbox events to {}", events.size(), path);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+}
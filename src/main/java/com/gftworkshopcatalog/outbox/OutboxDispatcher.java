@@ -0,0 +1,167 @@
+package com.gftworkshopcatalog.outbox;
+
+import com.gftworkshopcatalog.model.OutboxEventEntity;
+import com.gftworkshopcatalog.repositories.OutboxRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox into the {@link OutboxSink}. A single thread reads the oldest {@code batch-size} rows,
+ * delivers them in id order and deletes them with one statement, so every product, category and promotion
+ * sees its events in the order they were committed. A full batch is followed straight away by the next one;
+ * otherwise the dispatcher waits {@code poll-interval}. When the sink fails the batch stays in the outbox and
+ * is retried after a wait that doubles with each consecutive failure, up to {@code max-backoff}.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher implements MeterBinder {
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxSink sink;
+    private final Clock clock;
+    private final ScheduledExecutorService executor;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final AtomicLong dispatchedCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private volatile long lagMillis;
+    private int consecutiveFailures;
+
+    @Autowired
+    public OutboxDispatcher(OutboxRepository outboxRepository, OutboxSink sink,
+                            @Value("${catalog.outbox.dispatcher.enabled:true}") boolean enabled,
+                            @Value("${catalog.outbox.dispatcher.batch-size:100}") int batchSize,
+                            @Value("${catalog.outbox.dispatcher.poll-interval:500ms}") Duration pollInterval,
+                            @Value("${catalog.outbox.dispatcher.initial-backoff:1s}") Duration initialBackoff,
+                            @Value("${catalog.outbox.dispatcher.max-backoff:1m}") Duration maxBackoff) {
+        this(outboxRepository, sink, Clock.systemUTC(), Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        }), enabled, batchSize, pollInterval, initialBackoff, maxBackoff);
+    }
+
+    public OutboxDispatcher(OutboxRepository outboxRepository, OutboxSink sink, Clock clock,
+                            ScheduledExecutorService executor, boolean enabled, int batchSize, Duration pollInterval,
+                            Duration initialBackoff, Duration maxBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.clock = clock;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("Outbox dispatcher is disabled");
+            return;
+        }
+        executor.execute(this::run);
+    }
+
+    /**
+     * Delivers and deletes the oldest batch, returning how many events it held. Rows are only deleted once
+     * the sink has accepted the whole batch.
+     */
+    public int dispatchBatch() throws IOException {
+        List<OutboxEventEntity> batch = outboxRepository.findByOrderByIdAsc(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            lagMillis = 0;
+            return 0;
+        }
+        lagMillis = Math.max(0, Duration.between(batch.get(0).getCreatedAt(), clock.instant()).toMillis());
+        sink.deliver(batch);
+        outboxRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEventEntity::getId).toList());
+        dispatchedCount.addAndGet(batch.size());
+        return batch.size();
+    }
+
+    /**
+     * Wait before retrying after {@code failures} consecutive failed batches.
+     */
+    public Duration backoff(int failures) {
+        long multiplier = 1L << Math.min(failures - 1, 30);
+        Duration delay = initialBackoff.multipliedBy(multiplier);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    public long getDispatchedCount() {
+        return dispatchedCount.get();
+    }
+
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * Age of the oldest event still in the outbox when it was last read.
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TimeGauge.builder("catalog.outbox.lag", this, TimeUnit.MILLISECONDS, OutboxDispatcher::getLagMillis)
+                .description("Age of the oldest catalog event waiting in the outbox")
+                .register(registry);
+        FunctionCounter.builder("catalog.outbox.dispatched", this, OutboxDispatcher::getDispatchedCount)
+                .description("Catalog events delivered from the outbox")
+                .register(registry);
+        FunctionCounter.builder("catalog.outbox.failures", this, OutboxDispatcher::getFailureCount)
+                .description("Outbox batches the sink failed to accept")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        Duration delay;
+        try {
+            int dispatched = dispatchBatch();
+            consecutiveFailures = 0;
+            delay = dispatched == batchSize ? Duration.ZERO : pollInterval;
+        } catch (IOException | RuntimeException e) {
+            failureCount.incrementAndGet();
+            consecutiveFailures++;
+            delay = backoff(consecutiveFailures);
+            log.error("Failed to dispatch outbox batch, retrying in {} (failure {})", delay, consecutiveFailures, e);
+        }
+        try {
+            executor.schedule(this::run, delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.info("Outbox dispatcher stopped");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.gftworkshopcatalog.outbox;
+
+import com.gftworkshopcatalog.model.OutboxEventEntity;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Where the outbox dispatcher hands catalog events over to other systems. Events arrive in outbox id order. A
+ * batch that throws is offered again later, in full, so the same event may be delivered more than once;
+ * consumers should drop events whose id they have already seen.
+ */
+public interface OutboxSink {
+
+    void deliver(List<OutboxEventEntity> events) throws IOException;
+}
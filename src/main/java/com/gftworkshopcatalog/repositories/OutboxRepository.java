@@ -0,0 +1,15 @@
+package com.gftworkshopcatalog.repositories;
+
+import com.gftworkshopcatalog.model.OutboxEventEntity;
+import lombok.Generated;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Generated
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEventEntity, Long> {
+    List<OutboxEventEntity> findByOrderByIdAsc(Limit limit);
+}
@@ -1,17 +1,61 @@
 package com.gftworkshopcatalog.repositories;
 
 import com.gftworkshopcatalog.model.ProductEntity;
+import jakarta.persistence.QueryHint;
 import lombok.Generated;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Generated
 @Repository
 public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
     List<ProductEntity> findByCategoryId(Long categoryId);
+    boolean existsByCategoryId(Long categoryId);
     @Query("SELECT p FROM ProductEntity p WHERE p.categoryId = :categoryId AND p.name LIKE :namePrefix")
     List<ProductEntity> findByCategoryIdAndNameStartsWith(Long categoryId, String namePrefix);
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p FROM ProductEntity p ORDER BY p.id")
+    Stream<ProductEntity> streamAll();
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p FROM ProductEntity p WHERE p.categoryId = :categoryId ORDER BY p.id")
+    Stream<ProductEntity> streamByCategoryId(Long categoryId);
+    @Query("SELECT p FROM ProductEntity p WHERE p.currentStock <= 0 OR p.currentStock < p.minStock")
+    List<ProductEntity> findBelowMinimumStock();
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProductEntity p SET p.currentStock = p.currentStock + :quantity, p.version = p.version + 1 " +
+            "WHERE p.id = :productId AND p.currentStock + :quantity >= 0")
+    int addStockIfSufficient(Long productId, int quantity);
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProductEntity p SET p.currentStock = p.currentStock + :quantity, p.version = p.version + 1 " +
+            "WHERE p.id = :productId AND p.version = :version AND p.currentStock + :quantity >= 0")
+    int addStockIfSufficientAtVersion(Long productId, int quantity, Long version);
+    boolean existsByIdAndVersion(Long id, Long version);
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE products SET price = GREATEST(ROUND(price * :factor + :delta, :scale), 0), version = version + 1 " +
+            "WHERE category_id = :categoryId", nativeQuery = true)
+    int adjustPricesRoundingNearest(Long categoryId, BigDecimal factor, BigDecimal delta, int scale);
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE products SET price = GREATEST(CEILING((price * :factor + :delta) * :unit) / :unit, 0), " +
+            "version = version + 1 WHERE category_id = :categoryId", nativeQuery = true)
+    int adjustPricesRoundingUp(Long categoryId, BigDecimal factor, BigDecimal delta, BigDecimal unit);
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE products SET price = GREATEST(FLOOR((price * :factor + :delta) * :unit) / :unit, 0), " +
+            "version = version + 1 WHERE category_id = :categoryId", nativeQuery = true)
+    int adjustPricesRoundingDown(Long categoryId, BigDecimal factor, BigDecimal delta, BigDecimal unit);
 }
@@ -0,0 +1,27 @@
+package com.gftworkshopcatalog.repositories;
+
+import com.gftworkshopcatalog.exceptions.BadRequest;
+
+public enum ProductSortField {
+    ID("id"),
+    PRICE("price"),
+    NAME("name");
+
+    private final String attribute;
+
+    ProductSortField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public static ProductSortField from(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        for (ProductSortField field : values()) {
+            if (field.attribute.equalsIgnoreCase(value.trim())) {
+                return field;
+            }
+        }
+        throw new BadRequest("Invalid sort field: " + value);
+    }
+}
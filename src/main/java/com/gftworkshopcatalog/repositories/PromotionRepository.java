@@ -1,18 +1,24 @@
 package com.gftworkshopcatalog.repositories;
 
-import com.gftworkshopcatalog.model.ProductEntity;
 import com.gftworkshopcatalog.model.PromotionEntity;
 import lombok.Generated;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Generated
 @Repository
 public interface PromotionRepository extends JpaRepository<PromotionEntity, Long> {
-    PromotionEntity findActivePromotionByCategoryId(Long categoryId);
     List<PromotionEntity> findByCategoryId(Long categoryId);
-
+    boolean existsByCategoryId(Long categoryId);
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PromotionEntity p SET p.isActive = :isActive " +
+            "WHERE p.promotionId IN :promotionIds AND p.isActive <> :isActive")
+    int updateIsActive(Collection<Long> promotionIds, boolean isActive);
 }
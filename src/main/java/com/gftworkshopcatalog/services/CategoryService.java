@@ -1,5 +1,7 @@
 package com.gftworkshopcatalog.services;
 
+import com.gftworkshopcatalog.api.dto.PriceAdjustmentDTO;
+import com.gftworkshopcatalog.api.dto.PriceAdjustmentResultDTO;
 import com.gftworkshopcatalog.model.CategoryEntity;
 import com.gftworkshopcatalog.model.ProductEntity;
 
@@ -19,4 +21,6 @@ public interface CategoryService {
 
     List<ProductEntity> findProductsByCategoryIdAndName(Long categoryId, String namePref);
 
+    PriceAdjustmentResultDTO adjustPrices(long categoryId, PriceAdjustmentDTO adjustment);
+
 }
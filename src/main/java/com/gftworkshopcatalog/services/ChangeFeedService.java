@@ -0,0 +1,8 @@
+package com.gftworkshopcatalog.services;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface ChangeFeedService {
+
+    SseEmitter subscribe(String lastEventId);
+}
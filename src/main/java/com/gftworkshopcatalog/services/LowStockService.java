@@ -0,0 +1,11 @@
+package com.gftworkshopcatalog.services;
+
+import com.gftworkshopcatalog.api.dto.LowStockPageDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface LowStockService {
+
+    LowStockPageDTO findLowStockProducts(Integer page, Integer size);
+
+    SseEmitter subscribe();
+}
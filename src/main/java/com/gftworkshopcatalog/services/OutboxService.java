@@ -0,0 +1,15 @@
+package com.gftworkshopcatalog.services;
+
+import com.gftworkshopcatalog.model.OutboxEventEntity;
+
+public interface OutboxService {
+
+    String CREATED = "created";
+    String UPDATED = "updated";
+    String PRICE_CHANGED = "price-changed";
+    String STOCK_CHANGED = "stock-changed";
+    String REPRICED = "repriced";
+    String DELETED = "deleted";
+
+    void record(OutboxEventEntity.AggregateType aggregateType, Long aggregateId, String eventType, Object payload);
+}
@@ -0,0 +1,6 @@
+package com.gftworkshopcatalog.services;
+
+public enum ProductImportFormat {
+    JSON,
+    CSV
+}
@@ -0,0 +1,11 @@
+package com.gftworkshopcatalog.services;
+
+import com.gftworkshopcatalog.api.dto.ProductImportResultDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    ProductImportResultDTO importProducts(InputStream input, ProductImportFormat format) throws IOException;
+}
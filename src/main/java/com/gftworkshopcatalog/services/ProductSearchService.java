@@ -0,0 +1,16 @@
+package com.gftworkshopcatalog.services;
+
+import com.gftworkshopcatalog.api.dto.ProductFacetsDTO;
+import com.gftworkshopcatalog.api.dto.ProductSearchResultDTO;
+import com.gftworkshopcatalog.api.dto.ProductSuggestionDTO;
+
+import java.util.List;
+
+public interface ProductSearchService {
+
+    ProductSearchResultDTO search(String query, Long categoryId, Integer page, Integer size);
+
+    List<ProductSuggestionDTO> suggest(String prefix, Long categoryId, Integer limit);
+
+    ProductFacetsDTO facets(List<Long> categoryIds, List<String> priceBands, List<String> weightBands, List<String> stock, Integer limit);
+}
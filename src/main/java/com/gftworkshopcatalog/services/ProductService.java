@@ -1,19 +1,31 @@
 package com.gftworkshopcatalog.services;
 
 import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.api.dto.ProductFilterDTO;
+import com.gftworkshopcatalog.api.dto.ProductPageDTO;
+import com.gftworkshopcatalog.api.dto.ProductStockDTO;
+import com.gftworkshopcatalog.api.dto.StockUpdateDTO;
 import com.gftworkshopcatalog.model.ProductEntity;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ProductService {
 
     List<ProductEntity> findAllProducts();
+    ProductPageDTO findProductsPage(ProductFilterDTO filter);
+    void exportProducts(Long categoryId, OutputStream outputStream) throws IOException;
     ProductEntity findProductById(long productId);
     List<ProductEntity> findProductsByIds(List<Long> ids);
     ProductEntity addProduct(ProductEntity productEntity);
     ProductEntity updateProduct(Long productId, ProductEntity productEntityDetails);
+    ProductEntity updateProduct(Long productId, ProductEntity productEntityDetails, Long expectedVersion);
     void deleteProduct(long productId);
     ProductEntity updateProductPrice(long productId, double newPrice);
+    ProductEntity updateProductPrice(long productId, double newPrice, Long expectedVersion);
     ProductEntity updateProductStock(long productId, int newStock);
+    ProductEntity updateProductStock(long productId, int newStock, Long expectedVersion);
+    List<ProductStockDTO> updateProductsStock(List<StockUpdateDTO> stockUpdates);
     List<ProductEntity> calculateListDiscountedPrice(List<CartProductDTO> cartProducts);
 }
@@ -1,2 +1,10 @@
-package com.gftworkshopcatalog.services;public interface PromotionUpdateService {
+package com.gftworkshopcatalog.services;
+
+import com.gftworkshopcatalog.model.PromotionEntity;
+
+public interface PromotionUpdateService {
+    void schedule(PromotionEntity promotion);
+    void unschedule(Long promotionId);
+    void reschedule(Long promotionId);
+    int applyDueBoundaries();
 }
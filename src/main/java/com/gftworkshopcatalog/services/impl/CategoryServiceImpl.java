@@ -1,18 +1,29 @@
 package com.gftworkshopcatalog.services.impl;
 
+import com.gftworkshopcatalog.api.dto.PriceAdjustmentDTO;
+import com.gftworkshopcatalog.api.dto.PriceAdjustmentResultDTO;
+import com.gftworkshopcatalog.cache.CatalogSnapshotStore;
+import com.gftworkshopcatalog.cache.ProductCache;
+import com.gftworkshopcatalog.events.CatalogChangedEvent;
+import com.gftworkshopcatalog.events.ProductChangedEvent;
 import com.gftworkshopcatalog.exceptions.*;
 import com.gftworkshopcatalog.model.CategoryEntity;
+import com.gftworkshopcatalog.model.OutboxEventEntity;
 import com.gftworkshopcatalog.model.ProductEntity;
 import com.gftworkshopcatalog.repositories.CategoryRepository;
 import com.gftworkshopcatalog.repositories.ProductRepository;
 import com.gftworkshopcatalog.repositories.PromotionRepository;
 import com.gftworkshopcatalog.services.CategoryService;
+import com.gftworkshopcatalog.services.OutboxService;
 import com.gftworkshopcatalog.utils.CategoryValidationUtils;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
+import java.math.BigDecimal;
 import java.util.*;
 
 @Slf4j
@@ -22,19 +33,31 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
     private final CategoryValidationUtils categoryValidationUtils;
+    private final ProductCache productCache;
+    private final CatalogSnapshotStore catalogSnapshotStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
 
     private static final String CATEGORY_NOT_FOUND_MSG = "Category not found with ID: ";
     private static final String CATEGORY_DETAILS_INVALID_MSG = "Category details must not contain null or negative values";
     private static final String PRODUCTS_NOT_FOUND_MSG = "Products not found with ID: {} and NAME: {}";
+    private static final int MAX_PRICE_SCALE = 2;
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository, ProductRepository productRepository, PromotionRepository promotionRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, ProductRepository productRepository, PromotionRepository promotionRepository,
+                               ProductCache productCache, CatalogSnapshotStore catalogSnapshotStore, ApplicationEventPublisher eventPublisher,
+                               OutboxService outboxService) {
         this.categoryRepository = categoryRepository;
         this.productRepository = productRepository;
         this.categoryValidationUtils = new CategoryValidationUtils(productRepository, promotionRepository);
+        this.productCache = productCache;
+        this.catalogSnapshotStore = catalogSnapshotStore;
+        this.eventPublisher = eventPublisher;
+        this.outboxService = outboxService;
     }
 
     public List<CategoryEntity> getAllCategories() {
-        return categoryRepository.findAll();
+        return catalogSnapshotStore.current().categories();
     }
 
     public CategoryEntity findCategoryById(long categoryId) {
@@ -45,26 +68,33 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     public List<ProductEntity> findProductsByCategoryId(Long categoryId) {
-        List<ProductEntity> products = productRepository.findByCategoryId(categoryId);
+        List<ProductEntity> products = catalogSnapshotStore.current().productsByCategory(categoryId);
         if (products.isEmpty()) {
             log.error(CATEGORY_NOT_FOUND_MSG + "{}", categoryId);
             throw new NotFoundCategory(CATEGORY_NOT_FOUND_MSG + categoryId);
         }
-        return new ArrayList<>(products);
+        return products;
     }
 
+    @Transactional
     public CategoryEntity addCategory(CategoryEntity categoryEntity) {
         if (categoryEntity.getName() == null || categoryEntity.getCategoryId() < 0) {
             log.error(CATEGORY_DETAILS_INVALID_MSG);
             throw new AddProductInvalidArgumentsExceptions(CATEGORY_DETAILS_INVALID_MSG);
         }
-        return categoryRepository.save(categoryEntity);
+        CategoryEntity savedCategory = categoryRepository.save(categoryEntity);
+        outboxService.record(OutboxEventEntity.AggregateType.CATEGORY, savedCategory.getCategoryId(), OutboxService.CREATED, savedCategory);
+        eventPublisher.publishEvent(CatalogChangedEvent.categories());
+        return savedCategory;
     }
 
+    @Transactional
     public void deleteCategoryById(long categoryId) {
         CategoryEntity categoryEntity = findCategoryById(categoryId);
         categoryValidationUtils.validateCategoryDeletion(categoryId);
         categoryRepository.delete(categoryEntity);
+        outboxService.record(OutboxEventEntity.AggregateType.CATEGORY, categoryId, OutboxService.DELETED, categoryEntity);
+        eventPublisher.publishEvent(CatalogChangedEvent.categories());
     }
 
     public List<ProductEntity> findProductsByCategoryIdAndName(Long categoryId, String name) {
@@ -81,4 +111,53 @@ public class CategoryServiceImpl implements CategoryService {
         String lowerCaseName = name.toLowerCase();
         return lowerCaseName.substring(0, 1).toUpperCase() + lowerCaseName.substring(1) + "%";
     }
+
+    /**
+     * Reprices the whole category with a single UPDATE: {@code price * factor + delta}, rounded to {@code scale}
+     * decimals in the requested direction and never below zero. Only when nothing was updated is the category
+     * looked up, to tell an empty category from a missing one. The outbox gets one event for the category rather
+     * than one per product.
+     */
+    @Transactional
+    public PriceAdjustmentResultDTO adjustPrices(long categoryId, PriceAdjustmentDTO adjustment) {
+        validatePriceAdjustment(adjustment);
+        boolean percentage = adjustment.getType() == PriceAdjustmentDTO.Type.PERCENTAGE;
+        BigDecimal factor = percentage ? BigDecimal.ONE.add(adjustment.getAmount().divide(ONE_HUNDRED)) : BigDecimal.ONE;
+        BigDecimal delta = percentage ? BigDecimal.ZERO : adjustment.getAmount();
+        int scale = adjustment.getScale() == null ? MAX_PRICE_SCALE : adjustment.getScale();
+        BigDecimal unit = BigDecimal.TEN.pow(scale);
+        PriceAdjustmentDTO.Rounding rounding = adjustment.getRounding() == null ? PriceAdjustmentDTO.Rounding.NEAREST : adjustment.getRounding();
+
+        log.info("Adjusting prices of category ID: {} by {} {} rounding {} to {} decimals", categoryId,
+                adjustment.getAmount(), adjustment.getType(), rounding, scale);
+        int updated = switch (rounding) {
+            case NEAREST -> productRepository.adjustPricesRoundingNearest(categoryId, factor, delta, scale);
+            case UP -> productRepository.adjustPricesRoundingUp(categoryId, factor, delta, unit);
+            case DOWN -> productRepository.adjustPricesRoundingDown(categoryId, factor, delta, unit);
+        };
+        if (updated == 0) {
+            findCategoryById(categoryId);
+        }
+        PriceAdjustmentResultDTO result = new PriceAdjustmentResultDTO(categoryId, updated);
+        outboxService.record(OutboxEventEntity.AggregateType.CATEGORY, categoryId, OutboxService.REPRICED, result);
+        productCache.invalidateAll();
+        eventPublisher.publishEvent(ProductChangedEvent.categoryRepriced(categoryId));
+        log.info("Adjusted prices of {} products in category ID: {}", updated, categoryId);
+        return result;
+    }
+
+    private void validatePriceAdjustment(PriceAdjustmentDTO adjustment) {
+        if (adjustment == null || adjustment.getType() == null || adjustment.getAmount() == null) {
+            log.error("Failed to adjust prices: Type and amount must not be null");
+            throw new BadRequest("Type and amount must not be null");
+        }
+        if (adjustment.getType() == PriceAdjustmentDTO.Type.PERCENTAGE && adjustment.getAmount().compareTo(ONE_HUNDRED.negate()) < 0) {
+            log.error("Failed to adjust prices: Percentage below -100");
+            throw new BadRequest("Percentage must not be below -100");
+        }
+        if (adjustment.getScale() != null && (adjustment.getScale() < 0 || adjustment.getScale() > MAX_PRICE_SCALE)) {
+            log.error("Failed to adjust prices: Scale out of range");
+            throw new BadRequest("Scale must be between 0 and " + MAX_PRICE_SCALE);
+        }
+    }
 }
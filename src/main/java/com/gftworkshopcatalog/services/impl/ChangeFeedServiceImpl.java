@@ -0,0 +1,217 @@
+package com.gftworkshopcatalog.services.impl;
+
+import com.gftworkshopcatalog.api.dto.CatalogChangeDTO;
+import com.gftworkshopcatalog.events.CatalogChangedEvent;
+import com.gftworkshopcatalog.events.ChangeRingBuffer;
+import com.gftworkshopcatalog.events.ProductChangedEvent;
+import com.gftworkshopcatalog.exceptions.BadRequest;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.services.ChangeFeedService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Server-sent feed of committed catalog changes. Every change gets the next sequence number and is kept in a
+ * bounded ring buffer, so a client reconnecting with {@code Last-Event-ID} is sent what it missed instead of
+ * reloading the catalog; when that is no longer in the buffer it gets a {@code reset} event. All sending happens
+ * on one dispatcher thread, which keeps slow clients off the request threads that commit the writes. Appending
+ * only wakes the dispatcher, which then sends each stream whatever the buffer holds past the last change it
+ * wrote, so streams stay in sequence order however the committing threads race to hand their changes over.
+ */
+@Slf4j
+@Service
+public class ChangeFeedServiceImpl implements ChangeFeedService, MeterBinder {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String PRICE_CHANGED = "price-changed";
+    public static final String STOCK_CHANGED = "stock-changed";
+    public static final String DELETED = "deleted";
+    public static final String PROMOTION_CHANGED = "promotion-changed";
+    public static final String RESET = "reset";
+
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+    private final ChangeRingBuffer<CatalogChangeDTO> changes;
+    private final Duration streamTimeout;
+    private final Clock clock;
+    private final ExecutorService dispatcher;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public ChangeFeedServiceImpl(@Value("${catalog.changes.buffer-size:1024}") int bufferSize,
+                                 @Value("${catalog.changes.stream.timeout:30m}") Duration streamTimeout) {
+        this(bufferSize, streamTimeout, Clock.systemUTC(), Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    public ChangeFeedServiceImpl(int bufferSize, Duration streamTimeout, Clock clock, ExecutorService dispatcher) {
+        this.changes = new ChangeRingBuffer<>(bufferSize);
+        this.streamTimeout = streamTimeout;
+        this.clock = clock;
+        this.dispatcher = dispatcher;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.type()) {
+            case SAVED -> append(switch (event.change()) {
+                case CREATED -> CREATED;
+                case UPDATED -> UPDATED;
+                case PRICE -> PRICE_CHANGED;
+                case STOCK -> STOCK_CHANGED;
+            }, event.productId(), event.categoryId(), event.product());
+            case DELETED -> append(DELETED, event.productId(), event.categoryId(), null);
+            case CATEGORY_REPRICED -> append(PRICE_CHANGED, null, event.categoryId(), null);
+            case RELOADED -> append(RESET, null, null, null);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.table() == CatalogChangedEvent.Table.PROMOTIONS) {
+            append(PROMOTION_CHANGED, null, null, null);
+        }
+    }
+
+    /**
+     * Opens a stream that first replays every change after {@code lastEventId}, or starts with the next change
+     * when there is none. The reconnect hint sent up front also sends the response headers straight away.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        Long resumeAfter = parseLastEventId(lastEventId);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        try {
+            emitter.send(SseEmitter.event().comment("catalog changes").reconnectTime(RECONNECT_DELAY.toMillis()));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        dispatcher.execute(() -> start(subscriber, resumeAfter));
+        return emitter;
+    }
+
+    public long lastSequence() {
+        return changes.lastSequence();
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.changes.sequence", this, ChangeFeedServiceImpl::lastSequence)
+                .description("Sequence number of the latest catalog change")
+                .register(registry);
+        Gauge.builder("catalog.changes.subscribers", this, ChangeFeedServiceImpl::subscriberCount)
+                .description("Open catalog change streams")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private static Long parseLastEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            long sequence = Long.parseLong(lastEventId.trim());
+            if (sequence >= 0) {
+                return sequence;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below.
+        }
+        log.error("Failed to open change stream: Invalid Last-Event-ID {}", lastEventId);
+        throw new BadRequest("Last-Event-ID must be a change sequence number");
+    }
+
+    private void append(String type, Long productId, Long categoryId, ProductEntity product) {
+        ProductEntity copy = product == null ? null : product.toBuilder().build();
+        changes.append(sequence -> new CatalogChangeDTO(sequence, type, clock.instant(), productId, categoryId, copy));
+        dispatcher.execute(() -> subscribers.forEach(this::catchUp));
+    }
+
+    private void start(Subscriber subscriber, Long lastEventId) {
+        subscriber.lastSent = lastEventId == null ? changes.lastSequence() : lastEventId;
+        if (catchUp(subscriber)) {
+            subscribers.add(subscriber);
+        }
+    }
+
+    /**
+     * Sends {@code subscriber} every buffered change after the last one it was sent, or a {@code reset} when
+     * some of those have been overwritten. Returns {@code false} once the stream has been dropped.
+     */
+    private boolean catchUp(Subscriber subscriber) {
+        Optional<List<CatalogChangeDTO>> missed = changes.since(subscriber.lastSent);
+        if (missed.isEmpty()) {
+            return emit(subscriber, new CatalogChangeDTO(changes.lastSequence(), RESET, clock.instant(), null, null, null));
+        }
+        for (CatalogChangeDTO change : missed.get()) {
+            if (!emit(subscriber, change)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean emit(Subscriber subscriber, CatalogChangeDTO change) {
+        try {
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(change.getSequence()))
+                    .name(change.getType())
+                    .data(change, MediaType.APPLICATION_JSON));
+            subscriber.lastSent = change.getSequence();
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.info("Dropping change feed subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    /**
+     * An open stream and the last sequence number written to it; only the dispatcher thread touches either.
+     */
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        long lastSent;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.gftworkshopcatalog.services.impl;
+
+import com.gftworkshopcatalog.api.dto.LowStockPageDTO;
+import com.gftworkshopcatalog.api.dto.LowStockProductDTO;
+import com.gftworkshopcatalog.api.dto.StockAlertDTO;
+import com.gftworkshopcatalog.events.StockLevelChangedEvent;
+import com.gftworkshopcatalog.exceptions.BadRequest;
+import com.gftworkshopcatalog.indexes.LowStockIndex;
+import com.gftworkshopcatalog.services.LowStockService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pages through the low stock watchlist and pushes stock level changes to every open event stream. Alerts are
+ * sent from one dispatcher thread, so they reach each stream in the order they happened and a slow client never
+ * holds up the request thread that committed the stock change.
+ */
+@Slf4j
+@Service
+public class LowStockServiceImpl implements LowStockService {
+
+    private static final String STOCK_LEVEL_CHANGED = "stock-level-changed";
+
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final LowStockIndex lowStockIndex;
+    private final Duration streamTimeout;
+    private final ExecutorService dispatcher;
+    private final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public LowStockServiceImpl(LowStockIndex lowStockIndex,
+                               @Value("${catalog.low-stock.stream.timeout:30m}") Duration streamTimeout) {
+        this(lowStockIndex, streamTimeout, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "low-stock-alerts");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    public LowStockServiceImpl(LowStockIndex lowStockIndex, Duration streamTimeout, ExecutorService dispatcher) {
+        this.lowStockIndex = lowStockIndex;
+        this.streamTimeout = streamTimeout;
+        this.dispatcher = dispatcher;
+    }
+
+    public LowStockPageDTO findLowStockProducts(Integer page, Integer size) {
+        int pageNumber = page == null ? 0 : page;
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        if (pageNumber < 0 || pageSize < 1) {
+            log.error("Failed to list low stock products: Invalid page {} of size {}", page, size);
+            throw new BadRequest("Page must not be negative and size must be positive");
+        }
+        LowStockIndex.Result result = lowStockIndex.page(pageNumber * pageSize, pageSize);
+        return new LowStockPageDTO(result.total(), pageNumber, pageSize, result.entries().stream()
+                .map(entry -> new LowStockProductDTO(entry.productId(), entry.name(), entry.categoryId(),
+                        entry.currentStock(), entry.minStock(), entry.deficit(), entry.level()))
+                .toList());
+    }
+
+    /**
+     * Opens a stream that starts with a reconnect hint, which also sends the response headers straight away.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+        try {
+            emitter.send(SseEmitter.event().comment("stock level changes").reconnectTime(RECONNECT_DELAY.toMillis()));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        subscribers.add(emitter);
+        log.info("Low stock stream opened, {} subscribers", subscribers.size());
+        return emitter;
+    }
+
+    @EventListener
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        StockAlertDTO alert = new StockAlertDTO(event.productId(), event.name(), event.categoryId(), event.previous(),
+                event.current(), event.currentStock(), event.minStock());
+        dispatcher.execute(() -> send(alert));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(SseEmitter::complete);
+    }
+
+    private void send(StockAlertDTO alert) {
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(SseEmitter.event().name(STOCK_LEVEL_CHANGED).data(alert, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                log.info("Dropping low stock subscriber: {}", e.getMessage());
+                subscribers.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.gftworkshopcatalog.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gftworkshopcatalog.exceptions.InternalServiceException;
+import com.gftworkshopcatalog.model.OutboxEventEntity;
+import com.gftworkshopcatalog.repositories.OutboxRepository;
+import com.gftworkshopcatalog.services.OutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+
+/**
+ * Adds a row to the outbox as part of the caller's transaction, so the row commits or rolls back together with
+ * the change it describes. Pending changes are flushed first: the changed row is then locked when the outbox id
+ * is drawn, two writes to the same product or promotion get ids in the order they commit, and the payload is
+ * serialized with the version the write produced rather than the one it started from. The flush goes
+ * through the repository so that a version conflict it runs into surfaces as an
+ * {@link org.springframework.dao.OptimisticLockingFailureException}, which callers retry on.
+ */
+@Slf4j
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Autowired
+    public OutboxServiceImpl(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this(outboxRepository, objectMapper, Clock.systemUTC());
+    }
+
+    public OutboxServiceImpl(OutboxRepository outboxRepository, ObjectMapper objectMapper, Clock clock) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEventEntity.AggregateType aggregateType, Long aggregateId, String eventType, Object payload) {
+        outboxRepository.flush();
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize {} {} event for ID: {}", aggregateType, eventType, aggregateId, e);
+            throw new InternalServiceException("Failed to record " + eventType + " event for " + aggregateType + " " + aggregateId);
+        }
+        outboxRepository.save(OutboxEventEntity.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(json)
+                .createdAt(clock.instant())
+                .build());
+    }
+}
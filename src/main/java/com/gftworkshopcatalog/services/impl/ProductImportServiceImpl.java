@@ -0,0 +1,389 @@
+package com.gftworkshopcatalog.services.impl;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gftworkshopcatalog.api.dto.ProductImportErrorDTO;
+import com.gftworkshopcatalog.api.dto.ProductImportResultDTO;
+import com.gftworkshopcatalog.cache.ProductCache;
+import com.gftworkshopcatalog.events.ProductChangedEvent;
+import com.gftworkshopcatalog.exceptions.AddProductInvalidArgumentsExceptions;
+import com.gftworkshopcatalog.exceptions.BadRequest;
+import com.gftworkshopcatalog.model.OutboxEventEntity;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.gftworkshopcatalog.services.OutboxService;
+import com.gftworkshopcatalog.services.ProductImportFormat;
+import com.gftworkshopcatalog.services.ProductImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.gftworkshopcatalog.utils.ProductValidationUtils.validateProductEntity;
+
+/**
+ * Imports products from a JSON array or a CSV file without holding the file in memory. Rows are validated as they
+ * are read and written with JDBC batch statements, one transaction per chunk of {@code catalog.import.batch-size}
+ * rows; rows with an {@code id} update that product and rows without one are inserted. A chunk that the database
+ * rejects is replayed row by row so that only the offending rows are reported. Each chunk re-reads the rows it
+ * wrote, records them in the outbox and publishes a {@link ProductChangedEvent} per product within its
+ * transaction, so consumers and the in-memory views follow an import row by row, the same way as any other write.
+ */
+@Slf4j
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final String INSERT_PRODUCT = "INSERT INTO products " +
+            "(name, description, price, category_id, weight, current_stock, min_stock, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_PRODUCT = "UPDATE products SET name = ?, description = ?, price = ?, " +
+            "category_id = ?, weight = ?, current_stock = ?, min_stock = ?, version = version + 1 WHERE product_id = ?";
+    private static final List<String> REQUIRED_CSV_COLUMNS =
+            List.of("name", "price", "categoryId", "weight", "currentStock", "minStock");
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final long INITIAL_VERSION = 0L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ProductRepository productRepository;
+    private final OutboxService outboxService;
+    private final ProductCache productCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public ProductImportServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper, ProductRepository productRepository, OutboxService outboxService,
+                                    ProductCache productCache, ApplicationEventPublisher eventPublisher,
+                                    @Value("${catalog.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.productRepository = productRepository;
+        this.outboxService = outboxService;
+        this.productCache = productCache;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public ProductImportResultDTO importProducts(InputStream input, ProductImportFormat format) throws IOException {
+        log.info("Importing products from {}", format);
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun(new HashSet<>(jdbcTemplate.queryForList("SELECT category_id FROM categories", Long.class)));
+        if (format == ProductImportFormat.CSV) {
+            readCsv(input, run);
+        } else {
+            readJson(input, run);
+        }
+        run.flush();
+        ProductImportResultDTO result = run.result();
+        log.info("Imported products in {} ms: {} inserted, {} updated, {} failed", (System.nanoTime() - start) / 1_000_000,
+                result.getInserted(), result.getUpdated(), result.getFailed());
+        return result;
+    }
+
+    private void readJson(InputStream input, ImportRun run) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                log.error("Failed to import products: Body is not a JSON array");
+                throw new BadRequest("Expected a JSON array of products");
+            }
+            int row = 0;
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    row++;
+                    if (token != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        run.reject(row, "Row must be a JSON object");
+                        continue;
+                    }
+                    JsonNode node = parser.readValueAsTree();
+                    ProductEntity product;
+                    try {
+                        product = objectMapper.treeToValue(node, ProductEntity.class);
+                    } catch (JsonProcessingException e) {
+                        run.reject(row, "Invalid product: " + e.getOriginalMessage());
+                        continue;
+                    }
+                    run.accept(row, product);
+                }
+            } catch (JsonParseException e) {
+                run.reject(row + 1, "Malformed JSON, import stopped: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(InputStream input, ImportRun run) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            log.error("Failed to import products: CSV header is missing");
+            throw new BadRequest("CSV must start with a header line");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = parseCsvLine(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        for (String column : REQUIRED_CSV_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                log.error("Failed to import products: CSV column {} is missing", column);
+                throw new BadRequest("Missing CSV column: " + column);
+            }
+        }
+
+        int row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            row++;
+            ProductEntity product;
+            try {
+                product = csvProduct(parseCsvLine(line), columns);
+            } catch (IllegalArgumentException e) {
+                run.reject(row, "Invalid value: " + e.getMessage());
+                continue;
+            }
+            run.accept(row, product);
+        }
+    }
+
+    private static ProductEntity csvProduct(List<String> cells, Map<String, Integer> columns) {
+        String id = cell(cells, columns, "id");
+        String price = cell(cells, columns, "price");
+        String categoryId = cell(cells, columns, "categoryId");
+        String weight = cell(cells, columns, "weight");
+        String currentStock = cell(cells, columns, "currentStock");
+        String minStock = cell(cells, columns, "minStock");
+        return ProductEntity.builder()
+                .id(id == null ? null : Long.valueOf(id.trim()))
+                .name(cell(cells, columns, "name"))
+                .description(cell(cells, columns, "description"))
+                .price(price == null ? null : Double.valueOf(price.trim()))
+                .categoryId(categoryId == null ? null : Long.valueOf(categoryId.trim()))
+                .weight(weight == null ? null : Double.valueOf(weight.trim()))
+                .currentStock(currentStock == null ? null : Integer.valueOf(currentStock.trim()))
+                .minStock(minStock == null ? null : Integer.valueOf(minStock.trim()))
+                .build();
+    }
+
+    private static String cell(List<String> cells, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= cells.size() || cells.get(index).isEmpty()) {
+            return null;
+        }
+        return cells.get(index);
+    }
+
+    /**
+     * Splits one CSV record; fields may be quoted and use {@code ""} for a literal quote, but may not span lines.
+     */
+    private static List<String> parseCsvLine(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (i < line.length()) {
+            char c = line.charAt(i++);
+            if (quoted && c == '"' && i < line.length() && line.charAt(i) == '"') {
+                cell.append('"');
+                i++;
+            } else if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private ChunkOutcome write(List<ImportRow> rows) {
+        List<ImportRow> inserts = rows.stream().filter(row -> row.product().getId() == null).toList();
+        List<ImportRow> updates = rows.stream().filter(row -> row.product().getId() != null).toList();
+        Map<ImportRow, Long> writtenIds = new IdentityHashMap<>();
+        List<Long> insertedIds = insert(inserts);
+        for (int i = 0; i < inserts.size(); i++) {
+            writtenIds.put(inserts.get(i), insertedIds.get(i));
+        }
+        List<Long> updatedIds = new ArrayList<>(updates.size());
+        List<ImportRow> missing = new ArrayList<>();
+        if (!updates.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_PRODUCT, updates.stream().map(row -> columns(row.product(), true)).toList());
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    missing.add(updates.get(i));
+                } else {
+                    updatedIds.add(updates.get(i).product().getId());
+                    writtenIds.put(updates.get(i), updates.get(i).product().getId());
+                }
+            }
+        }
+        publish(rows, writtenIds);
+        return new ChunkOutcome(inserts.size(), updatedIds, missing);
+    }
+
+    private List<Long> insert(List<ImportRow> inserts) {
+        if (inserts.isEmpty()) {
+            return List.of();
+        }
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_PRODUCT, new String[]{"product_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        new ArgumentPreparedStatementSetter(columns(inserts.get(i).product(), false)).setValues(statement);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return inserts.size();
+                    }
+                }, keys);
+        return keys.getKeyList().stream()
+                .map(key -> ((Number) key.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    /**
+     * Re-reads the written rows for the version the database gave them, then records and publishes each one in
+     * file order.
+     */
+    private void publish(List<ImportRow> rows, Map<ImportRow, Long> writtenIds) {
+        if (writtenIds.isEmpty()) {
+            return;
+        }
+        Map<Long, ProductEntity> productsById = productRepository.findAllById(writtenIds.values()).stream()
+                .collect(Collectors.toMap(ProductEntity::getId, Function.identity()));
+        for (ImportRow row : rows) {
+            Long productId = writtenIds.get(row);
+            if (productId == null) {
+                continue;
+            }
+            ProductEntity product = productsById.get(productId);
+            if (row.product().getId() == null) {
+                outboxService.record(OutboxEventEntity.AggregateType.PRODUCT, productId, OutboxService.CREATED, product);
+                eventPublisher.publishEvent(ProductChangedEvent.created(product));
+            } else {
+                outboxService.record(OutboxEventEntity.AggregateType.PRODUCT, productId, OutboxService.UPDATED, product);
+                eventPublisher.publishEvent(ProductChangedEvent.saved(product));
+            }
+        }
+    }
+
+    /**
+     * The bound columns of {@link #UPDATE_PRODUCT}, or of {@link #INSERT_PRODUCT} with the version a JPA persist
+     * would give the new row in place of the id, rather than relying on the schema default.
+     */
+    private static Object[] columns(ProductEntity product, boolean withId) {
+        return new Object[]{product.getName(), product.getDescription(), product.getPrice(), product.getCategoryId(),
+                product.getWeight(), product.getCurrentStock(), product.getMinStock(),
+                withId ? product.getId() : INITIAL_VERSION};
+    }
+
+    private record ImportRow(int row, ProductEntity product) {
+    }
+
+    private record ChunkOutcome(int inserted, List<Long> updatedIds, List<ImportRow> missing) {
+    }
+
+    private final class ImportRun {
+
+        private final Set<Long> categoryIds;
+        private final List<ImportRow> pending = new ArrayList<>();
+        private final List<ProductImportErrorDTO> errors = new ArrayList<>();
+        private int inserted;
+        private int updated;
+        private int failed;
+
+        private ImportRun(Set<Long> categoryIds) {
+            this.categoryIds = categoryIds;
+        }
+
+        void accept(int row, ProductEntity product) {
+            try {
+                validateProductEntity(product);
+            } catch (AddProductInvalidArgumentsExceptions e) {
+                reject(row, e.getMessage());
+                return;
+            }
+            if (!categoryIds.contains(product.getCategoryId())) {
+                reject(row, "Category not found with ID: " + product.getCategoryId());
+                return;
+            }
+            pending.add(new ImportRow(row, product));
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(int row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ProductImportErrorDTO(row, message));
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                record(transactionTemplate.execute(status -> write(pending)));
+            } catch (DataAccessException e) {
+                log.warn("Import chunk of {} rows was rejected, storing its rows one by one", pending.size(), e);
+                for (ImportRow row : pending) {
+                    try {
+                        record(transactionTemplate.execute(status -> write(List.of(row))));
+                    } catch (DataAccessException rowFailure) {
+                        reject(row.row(), "Could not be stored: " + rowFailure.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+            pending.clear();
+        }
+
+        private void record(ChunkOutcome outcome) {
+            inserted += outcome.inserted();
+            updated += outcome.updatedIds().size();
+            outcome.updatedIds().forEach(productCache::evict);
+            outcome.missing().forEach(row -> reject(row.row(), "Product not found with ID: " + row.product().getId()));
+        }
+
+        ProductImportResultDTO result() {
+            errors.sort(Comparator.comparingInt(ProductImportErrorDTO::getRow));
+            return new ProductImportResultDTO(inserted, updated, failed, errors);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.gftworkshopcatalog.services.impl;
+
+import com.gftworkshopcatalog.api.dto.ProductFacetsDTO;
+import com.gftworkshopcatalog.api.dto.ProductSearchHitDTO;
+import com.gftworkshopcatalog.api.dto.ProductSearchResultDTO;
+import com.gftworkshopcatalog.api.dto.ProductSuggestionDTO;
+import com.gftworkshopcatalog.cache.ProductCache;
+import com.gftworkshopcatalog.exceptions.BadRequest;
+import com.gftworkshopcatalog.indexes.ProductFacetIndex;
+import com.gftworkshopcatalog.indexes.ProductFacetIndex.Facet;
+import com.gftworkshopcatalog.indexes.ProductSearchIndex;
+import com.gftworkshopcatalog.indexes.ProductSuggestIndex;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.services.ProductSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+@Slf4j
+@Service
+public class ProductSearchServiceImpl implements ProductSearchService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_OFFSET = 10_000;
+    private static final int DEFAULT_SUGGESTIONS = 10;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int DEFAULT_FACET_IDS = 20;
+    private static final int MAX_FACET_IDS = 100;
+
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductCache productCache;
+
+    public ProductSearchServiceImpl(ProductSearchIndex productSearchIndex, ProductSuggestIndex productSuggestIndex,
+                                    ProductFacetIndex productFacetIndex, ProductCache productCache) {
+        this.productSearchIndex = productSearchIndex;
+        this.productSuggestIndex = productSuggestIndex;
+        this.productFacetIndex = productFacetIndex;
+        this.productCache = productCache;
+    }
+
+    public ProductSearchResultDTO search(String query, Long categoryId, Integer page, Integer size) {
+        log.info("Searching products for '{}' in category ID: {}", query, categoryId);
+        if (query == null || query.isBlank()) {
+            log.error("Failed to search products: Query must not be blank");
+            throw new BadRequest("Query must not be blank");
+        }
+        int pageNumber = page == null ? 0 : page;
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        if (pageNumber < 0 || pageSize < 1) {
+            log.error("Failed to search products: Invalid page {} of size {}", page, size);
+            throw new BadRequest("Page must not be negative and size must be positive");
+        }
+        if ((long) pageNumber * pageSize > MAX_OFFSET) {
+            log.error("Failed to search products: Page {} is beyond the first {} matches", page, MAX_OFFSET);
+            throw new BadRequest("Only the first " + MAX_OFFSET + " matches can be paged through");
+        }
+
+        ProductSearchIndex.Result result = productSearchIndex.search(query, categoryId, pageNumber * pageSize, pageSize);
+        Map<Long, ProductEntity> productsById = productCache.getAll(result.hits().stream()
+                .map(ProductSearchIndex.Hit::productId)
+                .toList());
+        List<ProductSearchHitDTO> hits = new ArrayList<>(result.hits().size());
+        for (ProductSearchIndex.Hit hit : result.hits()) {
+            ProductEntity product = productsById.get(hit.productId());
+            if (product != null) {
+                hits.add(new ProductSearchHitDTO(hit.score(), product));
+            }
+        }
+        return new ProductSearchResultDTO(query, result.total(), pageNumber, pageSize, hits);
+    }
+
+    public List<ProductSuggestionDTO> suggest(String prefix, Long categoryId, Integer limit) {
+        log.info("Suggesting products for prefix '{}' in category ID: {}", prefix, categoryId);
+        if (prefix == null || prefix.isBlank()) {
+            log.error("Failed to suggest products: Prefix must not be blank");
+            throw new BadRequest("Prefix must not be blank");
+        }
+        int suggestions = limit == null ? DEFAULT_SUGGESTIONS : Math.min(limit, MAX_SUGGESTIONS);
+        if (suggestions < 1) {
+            log.error("Failed to suggest products: Invalid limit {}", limit);
+            throw new BadRequest("Limit must be positive");
+        }
+        return productSuggestIndex.suggest(prefix, categoryId, suggestions).stream()
+                .map(suggestion -> new ProductSuggestionDTO(suggestion.productId(), suggestion.name(), suggestion.categoryId()))
+                .toList();
+    }
+
+    public ProductFacetsDTO facets(List<Long> categoryIds, List<String> priceBands, List<String> weightBands, List<String> stock, Integer limit) {
+        log.info("Counting facets for categories {}, price bands {}, weight bands {} and stock {}", categoryIds, priceBands, weightBands, stock);
+        int idLimit = limit == null ? DEFAULT_FACET_IDS : Math.min(limit, MAX_FACET_IDS);
+        if (idLimit < 0) {
+            log.error("Failed to count facets: Invalid limit {}", limit);
+            throw new BadRequest("Limit must not be negative");
+        }
+        EnumMap<Facet, List<String>> selection = new EnumMap<>(Facet.class);
+        selection.put(Facet.CATEGORY, categoryIds == null ? null : categoryIds.stream().map(String::valueOf).toList());
+        selection.put(Facet.PRICE_BAND, checkedValues(Facet.PRICE_BAND, priceBands));
+        selection.put(Facet.WEIGHT_BAND, checkedValues(Facet.WEIGHT_BAND, weightBands));
+        selection.put(Facet.STOCK, checkedValues(Facet.STOCK, stock));
+
+        ProductFacetIndex.Result result = productFacetIndex.facets(selection, idLimit);
+        return ProductFacetsDTO.builder()
+                .total(result.total())
+                .productIds(result.productIds())
+                .categories(result.counts().get(Facet.CATEGORY))
+                .priceBands(result.counts().get(Facet.PRICE_BAND))
+                .weightBands(result.counts().get(Facet.WEIGHT_BAND))
+                .stock(result.counts().get(Facet.STOCK))
+                .build();
+    }
+
+    private List<String> checkedValues(Facet facet, List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        Set<String> known = productFacetIndex.values(facet);
+        for (String value : values) {
+            if (!known.contains(value)) {
+                log.error("Failed to count facets: Unknown {} value '{}'", facet, value);
+                throw new BadRequest("Unknown " + facet.name().toLowerCase().replace('_', ' ') + " '" + value + "', expected one of " + known);
+            }
+        }
+        return values;
+    }
+}
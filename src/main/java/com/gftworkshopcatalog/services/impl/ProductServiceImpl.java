@@ -1,19 +1,48 @@
 package com.gftworkshopcatalog.services.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.api.dto.ProductFilterDTO;
+import com.gftworkshopcatalog.api.dto.ProductPageDTO;
+import com.gftworkshopcatalog.api.dto.ProductStockDTO;
+import com.gftworkshopcatalog.api.dto.StockUpdateDTO;
+import com.gftworkshopcatalog.cache.CatalogSnapshotStore;
+import com.gftworkshopcatalog.cache.ProductCache;
+import com.gftworkshopcatalog.events.ProductChangedEvent;
 import com.gftworkshopcatalog.exceptions.AddProductInvalidArgumentsExceptions;
 import com.gftworkshopcatalog.exceptions.BadRequest;
 import com.gftworkshopcatalog.exceptions.NotFoundProduct;
+import com.gftworkshopcatalog.exceptions.PreconditionFailed;
+import com.gftworkshopcatalog.indexes.ActivePromotionIndex;
+import com.gftworkshopcatalog.model.OutboxEventEntity;
 import com.gftworkshopcatalog.model.ProductEntity;
 import com.gftworkshopcatalog.model.PromotionEntity;
 import com.gftworkshopcatalog.repositories.ProductRepository;
-import com.gftworkshopcatalog.repositories.PromotionRepository;
+import com.gftworkshopcatalog.repositories.ProductSortField;
+import com.gftworkshopcatalog.services.OutboxService;
 import com.gftworkshopcatalog.services.ProductService;
+import com.gftworkshopcatalog.utils.ProductCursorUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.gftworkshopcatalog.operations.ProductOperations.*;
 import static com.gftworkshopcatalog.utils.ProductValidationUtils.validateProductEntity;
@@ -22,39 +51,195 @@ import static com.gftworkshopcatalog.utils.ProductValidationUtils.validateProduc
 @Service
 public class ProductServiceImpl implements ProductService {
 
-    private final PromotionRepository promotionRepository;
+    private final ActivePromotionIndex activePromotionIndex;
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final CatalogSnapshotStore catalogSnapshotStore;
+    private final EntityManager entityManager;
+    private final ObjectWriter productWriter;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter insufficientStockConflicts;
     private static final String PRODUCT_NOT_FOUND_LOG = "Product not found with ID: {}";
     private static final String PRODUCT_NOT_FOUND_ERROR = "\"Product not found with ID: \"";
-
-    public ProductServiceImpl(PromotionRepository promotionRepository, ProductRepository productRepository) {
-        this.promotionRepository = promotionRepository;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_WRITE_ATTEMPTS = 4;
+    private static final long BASE_BACKOFF_MILLIS = 5;
+    private static final String WRITE_CONFLICTS_METRIC = "catalog.product.write.conflicts";
+
+    public ProductServiceImpl(ActivePromotionIndex activePromotionIndex, ProductRepository productRepository,
+                              ProductCache productCache, CatalogSnapshotStore catalogSnapshotStore, EntityManager entityManager,
+                              ObjectMapper objectMapper, MeterRegistry meterRegistry, ApplicationEventPublisher eventPublisher,
+                              OutboxService outboxService, PlatformTransactionManager transactionManager) {
+        this.activePromotionIndex = activePromotionIndex;
         this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.catalogSnapshotStore = catalogSnapshotStore;
+        this.entityManager = entityManager;
+        this.productWriter = objectMapper == null ? null : objectMapper.writerFor(ProductEntity.class);
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.outboxService = outboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.insufficientStockConflicts = Counter.builder("catalog.stock.update.conflicts")
+                .description("Stock updates rejected because they conflicted with the current stock")
+                .tag("reason", "insufficient_stock")
+                .register(meterRegistry);
     }
 
 
     public List<ProductEntity> findAllProducts() {
         log.info("Retrieving all products");
-        return productRepository.findAll();
+        return catalogSnapshotStore.current().products();
+    }
+
+    public ProductPageDTO findProductsPage(ProductFilterDTO filter) {
+        log.info("Retrieving page of products: {}", filter);
+        ProductSortField sortField = ProductSortField.from(filter.getSort());
+        int pageSize = resolvePageSize(filter.getSize());
+
+        Predicate<ProductEntity> after = filter.getCursor() == null || filter.getCursor().isBlank()
+                ? null : ProductCursorUtils.decode(sortField, filter.getCursor());
+
+        List<ProductEntity> products = catalogSnapshotStore.current()
+                .page(sortField, filter.getCategoryId(), after, matching(filter), pageSize + 1);
+        if (products.size() <= pageSize) {
+            return new ProductPageDTO(products, null);
+        }
+        List<ProductEntity> content = new ArrayList<>(products.subList(0, pageSize));
+        return new ProductPageDTO(content, ProductCursorUtils.encode(sortField, content.get(pageSize - 1)));
+    }
+
+    private static Predicate<ProductEntity> matching(ProductFilterDTO filter) {
+        Double minPrice = filter.getMinPrice();
+        Double maxPrice = filter.getMaxPrice();
+        Boolean inStock = filter.getInStock();
+        return product -> (minPrice == null || product.getPrice() >= minPrice)
+                && (maxPrice == null || product.getPrice() <= maxPrice)
+                && (inStock == null || inStock == (product.getCurrentStock() > 0));
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            log.error("Failed to list products: Page size must be positive");
+            throw new BadRequest("Page size must be positive");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportProducts(Long categoryId, OutputStream outputStream) throws IOException {
+        log.info("Exporting products for category ID: {}", categoryId);
+        long exported = 0;
+        try (Stream<ProductEntity> products = categoryId == null
+                ? productRepository.streamAll()
+                : productRepository.streamByCategoryId(categoryId)) {
+            Iterator<ProductEntity> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                ProductEntity product = iterator.next();
+                outputStream.write(productWriter.writeValueAsBytes(product));
+                outputStream.write('\n');
+                entityManager.detach(product);
+                exported++;
+            }
+        }
+        outputStream.flush();
+        log.info("Exported {} products", exported);
     }
 
     public ProductEntity findProductById(long productId) {
         log.info("Retrieving product by its ID");
+        ProductEntity product = productCache.get(productId);
+        if (product == null) {
+            log.error(PRODUCT_NOT_FOUND_LOG, productId);
+            throw new NotFoundProduct(PRODUCT_NOT_FOUND_ERROR + productId);
+        }
+        return product;
+    }
+
+    private ProductEntity loadProduct(long productId) {
         return productRepository.findById(productId).orElseThrow(() -> {
             log.error(PRODUCT_NOT_FOUND_LOG, productId);
             return new NotFoundProduct(PRODUCT_NOT_FOUND_ERROR + productId);
         });
     }
 
+    private ProductEntity loadProduct(long productId, Long expectedVersion, String operation) {
+        ProductEntity product = loadProduct(productId);
+        if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+            throw versionMismatch(productId, expectedVersion, operation);
+        }
+        return product;
+    }
+
+    private PreconditionFailed versionMismatch(long productId, Long expectedVersion, String operation) {
+        countWriteConflict(operation, "precondition_failed");
+        log.error("Product ID: {} is no longer at version {}", productId, expectedVersion);
+        return new PreconditionFailed("Product " + productId + " has been modified since version " + expectedVersion);
+    }
+
+    /**
+     * Runs a read-modify-write, starting over from a fresh read when the save loses an optimistic lock race.
+     * Each attempt is its own transaction, so a lost race also rolls back the outbox row written with it.
+     * Waits between attempts grow exponentially with jitter so that competing writers spread out; once the
+     * attempts are used up the conflict is rethrown and reported as 409.
+     */
+    private ProductEntity retryOnConflict(String operation, Supplier<ProductEntity> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return write.get();
+            } catch (OptimisticLockingFailureException e) {
+                entityManager.clear();
+                if (attempt == MAX_WRITE_ATTEMPTS) {
+                    countWriteConflict(operation, "exhausted");
+                    log.error("Giving up {} after {} conflicting attempts", operation, attempt);
+                    throw e;
+                }
+                countWriteConflict(operation, "retried");
+                log.warn("Concurrent {} detected, retrying (attempt {})", operation, attempt);
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    private static void backOff(int attempt, OptimisticLockingFailureException conflict) {
+        long maxDelay = BASE_BACKOFF_MILLIS << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxDelay / 2, maxDelay + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private void countWriteConflict(String operation, String outcome) {
+        meterRegistry.counter(WRITE_CONFLICTS_METRIC, "operation", operation, "outcome", outcome).increment();
+    }
+
 
+    @Transactional
     public ProductEntity addProduct(ProductEntity productEntity) {
         log.info("Adding new product: {}", productEntity);
         validateProductEntity(productEntity);
-        return productRepository.save(productEntity);
+        ProductEntity savedProduct = productRepository.save(productEntity);
+        recordChange(savedProduct, OutboxService.CREATED);
+        productCache.evict(savedProduct.getId());
+        eventPublisher.publishEvent(ProductChangedEvent.created(savedProduct));
+        return savedProduct;
     }
 
 
     public ProductEntity updateProduct(Long productId, ProductEntity productEntityDetails) {
+        return updateProduct(productId, productEntityDetails, null);
+    }
+
+    public ProductEntity updateProduct(Long productId, ProductEntity productEntityDetails, Long expectedVersion) {
         log.info("Updating product ID: {}", productId);
         if (productEntityDetails == null) {
             log.error("Failed to update product: Product details must not be null");
@@ -63,9 +248,16 @@ public class ProductServiceImpl implements ProductService {
 
         validateProductEntity(productEntityDetails);
 
-        ProductEntity productEntity = findProductById(productId);
-        updateProductEntity(productEntity, productEntityDetails);
-        return productRepository.save(productEntity);
+        ProductEntity savedProduct = retryOnConflict("update", () -> transactionTemplate.execute(status -> {
+            ProductEntity productEntity = loadProduct(productId, expectedVersion, "update");
+            updateProductEntity(productEntity, productEntityDetails);
+            ProductEntity saved = productRepository.save(productEntity);
+            recordChange(saved, OutboxService.UPDATED);
+            return saved;
+        }));
+        productCache.evict(productId);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(savedProduct));
+        return savedProduct;
     }
 
     private void updateProductEntity(ProductEntity existingProduct, ProductEntity newDetails) {
@@ -79,36 +271,104 @@ public class ProductServiceImpl implements ProductService {
         existingProduct.setMinStock(newDetails.getMinStock());
     }
 
+    @Transactional
     public void deleteProduct(long productId) {
         log.info("Deleting product ID: {}", productId);
-        ProductEntity productEntity = findProductById(productId);
+        ProductEntity productEntity = loadProduct(productId);
         productRepository.delete(productEntity);
+        recordChange(productEntity, OutboxService.DELETED);
+        productCache.evict(productId);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(productEntity));
         log.info("Deleted product ID: {}", productId);
     }
 
     public ProductEntity updateProductPrice(long productId, double newPrice) {
+        return updateProductPrice(productId, newPrice, null);
+    }
+
+    public ProductEntity updateProductPrice(long productId, double newPrice, Long expectedVersion) {
         log.info("Updating price for product ID: {}", productId);
         if (newPrice < 0) {
             log.info("Failed to update price: Price cannot be negative");
             throw new AddProductInvalidArgumentsExceptions("Price cannot be negative");
         }
 
-        ProductEntity product = findProductById(productId);
-        product.setPrice(newPrice);
-        return productRepository.save(product);
+        ProductEntity savedProduct = retryOnConflict("price", () -> transactionTemplate.execute(status -> {
+            ProductEntity product = loadProduct(productId, expectedVersion, "price");
+            product.setPrice(newPrice);
+            ProductEntity saved = productRepository.save(product);
+            recordChange(saved, OutboxService.PRICE_CHANGED);
+            return saved;
+        }));
+        productCache.evict(productId);
+        eventPublisher.publishEvent(ProductChangedEvent.priceChanged(savedProduct));
+        return savedProduct;
     }
 
+    @Transactional
     public ProductEntity updateProductStock(long productId, int quantity) {
+        return updateProductStock(productId, quantity, null);
+    }
+
+    /**
+     * Stock changes are a single conditional UPDATE that also bumps the version, so they never lose a concurrent
+     * write and need no retry; {@code expectedVersion} only narrows the update to the version the client saw.
+     */
+    @Transactional
+    public ProductEntity updateProductStock(long productId, int quantity, Long expectedVersion) {
         log.info("Updating stock for product ID: {}", productId);
-        ProductEntity product = productRepository.findById(productId)
-                .orElseThrow(() -> new NotFoundProduct(PRODUCT_NOT_FOUND_ERROR + productId));
-        int newStock = product.getCurrentStock() + quantity;
-        if (newStock < 0) {
+        applyStockDelta(productId, quantity, expectedVersion);
+        ProductEntity product = loadProduct(productId);
+        recordChange(product, OutboxService.STOCK_CHANGED);
+        eventPublisher.publishEvent(ProductChangedEvent.stockChanged(product));
+        return product;
+    }
+
+    @Transactional
+    public List<ProductStockDTO> updateProductsStock(List<StockUpdateDTO> stockUpdates) {
+        log.info("Updating stock for {} cart lines", stockUpdates.size());
+        Map<Long, Integer> quantitiesByProductId = new TreeMap<>();
+        for (StockUpdateDTO stockUpdate : stockUpdates) {
+            if (stockUpdate.getProductId() == null || stockUpdate.getQuantity() == null) {
+                log.error("Failed to update stock: Product ID and quantity must not be null");
+                throw new BadRequest("Product ID and quantity must not be null");
+            }
+            quantitiesByProductId.merge(stockUpdate.getProductId(), stockUpdate.getQuantity(), Integer::sum);
+        }
+
+        quantitiesByProductId.forEach((productId, quantity) -> applyStockDelta(productId, quantity, null));
+
+        Map<Long, ProductEntity> productsById = findProductsByIdsIndexed(quantitiesByProductId.keySet());
+        productsById.values().forEach(product -> {
+            recordChange(product, OutboxService.STOCK_CHANGED);
+            eventPublisher.publishEvent(ProductChangedEvent.stockChanged(product));
+        });
+        return quantitiesByProductId.keySet().stream()
+                .map(productId -> new ProductStockDTO(productId, productsById.get(productId).getCurrentStock()))
+                .toList();
+    }
+
+    private void recordChange(ProductEntity product, String eventType) {
+        outboxService.record(OutboxEventEntity.AggregateType.PRODUCT, product.getId(), eventType, product);
+    }
+
+    private void applyStockDelta(long productId, int quantity, Long expectedVersion) {
+        productCache.evict(productId);
+        int updated = expectedVersion == null
+                ? productRepository.addStockIfSufficient(productId, quantity)
+                : productRepository.addStockIfSufficientAtVersion(productId, quantity, expectedVersion);
+        if (updated == 0) {
+            if (!productRepository.existsById(productId)) {
+                log.error(PRODUCT_NOT_FOUND_LOG, productId);
+                throw new NotFoundProduct(PRODUCT_NOT_FOUND_ERROR + productId);
+            }
+            if (expectedVersion != null && !productRepository.existsByIdAndVersion(productId, expectedVersion)) {
+                throw versionMismatch(productId, expectedVersion, "stock");
+            }
+            insufficientStockConflicts.increment();
             log.error("Insufficient stock to decrement for product ID: {}", productId);
             throw new BadRequest("Insufficient stock to decrement by " + quantity);
         }
-        product.setCurrentStock(newStock);
-        return productRepository.save(product);
     }
 
 
@@ -125,32 +385,47 @@ public class ProductServiceImpl implements ProductService {
 
     public double calculateDiscountedPrice(Long id, int quantity) {
         log.info("Calculating discounted price for product ID: {}", id);
-        ProductEntity product = productRepository.findById(id)
-                .orElseThrow(() -> new NotFoundProduct(PRODUCT_NOT_FOUND_ERROR + id));
-
-        PromotionEntity promotion = promotionRepository.findActivePromotionByCategoryId(product.getCategoryId());
-
-        if (promotion != null && promotion.getIsActive() && "VOLUME".equalsIgnoreCase(promotion.getPromotionType())) {
-            return calculateNewPrice(product.getPrice(), promotion, quantity);
-        }
-
-        return product.getPrice();
+        ProductEntity product = findProductById(id);
+        return calculateDiscountedPricePerUnit(product, quantity);
     }
 
 
     public List<ProductEntity> calculateListDiscountedPrice(List<CartProductDTO> cartProducts) {
         log.info("Calculating discounted prices for list of cart products");
-        List<ProductEntity> discountedProducts = new ArrayList<>();
+        Map<Long, Integer> quantitiesByProductId = mergeCartQuantities(cartProducts);
+        Map<Long, ProductEntity> productsById = requireAllProducts(quantitiesByProductId.keySet(),
+                productCache.getAll(quantitiesByProductId.keySet()));
+
+        List<ProductEntity> discountedProducts = new ArrayList<>(quantitiesByProductId.size());
+        quantitiesByProductId.forEach((productId, quantity) -> {
+            ProductEntity product = productsById.get(productId);
+            double discountedPricePerUnit = calculateDiscountedPricePerUnit(product, quantity);
+            discountedProducts.add(createDiscountedProductEntity(product, discountedPricePerUnit, quantity));
+        });
+        return discountedProducts;
+    }
 
+    private Map<Long, Integer> mergeCartQuantities(List<CartProductDTO> cartProducts) {
+        Map<Long, Integer> quantitiesByProductId = new LinkedHashMap<>();
         for (CartProductDTO cartProduct : cartProducts) {
-            ProductEntity product = findProductById(cartProduct.getProductId());
-            PromotionEntity promotion = findActivePromotionByCategoryId(product.getCategoryId());
-            double discountedPricePerUnit = calculateDiscountedPricePerUnit(product, promotion, cartProduct.getQuantity());
+            quantitiesByProductId.merge(cartProduct.getProductId(), cartProduct.getQuantity(), Integer::sum);
+        }
+        return quantitiesByProductId;
+    }
 
-            ProductEntity discountedProduct = createDiscountedProductEntity(product, discountedPricePerUnit, cartProduct.getQuantity());
-            discountedProducts.add(discountedProduct);
+    private Map<Long, ProductEntity> findProductsByIdsIndexed(Set<Long> productIds) {
+        return requireAllProducts(productIds, productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(ProductEntity::getId, Function.identity())));
+    }
+
+    private Map<Long, ProductEntity> requireAllProducts(Set<Long> productIds, Map<Long, ProductEntity> productsById) {
+        for (Long productId : productIds) {
+            if (!productsById.containsKey(productId)) {
+                log.error(PRODUCT_NOT_FOUND_LOG, productId);
+                throw new NotFoundProduct(PRODUCT_NOT_FOUND_ERROR + productId);
+            }
         }
-        return discountedProducts;
+        return productsById;
     }
 
     private ProductEntity createDiscountedProductEntity(ProductEntity product, double discountedPricePerUnit, int quantity) {
@@ -171,17 +446,28 @@ public class ProductServiceImpl implements ProductService {
         return discountedProduct;
     }
 
-    private double calculateDiscountedPricePerUnit(ProductEntity product, PromotionEntity promotion, int quantity) {
+    /**
+     * Stored prices are base prices; the seasonal discount and then the volume discount in force today are
+     * applied on top of them here, so nothing ever rewrites the catalog when promotions change. The seasonal
+     * discount applies whatever the quantity; only the volume discount depends on its threshold.
+     */
+    private double calculateDiscountedPricePerUnit(ProductEntity product, int quantity) {
         log.debug("Calculating discounted price per unit for product ID: {}", product.getId());
-        if (promotion != null && promotion.getIsActive() && "VOLUME".equalsIgnoreCase(promotion.getPromotionType())) {
-            return calculateNewPrice(product.getPrice(), promotion, quantity);
+        double price = product.getPrice();
+        PromotionEntity seasonalPromotion = activePromotionIndex.findActiveSeasonalPromotion(product.getCategoryId());
+        if (seasonalPromotion != null) {
+            price = applyDiscount(price, seasonalPromotion);
+        }
+        PromotionEntity volumePromotion = findActivePromotionByCategoryId(product.getCategoryId());
+        if (volumePromotion != null) {
+            price = calculateNewPrice(price, volumePromotion, quantity);
         }
-        return product.getPrice();
+        return price;
     }
 
     public PromotionEntity findActivePromotionByCategoryId(Long categoryId) {
-        log.info("Finding active promotion by category ID: {}", categoryId);
-        return promotionRepository.findActivePromotionByCategoryId(categoryId);
+        log.debug("Finding active promotion by category ID: {}", categoryId);
+        return activePromotionIndex.findActiveVolumePromotion(categoryId);
     }
 
 
@@ -1,14 +1,21 @@
 package com.gftworkshopcatalog.services.impl;
 
+import com.gftworkshopcatalog.cache.CatalogSnapshotStore;
+import com.gftworkshopcatalog.events.CatalogChangedEvent;
 import com.gftworkshopcatalog.exceptions.AddProductInvalidArgumentsExceptions;
 import com.gftworkshopcatalog.exceptions.NotFoundPromotion;
+import com.gftworkshopcatalog.indexes.ActivePromotionIndex;
+import com.gftworkshopcatalog.model.OutboxEventEntity;
 import com.gftworkshopcatalog.model.PromotionEntity;
-import com.gftworkshopcatalog.repositories.ProductRepository;
 import com.gftworkshopcatalog.repositories.PromotionRepository;
+import com.gftworkshopcatalog.services.OutboxService;
 import com.gftworkshopcatalog.services.PromotionService;
-import jakarta.annotation.PostConstruct;
+import com.gftworkshopcatalog.services.PromotionUpdateService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import static com.gftworkshopcatalog.utils.PromotionValidationUtils.validatePromotionEntity;
@@ -18,23 +25,30 @@ import static com.gftworkshopcatalog.utils.PromotionValidationUtils.validateProm
 @Service
 public class PromotionServiceImpl implements PromotionService {
     private final PromotionRepository promotionRepository;
-    private final ProductRepository productRepository;
+    private final ActivePromotionIndex activePromotionIndex;
+    private final PromotionUpdateService promotionUpdateService;
+    private final CatalogSnapshotStore catalogSnapshotStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
     private static final String PROMOTION_NOT_FOUND = "Promotion not found with ID: ";
     private static final String PROMOTION_DETAILS_NULL = "Promotion details must not be null";
-    public PromotionServiceImpl(PromotionRepository promotionRepository, ProductRepository productRepository) {
+    public PromotionServiceImpl(PromotionRepository promotionRepository, ActivePromotionIndex activePromotionIndex,
+                                PromotionUpdateService promotionUpdateService, CatalogSnapshotStore catalogSnapshotStore,
+                                ApplicationEventPublisher eventPublisher, OutboxService outboxService,
+                                PlatformTransactionManager transactionManager) {
         this.promotionRepository = promotionRepository;
-        this.productRepository = productRepository;
-    }
-
-    @PostConstruct
-    public void init() {
-        StatusPromotionServiceImpl statusPromotionService = new StatusPromotionServiceImpl(productRepository ,promotionRepository);
-        statusPromotionService.getActivePromotions();
+        this.activePromotionIndex = activePromotionIndex;
+        this.promotionUpdateService = promotionUpdateService;
+        this.catalogSnapshotStore = catalogSnapshotStore;
+        this.eventPublisher = eventPublisher;
+        this.outboxService = outboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public List<PromotionEntity> findAllPromotions() {
         log.info("Retrieving all promotions.");
-            return promotionRepository.findAll();
+            return catalogSnapshotStore.current().promotions();
     }
     public PromotionEntity findPromotionById(long promotionId) {
         log.info("Searching for promotion by ID: {}", promotionId);
@@ -47,7 +61,13 @@ public class PromotionServiceImpl implements PromotionService {
             throw new IllegalArgumentException(PROMOTION_DETAILS_NULL);
         }
         validatePromotionEntity(promotionEntity);
-        return promotionRepository.save(promotionEntity);
+        PromotionEntity savedPromotion = transactionTemplate.execute(status -> {
+            PromotionEntity saved = promotionRepository.save(promotionEntity);
+            outboxService.record(OutboxEventEntity.AggregateType.PROMOTION, saved.getPromotionId(), OutboxService.CREATED, saved);
+            return saved;
+        });
+        applyCommitted(savedPromotion.getPromotionId());
+        return savedPromotion;
     }
     public PromotionEntity updatePromotion(long promotionId, PromotionEntity promotionEntityDetails) {
         if (promotionEntityDetails == null) {
@@ -55,9 +75,15 @@ public class PromotionServiceImpl implements PromotionService {
             throw new AddProductInvalidArgumentsExceptions(PROMOTION_DETAILS_NULL);
         }
         validatePromotionEntity(promotionEntityDetails);
-        PromotionEntity existingPromotion = findPromotionById(promotionId);
-        updatePromotionEntity(existingPromotion, promotionEntityDetails);
-        return promotionRepository.save(existingPromotion);
+        PromotionEntity savedPromotion = transactionTemplate.execute(status -> {
+            PromotionEntity existingPromotion = findPromotionById(promotionId);
+            updatePromotionEntity(existingPromotion, promotionEntityDetails);
+            PromotionEntity saved = promotionRepository.save(existingPromotion);
+            outboxService.record(OutboxEventEntity.AggregateType.PROMOTION, promotionId, OutboxService.UPDATED, saved);
+            return saved;
+        });
+        applyCommitted(promotionId);
+        return savedPromotion;
     }
     private void updatePromotionEntity(PromotionEntity existingPromotion, PromotionEntity newDetails) {
         existingPromotion.setCategoryId(newDetails.getCategoryId());
@@ -68,9 +94,24 @@ public class PromotionServiceImpl implements PromotionService {
         existingPromotion.setEndDate(newDetails.getEndDate());
     }
     public void deletePromotion(long promotionId) {
-        PromotionEntity promotion = findPromotionById(promotionId);
-        log.info("Deleting promotion with ID: {}", promotionId);
-        promotionRepository.delete(promotion);
+        transactionTemplate.executeWithoutResult(status -> {
+            PromotionEntity promotion = findPromotionById(promotionId);
+            log.info("Deleting promotion with ID: {}", promotionId);
+            promotionRepository.delete(promotion);
+            outboxService.record(OutboxEventEntity.AggregateType.PROMOTION, promotionId, OutboxService.DELETED, promotion);
+        });
+        applyCommitted(promotionId);
+    }
+
+    /**
+     * Brings the pricing index and the scheduler up to date with a committed write. Both reload the row rather
+     * than take the one this write saved, which a concurrent write to the same promotion may already have
+     * replaced.
+     */
+    private void applyCommitted(Long promotionId) {
+        activePromotionIndex.refresh(promotionId);
+        promotionUpdateService.reschedule(promotionId);
+        eventPublisher.publishEvent(CatalogChangedEvent.promotions());
     }
 }
 
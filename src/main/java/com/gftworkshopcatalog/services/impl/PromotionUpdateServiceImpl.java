@@ -0,0 +1,215 @@
+package com.gftworkshopcatalog.services.impl;
+
+import com.gftworkshopcatalog.events.CatalogChangedEvent;
+import com.gftworkshopcatalog.indexes.ActivePromotionIndex;
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.PromotionRepository;
+import com.gftworkshopcatalog.services.PromotionUpdateService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps {@code promotions.is_active} in line with each promotion's dates. Every promotion contributes its
+ * start date and the day after its end date to a date-ordered timeline; a single timer wakes up at the next
+ * boundary and flips only the promotions due on it with one bulk update per state, applying the same flip to
+ * the {@link ActivePromotionIndex} that pricing reads.
+ */
+@Slf4j
+@Service
+public class PromotionUpdateServiceImpl implements PromotionUpdateService {
+
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final PromotionRepository promotionRepository;
+    private final ActivePromotionIndex activePromotionIndex;
+    private final Clock clock;
+    private final ScheduledExecutorService executor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final NavigableMap<LocalDate, Map<Long, Boolean>> boundaries = new TreeMap<>();
+    private ScheduledFuture<?> nextRun;
+
+    @Autowired
+    public PromotionUpdateServiceImpl(PromotionRepository promotionRepository, ActivePromotionIndex activePromotionIndex,
+                                      ApplicationEventPublisher eventPublisher,
+                                      @Value("${catalog.promotions.scheduler.enabled:true}") boolean enabled) {
+        this(promotionRepository, activePromotionIndex, Clock.systemDefaultZone(), Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "promotion-update");
+            thread.setDaemon(true);
+            return thread;
+        }), eventPublisher, enabled);
+    }
+
+    public PromotionUpdateServiceImpl(PromotionRepository promotionRepository, ActivePromotionIndex activePromotionIndex,
+                                      Clock clock, ScheduledExecutorService executor,
+                                      ApplicationEventPublisher eventPublisher, boolean enabled) {
+        this.promotionRepository = promotionRepository;
+        this.activePromotionIndex = activePromotionIndex;
+        this.clock = clock;
+        this.executor = executor;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("Promotion update scheduler is disabled");
+            return;
+        }
+        executor.execute(this::loadBoundaries);
+    }
+
+    /**
+     * Reads every promotion once to seed the timeline and corrects any flag that is already out of date.
+     */
+    public void loadBoundaries() {
+        List<PromotionEntity> promotions = promotionRepository.findAll();
+        LocalDate today = LocalDate.now(clock);
+        synchronized (this) {
+            boundaries.clear();
+            promotions.forEach(promotion -> register(promotion, today));
+        }
+        log.info("Promotion update scheduler loaded {} promotions", promotions.size());
+        applyDueBoundaries();
+    }
+
+    @Override
+    public synchronized void schedule(PromotionEntity promotion) {
+        if (!enabled) {
+            return;
+        }
+        removeBoundaries(promotion.getPromotionId());
+        register(promotion, LocalDate.now(clock));
+        scheduleNext(Duration.ZERO);
+    }
+
+    @Override
+    public synchronized void unschedule(Long promotionId) {
+        if (!enabled) {
+            return;
+        }
+        removeBoundaries(promotionId);
+        scheduleNext(Duration.ZERO);
+    }
+
+    /**
+     * Reloads one promotion after a write has committed and schedules its boundaries, or drops them when it is
+     * gone. Reading the row under the scheduler's lock keeps the timeline on the latest dates however two
+     * concurrent writes to the same promotion are handed over.
+     */
+    @Override
+    public synchronized void reschedule(Long promotionId) {
+        if (!enabled) {
+            return;
+        }
+        promotionRepository.findById(promotionId).ifPresentOrElse(this::schedule, () -> unschedule(promotionId));
+    }
+
+    /**
+     * Applies every boundary up to and including today. When a promotion has several due boundaries the latest
+     * one wins, and the conditional update leaves rows that already hold the right value untouched.
+     */
+    @Override
+    public int applyDueBoundaries() {
+        LocalDate today = LocalDate.now(clock);
+        Map<Long, Boolean> due = new HashMap<>();
+        synchronized (this) {
+            NavigableMap<LocalDate, Map<Long, Boolean>> dueBoundaries = boundaries.headMap(today, true);
+            dueBoundaries.values().forEach(due::putAll);
+            dueBoundaries.clear();
+        }
+        if (due.isEmpty()) {
+            scheduleNext(Duration.ZERO);
+            return 0;
+        }
+        try {
+            int updated = updateIsActive(due, true) + updateIsActive(due, false);
+            if (updated > 0) {
+                eventPublisher.publishEvent(CatalogChangedEvent.promotions());
+            }
+            log.info("Applied {} promotion boundaries, {} promotions changed state", due.size(), updated);
+            scheduleNext(Duration.ZERO);
+            return updated;
+        } catch (RuntimeException e) {
+            log.error("Failed to apply promotion boundaries, retrying in {}", RETRY_DELAY, e);
+            synchronized (this) {
+                Map<Long, Boolean> pending = boundaries.computeIfAbsent(today, date -> new HashMap<>());
+                due.forEach(pending::putIfAbsent);
+            }
+            scheduleNext(RETRY_DELAY);
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private int updateIsActive(Map<Long, Boolean> due, boolean isActive) {
+        List<Long> promotionIds = due.entrySet().stream()
+                .filter(entry -> entry.getValue() == isActive)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (promotionIds.isEmpty()) {
+            return 0;
+        }
+        int updated = promotionRepository.updateIsActive(promotionIds, isActive);
+        activePromotionIndex.setActive(promotionIds, isActive);
+        return updated;
+    }
+
+    private void register(PromotionEntity promotion, LocalDate today) {
+        Long promotionId = promotion.getPromotionId();
+        boolean activeToday = !today.isBefore(promotion.getStartDate()) && !today.isAfter(promotion.getEndDate());
+        if (!Boolean.valueOf(activeToday).equals(promotion.getIsActive())) {
+            addBoundary(today, promotionId, activeToday);
+        }
+        if (promotion.getStartDate().isAfter(today)) {
+            addBoundary(promotion.getStartDate(), promotionId, true);
+        }
+        LocalDate dayAfterEnd = promotion.getEndDate().plusDays(1);
+        if (dayAfterEnd.isAfter(today)) {
+            addBoundary(dayAfterEnd, promotionId, false);
+        }
+    }
+
+    private void addBoundary(LocalDate date, Long promotionId, boolean isActive) {
+        boundaries.computeIfAbsent(date, key -> new HashMap<>()).put(promotionId, isActive);
+    }
+
+    private void removeBoundaries(Long promotionId) {
+        boundaries.values().forEach(promotions -> promotions.remove(promotionId));
+        boundaries.values().removeIf(Map::isEmpty);
+    }
+
+    private synchronized void scheduleNext(Duration minimumDelay) {
+        if (nextRun != null) {
+            nextRun.cancel(false);
+            nextRun = null;
+        }
+        if (boundaries.isEmpty()) {
+            return;
+        }
+        LocalDate nextBoundary = boundaries.firstKey();
+        Duration untilBoundary = Duration.between(clock.instant(), nextBoundary.atStartOfDay(clock.getZone()).toInstant());
+        long delayMillis = Math.max(minimumDelay.toMillis(), untilBoundary.toMillis());
+        nextRun = executor.schedule(this::applyDueBoundaries, delayMillis, TimeUnit.MILLISECONDS);
+    }
+}
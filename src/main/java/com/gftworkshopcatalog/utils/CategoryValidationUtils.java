@@ -2,13 +2,9 @@ package com.gftworkshopcatalog.utils;
 
 
 import com.gftworkshopcatalog.exceptions.InternalServiceException;
-import com.gftworkshopcatalog.model.ProductEntity;
-import com.gftworkshopcatalog.model.PromotionEntity;
 import com.gftworkshopcatalog.repositories.ProductRepository;
 import com.gftworkshopcatalog.repositories.PromotionRepository;
 
-import java.util.List;
-
 public class CategoryValidationUtils {
     private final ProductRepository productRepository;
     private final PromotionRepository promotionRepository;
@@ -19,12 +15,10 @@ public class CategoryValidationUtils {
        this.promotionRepository = promotionRepository;
    }
     public void validateCategoryDeletion(Long categoryId){
-        List<ProductEntity> products = productRepository.findByCategoryId(categoryId);
-        if (!products.isEmpty()){
+        if (productRepository.existsByCategoryId(categoryId)){
             throw new InternalServiceException("Cannot delete category because it´s referenced by products.");
         }
-        List<PromotionEntity> promotions = promotionRepository.findByCategoryId(categoryId);
-        if (!promotions.isEmpty()){
+        if (promotionRepository.existsByCategoryId(categoryId)){
             throw new InternalServiceException("Cannot delete category because it´s reference by promotions.");
         }
     }
@@ -0,0 +1,63 @@
+package com.gftworkshopcatalog.utils;
+
+import com.gftworkshopcatalog.exceptions.BadRequest;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductSortField;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Opaque continuation tokens for keyset pagination. A token is the URL-safe Base64 of
+ * {@code sortField:lastId:lastSortValue} and is only valid for the sort it was issued for. Decoding yields the
+ * test for products strictly after that position in {@code sortField, id} order.
+ */
+public class ProductCursorUtils {
+
+    private static final String INVALID_CURSOR = "Invalid cursor";
+
+    private ProductCursorUtils() {
+    }
+
+    public static String encode(ProductSortField sortField, ProductEntity last) {
+        String value = switch (sortField) {
+            case ID -> "";
+            case PRICE -> String.valueOf(last.getPrice());
+            case NAME -> last.getName();
+        };
+        String raw = sortField.name() + ":" + last.getId() + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Predicate<ProductEntity> decode(ProductSortField sortField, String cursor) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequest(INVALID_CURSOR);
+        }
+        if (parts.length != 3 || !sortField.name().equals(parts[0])) {
+            throw new BadRequest(INVALID_CURSOR);
+        }
+        try {
+            Long lastId = Long.valueOf(parts[1]);
+            return switch (sortField) {
+                case ID -> product -> product.getId() > lastId;
+                case PRICE -> after(ProductEntity::getPrice, Double.valueOf(parts[2]), lastId);
+                case NAME -> after(ProductEntity::getName, parts[2], lastId);
+            };
+        } catch (NumberFormatException e) {
+            throw new BadRequest(INVALID_CURSOR);
+        }
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate<ProductEntity> after(Function<ProductEntity, Y> attribute,
+                                                                                   Y value, Long lastId) {
+        return product -> {
+            int comparison = attribute.apply(product).compareTo(value);
+            return comparison > 0 || comparison == 0 && product.getId() > lastId;
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.gftworkshopcatalog.utils;
+
+import com.gftworkshopcatalog.exceptions.BadRequest;
+import com.gftworkshopcatalog.model.ProductEntity;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Maps a product's optimistic lock version to HTTP validators: responses carry it as a strong {@code ETag} and
+ * clients send it back in {@code If-Match} to make an update conditional on the version they read.
+ */
+public class ProductVersionUtils {
+
+    private static final String INVALID_IF_MATCH = "Invalid If-Match header";
+
+    private ProductVersionUtils() {
+    }
+
+    public static ResponseEntity<ProductEntity> okWithETag(ProductEntity product) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (product != null && product.getVersion() != null) {
+            response.eTag("\"" + product.getVersion() + "\"");
+        }
+        return response.body(product);
+    }
+
+    /**
+     * Returns the version named by an {@code If-Match} header, or {@code null} when the header is absent or
+     * {@code *}. Weak validators are rejected because a version is only meaningful as an exact match.
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 3 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            throw new BadRequest(INVALID_IF_MATCH);
+        }
+        try {
+            return Long.valueOf(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new BadRequest(INVALID_IF_MATCH);
+        }
+    }
+}
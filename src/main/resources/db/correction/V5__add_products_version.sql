@@ -0,0 +1,3 @@
+-- The Hibernate-created schema this database was baselined from predates optimistic locking on products, and V1
+-- never runs here, so add the column the @Version field maps to. Fresh databases get it from V1.
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
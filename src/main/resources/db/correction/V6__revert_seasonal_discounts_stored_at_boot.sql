@@ -0,0 +1,21 @@
+-- Until seasonal promotions were applied on read, every boot stored price * (1 - discount) for each product of a
+-- category with a seasonal promotion running that day. Pricing now applies that discount on top of the stored
+-- price, so take the stored discount of the promotions still running back out once. Discounts stored for
+-- promotions that have since ended, or stored more than once by repeated boots, cannot be told apart from an
+-- intended price and are left for a manual repricing.
+UPDATE products
+SET price = ROUND(price / (
+        SELECT EXP(SUM(LN(1 - promotions.discount)))
+        FROM promotions
+        WHERE promotions.category_id = products.category_id
+          AND promotions.promotion_type = 'SEASONAL'
+          AND promotions.discount < 1
+          AND CURRENT_DATE BETWEEN promotions.start_date AND promotions.end_date), 2),
+    version = version + 1
+WHERE EXISTS (
+        SELECT 1
+        FROM promotions
+        WHERE promotions.category_id = products.category_id
+          AND promotions.promotion_type = 'SEASONAL'
+          AND promotions.discount < 1
+          AND CURRENT_DATE BETWEEN promotions.start_date AND promotions.end_date);
@@ -12,6 +12,7 @@ CREATE TABLE products (
     weight DECIMAL(5, 2) NOT NULL,
     current_stock INT NOT NULL,
     min_stock INT NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (category_id) REFERENCES categories(category_id)
 );
 
@@ -0,0 +1,7 @@
+-- Keyset pagination orders by (column, product_id); category lookups and name prefix searches filter on
+-- category_id first.
+CREATE INDEX idx_products_category_id ON products (category_id, product_id);
+CREATE INDEX idx_products_price ON products (price, product_id);
+CREATE INDEX idx_products_name ON products (name, product_id);
+CREATE INDEX idx_products_category_price ON products (category_id, price, product_id);
+CREATE INDEX idx_products_category_name ON products (category_id, name, product_id);
@@ -0,0 +1,2 @@
+-- Promotions are looked up per category and then narrowed to the ones running on a given date.
+CREATE INDEX idx_promotions_category_dates ON promotions (category_id, start_date, end_date);
@@ -0,0 +1,10 @@
+-- Catalog changes waiting to be delivered to other systems. Rows are written in the same transaction as the
+-- change they describe and deleted once the outbox dispatcher has handed them to its sink.
+CREATE TABLE outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_type VARCHAR(32) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(64) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,96 @@
+package com.gftworkshopcatalog;
+
+import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.cache.ProductCache;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cartPricingQueryCount",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "catalog.promotions.scheduler.enabled=false",
+        "catalog.outbox.dispatcher.enabled=false"
+})
+class CartPricingQueryCountTest {
+
+    @Autowired
+    private ProductServiceImpl productServiceImpl;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Volume promotion pricing - Constant statement count regardless of cart size")
+    void calculateListDiscountedPrice_constantStatementCount() {
+        long singleLineStatements = countStatements(buildCart(1));
+        long fortyLineStatements = countStatements(buildCart(40));
+        long twoHundredLineStatements = countStatements(buildCart(200));
+
+        assertEquals(1, singleLineStatements);
+        assertEquals(singleLineStatements, fortyLineStatements);
+        assertEquals(singleLineStatements, twoHundredLineStatements);
+    }
+
+    @Test
+    @DisplayName("Volume promotion pricing - No statements once products are cached")
+    void calculateListDiscountedPrice_cachedProducts() {
+        productServiceImpl.calculateListDiscountedPrice(buildCart(40));
+
+        statistics.clear();
+        productServiceImpl.calculateListDiscountedPrice(buildCart(200));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Volume promotion pricing - Duplicate lines merged in cart order")
+    void calculateListDiscountedPrice_mergesDuplicateLines() {
+        List<ProductEntity> result = productServiceImpl.calculateListDiscountedPrice(buildCart(200));
+
+        assertEquals(40, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(i + 1L, result.get(i).getId());
+        }
+    }
+
+    private long countStatements(List<CartProductDTO> cartProducts) {
+        productCache.invalidateAll();
+        statistics.clear();
+        productServiceImpl.calculateListDiscountedPrice(cartProducts);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<CartProductDTO> buildCart(int lines) {
+        List<CartProductDTO> cartProducts = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            cartProducts.add(CartProductDTO.builder()
+                    .productId((long) (i % 40) + 1)
+                    .quantity(1)
+                    .build());
+        }
+        return cartProducts;
+    }
+}
@@ -1,6 +1,13 @@
 package com.gftworkshopcatalog;
 
 
+import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.api.dto.CatalogChangeDTO;
+import com.gftworkshopcatalog.api.dto.ProductPageDTO;
+import com.gftworkshopcatalog.api.dto.StockAlertDTO;
+import com.gftworkshopcatalog.api.dto.StockUpdateDTO;
+import com.gftworkshopcatalog.cache.CatalogSnapshotStore;
+import com.gftworkshopcatalog.cache.ProductCache;
 import com.gftworkshopcatalog.model.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -8,35 +15,85 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.gftworkshopcatalog.model.ProductEntity;
 import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.outbox.OutboxDispatcher;
+import com.gftworkshopcatalog.repositories.OutboxRepository;
 import com.gftworkshopcatalog.repositories.PromotionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import java.io.*;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 
 import static org.junit.jupiter.api.Assertions.*;
 
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "catalog.promotions.scheduler.enabled=false",
+        "catalog.outbox.dispatcher.enabled=false",
+        "catalog.outbox.sink.path=target/outbox/catalog-functional-test.ndjson"
+})
 @AutoConfigureWebTestClient
+@AutoConfigureObservability
 class CatalogFunctionalTest {
 
     @Autowired
     WebTestClient webTestClient;
 
+    @LocalServerPort
+    int port;
+
     @Autowired
     PromotionRepository promotionRepository;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private CatalogSnapshotStore catalogSnapshotStore;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
@@ -48,7 +105,7 @@ class CatalogFunctionalTest {
     @Test
     @DisplayName("Find all products - Success")
     void testListAllProducts() {
-        webTestClient.get().uri("/products")
+        webTestClient.get().uri("/products?unpaged=true")
                 .exchange()
                 .expectStatus().isOk()
                 .expectHeader().contentType(MediaType.APPLICATION_JSON)
@@ -59,6 +116,88 @@ class CatalogFunctionalTest {
                 });
 
     }
+
+    @Test
+    @DisplayName("Find products page by page - Success")
+    void testListProductsPaged() {
+        List<Long> expectedIds = webTestClient.get().uri("/products?unpaged=true")
+                .exchange()
+                .expectBodyList(ProductEntity.class)
+                .returnResult().getResponseBody().stream()
+                .filter(product -> product.getCategoryId() == 3L && product.getCurrentStock() > 0)
+                .sorted(Comparator.comparing(ProductEntity::getPrice).thenComparing(ProductEntity::getId))
+                .map(ProductEntity::getId)
+                .toList();
+
+        List<Long> pagedIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            String uri = "/products?categoryId=3&inStock=true&sort=price&size=2" + (cursor == null ? "" : "&cursor=" + cursor);
+            ProductPageDTO page = webTestClient.get().uri(uri)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(ProductPageDTO.class)
+                    .returnResult().getResponseBody();
+            assertNotNull(page);
+            assertTrue(page.getContent().size() <= 2);
+            page.getContent().forEach(product -> pagedIds.add(product.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertFalse(pagedIds.isEmpty());
+        assertEquals(expectedIds, pagedIds);
+    }
+
+    @Test
+    @DisplayName("Find products page - Invalid cursor")
+    void testListProductsPagedInvalidCursor() {
+        webTestClient.get().uri("/products?cursor=not-a-cursor")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+    @Test
+    @DisplayName("Export products by category as NDJSON - Success")
+    void testExportProductsByCategory() throws IOException {
+        byte[] body = webTestClient.get().uri("/products/export?categoryId=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/x-ndjson")
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        List<ProductEntity> exported = readNdjson(new ByteArrayInputStream(body));
+        assertFalse(exported.isEmpty());
+        assertTrue(exported.stream().allMatch(product -> product.getCategoryId() == 2L));
+        assertEquals(exported.stream().map(ProductEntity::getId).sorted().toList(),
+                exported.stream().map(ProductEntity::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Export products gzip-compressed - Success")
+    void testExportProductsGzip() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/catalog/products/export"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build();
+
+        HttpResponse<InputStream> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        List<ProductEntity> exported = readNdjson(new GZIPInputStream(response.body()));
+        assertTrue(exported.size() >= 39);
+    }
+
+    private List<ProductEntity> readNdjson(InputStream inputStream) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            List<ProductEntity> products = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                products.add(objectMapper.readValue(line, ProductEntity.class));
+            }
+            return products;
+        }
+    }
+
     @Test
     @DisplayName("Add NewProduct - Success")
 
@@ -89,6 +228,47 @@ class CatalogFunctionalTest {
                 .jsonPath("$.minStock").isEqualTo(10)
                 .jsonPath("$.errorCode").doesNotExist();
     }
+    @Test
+    @DisplayName("Update stock of several products - Success")
+    void testUpdateProductsStock() {
+        List<StockUpdateDTO> stockUpdates = List.of(
+                new StockUpdateDTO(11L, -2),
+                new StockUpdateDTO(10L, -3),
+                new StockUpdateDTO(11L, 1));
+
+        webTestClient.post().uri("/products/stock/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(stockUpdates)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].productId").isEqualTo(10)
+                .jsonPath("$[0].currentStock").isEqualTo(80)
+                .jsonPath("$[1].productId").isEqualTo(11)
+                .jsonPath("$[1].currentStock").isEqualTo(68);
+    }
+
+    @Test
+    @DisplayName("Update stock of several products - Insufficient stock rolls back every line")
+    void testUpdateProductsStockInsufficientStock() {
+        List<StockUpdateDTO> stockUpdates = List.of(
+                new StockUpdateDTO(12L, -5),
+                new StockUpdateDTO(13L, -1000));
+
+        webTestClient.post().uri("/products/stock/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(stockUpdates)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri("/products/{id}", 12L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.currentStock").isEqualTo(150);
+    }
+
     @Test
     @DisplayName("Get Product by ID - Success")
     void testGetProductDetails() {
@@ -517,5 +697,332 @@ class CatalogFunctionalTest {
                 .jsonPath("$.status").isEqualTo("NOT_FOUND");
     }
 
-}
+    @Test
+    @DisplayName("Prometheus endpoint - Exposes controller, repository, pool and 404 metrics")
+    void testPrometheusEndpoint() throws IOException, InterruptedException {
+        webTestClient.get().uri("/products/{id}", 9999L)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/catalog/actuator/prometheus")).build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        String scrape = response.body();
+
+        assertEquals(200, response.statusCode());
+        assertTrue(scrape.contains("catalog_controller_seconds_count{class=\"com.gftworkshopcatalog.controllers.ProductController\""));
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_count{"));
+        assertTrue(scrape.contains("repository=\"ProductRepository\""));
+        assertTrue(scrape.contains("hikaricp_connections_active{"));
+        assertTrue(scrape.contains("catalog_not_found_total{resource=\"product\""));
+        assertTrue(scrape.contains("catalog_stock_update_conflicts_total{"));
+    }
+
+    @Test
+    @DisplayName("Search products - Ranked matches follow product updates")
+    void testSearchProducts() {
+        webTestClient.get().uri("/products/search?q=chocolates box&categoryId=4")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(2)
+                .jsonPath("$.hits[0].product.name").isEqualTo("Chocolate Box")
+                .jsonPath("$.hits[1].product.name").isEqualTo("Box of Cereal")
+                .jsonPath("$.hits[0].score").isNumber();
+
+        long productId = 26L;
+        ProductEntity product = webTestClient.get().uri("/products/{id}", productId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductEntity.class)
+                .returnResult().getResponseBody();
+        assertNotNull(product);
+        product.setName("Zanzibar Lantern");
+        webTestClient.put().uri("/products/{id}", productId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(product)
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/products/search?q=zanzibar")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(1)
+                .jsonPath("$.hits[0].product.id").isEqualTo(productId);
+        webTestClient.get().uri("/products/search?q=")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Suggest products - Name prefix within a category, most stocked first")
+    void testSuggestProducts() {
+        webTestClient.get().uri("/products/suggest?prefix=WALL&categoryId=6")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(15)
+                .jsonPath("$[0].name").isEqualTo("Wall Clock")
+                .jsonPath("$[1].id").isEqualTo(38);
+        webTestClient.get().uri("/products/suggest?prefix=wall&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(15);
+        webTestClient.get().uri("/products/suggest?prefix=")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Facets - Filters combine and counts ignore their own facet")
+    void testFacets() {
+        webTestClient.get().uri("/products/facets?categoryId=4&priceBand=10-25")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(3)
+                .jsonPath("$.productIds[0]").isEqualTo(24)
+                .jsonPath("$.productIds[1]").isEqualTo(30)
+                .jsonPath("$.productIds[2]").isEqualTo(36)
+                .jsonPath("$.priceBands['0-10']").isEqualTo(1)
+                .jsonPath("$.priceBands['25-50']").isEqualTo(1)
+                .jsonPath("$.weightBands['0-0.5']").isEqualTo(2)
+                .jsonPath("$.weightBands['0.5-1']").isEqualTo(1)
+                .jsonPath("$.stock.IN_STOCK").isEqualTo(3);
+        webTestClient.get().uri("/products/facets?priceBand=cheap")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Low stock - Watchlist and event stream follow stock changes")
+    void testLowStock() {
+        long productId = 40L;
+        Flux<ServerSentEvent<StockAlertDTO>> alerts = webTestClient.get().uri("/products/low-stock/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<StockAlertDTO>>() { })
+                .getResponseBody();
+
+        webTestClient.patch().uri("/products/newStock/{id}/{quantity}?quantity=-65", productId, -65)
+                .exchange()
+                .expectStatus().isOk();
+
+        ServerSentEvent<StockAlertDTO> alert = alerts.filter(event -> event.data() != null).blockFirst(Duration.ofSeconds(10));
+        assertNotNull(alert);
+        assertEquals("stock-level-changed", alert.event());
+        assertEquals(productId, alert.data().getProductId());
+        assertEquals(StockLevel.IN_STOCK, alert.data().getPreviousLevel());
+        assertEquals(StockLevel.LOW_STOCK, alert.data().getLevel());
+        webTestClient.get().uri("/products/low-stock?size=500")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.products[?(@.id == 40)].deficit").isEqualTo(5)
+                .jsonPath("$.products[?(@.id == 40)].level").isEqualTo("LOW_STOCK");
+
+        webTestClient.patch().uri("/products/newStock/{id}/{quantity}?quantity=65", productId, 65)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/products/low-stock?size=500")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.products[?(@.id == 40)]").isEmpty();
+        webTestClient.get().uri("/products/low-stock?page=-1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Change stream - Changes are numbered and replayed after Last-Event-ID")
+    void testChangeStream() {
+        long productId = 39L;
+        Flux<ServerSentEvent<CatalogChangeDTO>> changes = webTestClient.get().uri("/products/changes/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<CatalogChangeDTO>>() { })
+                .getResponseBody();
+
+        webTestClient.patch().uri("/products/newStock/{id}/{quantity}?quantity=5", productId, 5)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.patch().uri("/products/newStock/{id}/{quantity}?quantity=-5", productId, -5)
+                .exchange()
+                .expectStatus().isOk();
+
+        List<ServerSentEvent<CatalogChangeDTO>> received = changes
+                .filter(event -> event.data() != null && Long.valueOf(productId).equals(event.data().getProductId()))
+                .take(2)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+        assertNotNull(received);
+        ServerSentEvent<CatalogChangeDTO> first = received.get(0);
+        assertEquals("stock-changed", first.event());
+        assertEquals(String.valueOf(first.data().getSequence()), first.id());
+        assertEquals(productId, first.data().getProduct().getId());
+        assertTrue(received.get(1).data().getSequence() > first.data().getSequence());
+
+        ServerSentEvent<CatalogChangeDTO> replayed = webTestClient.get().uri("/products/changes/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", first.id())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<CatalogChangeDTO>>() { })
+                .getResponseBody()
+                .filter(event -> event.data() != null && Long.valueOf(productId).equals(event.data().getProductId()))
+                .blockFirst(Duration.ofSeconds(10));
+        assertNotNull(replayed);
+        assertEquals(received.get(1).id(), replayed.id());
+        assertEquals("stock-changed", replayed.event());
+
+        webTestClient.get().uri("/products/changes/stream")
+                .header("Last-Event-ID", "not-a-number")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Outbox - Committed writes are recorded and dispatched to the sink")
+    void testOutbox() throws IOException {
+        long productId = 39L;
+        Path sinkFile = Path.of("target/outbox/catalog-functional-test.ndjson");
+        Files.deleteIfExists(sinkFile);
+        webTestClient.patch().uri("/products/newStock/{id}/{quantity}?quantity=3", productId, 3)
+                .exchange()
+                .expectStatus().isOk();
+        long recorded = outboxRepository.count();
+        webTestClient.patch().uri("/products/newStock/{id}/{quantity}?quantity=-100000", productId, -100000)
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.patch().uri("/products/newStock/{id}/{quantity}?quantity=-3", productId, -3)
+                .exchange()
+                .expectStatus().isOk();
+
+        List<OutboxEventEntity> events = outboxRepository.findByOrderByIdAsc(Limit.unlimited()).stream()
+                .filter(event -> event.getAggregateType() == OutboxEventEntity.AggregateType.PRODUCT
+                        && event.getAggregateId() == productId)
+                .toList();
+        assertEquals(recorded + 1, outboxRepository.count());
+        OutboxEventEntity last = events.get(events.size() - 1);
+        assertEquals("stock-changed", last.getEventType());
+        assertEquals(productId, objectMapper.readTree(last.getPayload()).get("id").asLong());
+
+        while (outboxDispatcher.dispatchBatch() > 0) {
+            // Drain everything the other tests left behind as well.
+        }
+        assertEquals(0, outboxRepository.count());
+        assertEquals(0, outboxDispatcher.getLagMillis());
+        List<String> delivered = Files.readAllLines(sinkFile);
+        assertTrue(delivered.stream().anyMatch(line -> line.contains("\"id\":" + last.getId() + ",")));
+    }
+
+    @Test
+    @DisplayName("Conditional updates - If-Match must name the current version")
+    void testConditionalUpdates() {
+        long productId = 25L;
+        String eTag = webTestClient.get().uri("/products/{id}", productId)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(ProductEntity.class).getResponseHeaders().getETag();
+        assertNotNull(eTag);
+
+        String newETag = webTestClient.patch().uri("/products/newPrice/{id}/{newPrice}?newPrice=12.5", productId, 12.5)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(ProductEntity.class).getResponseHeaders().getETag();
+        assertNotNull(newETag);
+        assertNotEquals(eTag, newETag);
+
+        webTestClient.patch().uri("/products/newStock/{id}/{quantity}?quantity=1", productId, 1)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("PRECONDITION_FAILED");
+        webTestClient.patch().uri("/products/newStock/{id}/{quantity}?quantity=1", productId, 1)
+                .header(HttpHeaders.IF_MATCH, newETag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, value -> assertNotEquals(newETag, value));
+    }
+
+    @Test
+    @DisplayName("SQL statements - Product reads issue a single statement")
+    void testStatementCount_productReads() {
+        assertEquals(1, statementsFor(() -> webTestClient.get().uri("/products/{id}", 1L)
+                .exchange().expectStatus().isOk()));
+        assertEquals(1, statementsFor(() -> webTestClient.post().uri("/products/byIds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(1L, 2L, 4L))
+                .exchange().expectStatus().isOk()));
+    }
+
+    @Test
+    @DisplayName("SQL statements - Listings are served from the catalog snapshot")
+    void testStatementCount_snapshotReads() {
+        catalogSnapshotStore.current();
+
+        assertEquals(0, statementsFor(() -> webTestClient.get().uri("/products?size=5")
+                .exchange().expectStatus().isOk()));
+        assertEquals(0, statementsFor(() -> webTestClient.get().uri("/products?sort=price&minPrice=10&inStock=true")
+                .exchange().expectStatus().isOk()));
+        assertEquals(0, statementsFor(() -> webTestClient.get().uri("/categories/{categoryId}/products", 2L)
+                .exchange().expectStatus().isOk()));
+        assertEquals(0, statementsFor(() -> webTestClient.get().uri("/categories")
+                .exchange().expectStatus().isOk()));
+        assertEquals(0, statementsFor(() -> webTestClient.get().uri("/promotions")
+                .exchange().expectStatus().isOk()));
+    }
+
+    @Test
+    @DisplayName("SQL statements - Cart pricing is one statement whatever the cart size")
+    void testStatementCount_cartPricing() {
+        List<CartProductDTO> cart = new ArrayList<>();
+        for (long productId = 4; productId <= 33; productId++) {
+            cart.add(CartProductDTO.builder().productId(productId).quantity(5).build());
+        }
+
+        assertEquals(1, statementsFor(() -> webTestClient.post().uri("/products/volumePromotion")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(cart)
+                .exchange().expectStatus().isOk()));
+    }
 
+    @Test
+    @DisplayName("SQL statements - Stock change is one update, one read and its outbox row")
+    void testStatementCount_stockUpdate() {
+        assertEquals(3, statementsFor(() -> webTestClient.patch().uri("/products/newStock/{id}/{quantity}?quantity=1", 20L, 1)
+                .exchange().expectStatus().isOk()));
+        assertEquals(3, statementsFor(() -> webTestClient.patch().uri("/products/newStock/{id}/{quantity}?quantity=-1", 20L, -1)
+                .exchange().expectStatus().isOk()));
+    }
+
+    @Test
+    @DisplayName("SQL statements - Category deletion checks references without loading them")
+    void testStatementCount_categoryDeletionCheck() {
+        assertEquals(2, statementsFor(() -> webTestClient.delete().uri("/categories/{categoryId}", 1L)
+                .exchange().expectStatus().is5xxServerError()));
+    }
+
+    @Test
+    @DisplayName("SQL statements - Promotion read issues a single statement")
+    void testStatementCount_promotionRead() {
+        assertEquals(1, statementsFor(() -> webTestClient.get().uri("/promotions/{id}", 1L)
+                .exchange().expectStatus().isOk()));
+    }
+
+    private long statementsFor(Runnable call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        productCache.invalidateAll();
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,128 @@
+package com.gftworkshopcatalog;
+
+import com.gftworkshopcatalog.api.dto.PriceAdjustmentDTO;
+import com.gftworkshopcatalog.api.dto.PriceAdjustmentResultDTO;
+import com.gftworkshopcatalog.cache.ProductCache;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:categoryPriceAdjustment",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "catalog.promotions.scheduler.enabled=false",
+        "catalog.outbox.dispatcher.enabled=false"
+})
+@AutoConfigureWebTestClient
+class CategoryPriceAdjustmentTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Adjust prices - Percentage rounded to the nearest cent in one update plus its outbox row and snapshot reload")
+    void adjustPrices_percentage() {
+        Map<Long, Double> before = prices(4L);
+        Long cachedId = before.keySet().iterator().next();
+        productCache.get(cachedId);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PriceAdjustmentResultDTO result = adjust(4L, PriceAdjustmentDTO.builder()
+                .type(PriceAdjustmentDTO.Type.PERCENTAGE)
+                .amount(new BigDecimal("10"))
+                .build());
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(before.size(), result.getUpdatedProducts());
+        Map<Long, Double> after = prices(4L);
+        before.forEach((id, price) -> assertEquals(BigDecimal.valueOf(price).multiply(new BigDecimal("1.1"))
+                .setScale(2, RoundingMode.HALF_UP).doubleValue(), after.get(id)));
+        assertEquals(after.get(cachedId), productCache.get(cachedId).getPrice());
+    }
+
+    @Test
+    @DisplayName("Adjust prices - Absolute change rounded up to whole units")
+    void adjustPrices_absoluteRoundedUp() {
+        Map<Long, Double> before = prices(5L);
+
+        adjust(5L, PriceAdjustmentDTO.builder()
+                .type(PriceAdjustmentDTO.Type.ABSOLUTE)
+                .amount(new BigDecimal("-5"))
+                .rounding(PriceAdjustmentDTO.Rounding.UP)
+                .scale(0)
+                .build());
+
+        Map<Long, Double> after = prices(5L);
+        before.forEach((id, price) -> assertEquals(Math.max(0, Math.ceil(BigDecimal.valueOf(price)
+                .subtract(BigDecimal.valueOf(5)).doubleValue())), after.get(id)));
+    }
+
+    @Test
+    @DisplayName("Adjust prices - Prices never go below zero")
+    void adjustPrices_clampedAtZero() {
+        adjust(6L, PriceAdjustmentDTO.builder()
+                .type(PriceAdjustmentDTO.Type.ABSOLUTE)
+                .amount(new BigDecimal("-100000"))
+                .rounding(PriceAdjustmentDTO.Rounding.DOWN)
+                .build());
+
+        assertTrue(prices(6L).values().stream().allMatch(price -> price == 0.0));
+    }
+
+    @Test
+    @DisplayName("Adjust prices - Unknown category and invalid adjustments are rejected")
+    void adjustPrices_rejected() {
+        webTestClient.post().uri("/categories/{id}/prices/adjust", 999L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(PriceAdjustmentDTO.builder().type(PriceAdjustmentDTO.Type.PERCENTAGE).amount(BigDecimal.ONE).build())
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.post().uri("/categories/{id}/prices/adjust", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(PriceAdjustmentDTO.builder().type(PriceAdjustmentDTO.Type.PERCENTAGE).amount(new BigDecimal("-150")).build())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private PriceAdjustmentResultDTO adjust(long categoryId, PriceAdjustmentDTO adjustment) {
+        return webTestClient.post().uri("/categories/{id}/prices/adjust", categoryId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(adjustment)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PriceAdjustmentResultDTO.class)
+                .returnResult().getResponseBody();
+    }
+
+    private Map<Long, Double> prices(long categoryId) {
+        List<ProductEntity> products = productRepository.findByCategoryId(categoryId);
+        return products.stream().collect(Collectors.toMap(ProductEntity::getId, ProductEntity::getPrice));
+    }
+}
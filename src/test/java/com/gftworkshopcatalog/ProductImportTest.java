@@ -0,0 +1,178 @@
+package com.gftworkshopcatalog;
+
+import com.gftworkshopcatalog.api.dto.ProductImportErrorDTO;
+import com.gftworkshopcatalog.api.dto.ProductImportResultDTO;
+import com.gftworkshopcatalog.exceptions.BadRequest;
+import com.gftworkshopcatalog.indexes.ProductSearchIndex;
+import com.gftworkshopcatalog.model.OutboxEventEntity;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.OutboxRepository;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.gftworkshopcatalog.services.OutboxService;
+import com.gftworkshopcatalog.services.ProductImportFormat;
+import com.gftworkshopcatalog.services.ProductImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:productImport",
+        "catalog.import.batch-size=3",
+        "catalog.promotions.scheduler.enabled=false",
+        "catalog.outbox.dispatcher.enabled=false"
+})
+class ProductImportTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Test
+    @DisplayName("Import JSON - Inserts new rows, updates rows with an ID and reports the rest")
+    void importJson_mixedRows() throws IOException {
+        long before = productRepository.count();
+        String json = """
+                [
+                  {"name": "Imported Lamp", "price": 12.5, "categoryId": 6, "weight": 1.2, "currentStock": 10, "minStock": 2},
+                  {"id": 2, "name": "Renamed Blocks", "description": "Updated", "price": 9.99, "categoryId": 2, "weight": 1.41, "currentStock": 30, "minStock": 5},
+                  {"name": "Negative", "price": -1, "categoryId": 1, "weight": 1, "currentStock": 1, "minStock": 1},
+                  {"name": "Orphan", "price": 1, "categoryId": 999, "weight": 1, "currentStock": 1, "minStock": 1},
+                  {"id": 99999, "name": "Ghost", "price": 1, "categoryId": 1, "weight": 1, "currentStock": 1, "minStock": 1},
+                  {"name": "Bad price", "price": "cheap", "categoryId": 1, "weight": 1, "currentStock": 1, "minStock": 1},
+                  42,
+                  {"name": "Imported Mug", "price": 4, "categoryId": 6, "weight": 0.3, "currentStock": 50, "minStock": 5}
+                ]
+                """;
+
+        ProductImportResultDTO result = productImportService.importProducts(stream(json), ProductImportFormat.JSON);
+
+        assertEquals(2, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        assertEquals(5, result.getFailed());
+        assertEquals(List.of(3, 4, 5, 6, 7), result.getErrors().stream().map(ProductImportErrorDTO::getRow).toList());
+        assertEquals("Category not found with ID: 999", result.getErrors().get(1).getMessage());
+        assertEquals("Product not found with ID: 99999", result.getErrors().get(2).getMessage());
+        assertEquals(before + 2, productRepository.count());
+        ProductEntity updated = productRepository.findById(2L).orElseThrow();
+        assertEquals("Renamed Blocks", updated.getName());
+        assertEquals(1L, updated.getVersion());
+        assertEquals(List.of(0L, 0L), productRepository.findAll().stream()
+                .filter(product -> product.getName().startsWith("Imported "))
+                .map(ProductEntity::getVersion)
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Import JSON - Rows the database rejects do not fail the rest of their chunk")
+    void importJson_databaseRejectsRow() throws IOException {
+        String json = """
+                [
+                  {"name": "Chunk A", "price": 1, "categoryId": 1, "weight": 1, "currentStock": 1, "minStock": 1},
+                  {"name": "%s", "price": 1, "categoryId": 1, "weight": 1, "currentStock": 1, "minStock": 1},
+                  {"name": "Chunk C", "price": 1, "categoryId": 1, "weight": 1, "currentStock": 1, "minStock": 1}
+                ]
+                """.formatted("x".repeat(300));
+
+        ProductImportResultDTO result = productImportService.importProducts(stream(json), ProductImportFormat.JSON);
+
+        assertEquals(2, result.getInserted());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Could not be stored"));
+    }
+
+    @Test
+    @DisplayName("Import JSON - Truncated body keeps the rows read so far")
+    void importJson_malformed() throws IOException {
+        String json = """
+                [{"name": "Before the break", "price": 1, "categoryId": 1, "weight": 1, "currentStock": 1, "minStock": 1},
+                 {"name": "Broken",
+                """;
+
+        ProductImportResultDTO result = productImportService.importProducts(stream(json), ProductImportFormat.JSON);
+
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getFailed());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    @DisplayName("Import CSV - Columns are matched by header and quoted fields may contain commas")
+    void importCsv() throws IOException {
+        String csv = """
+                name,price,categoryId,weight,currentStock,minStock,description
+                "Lamp, brass",19.9,6,2.5,5,1,"Warm ""vintage"" light"
+                Kite,abc,2,0.5,5,1,
+                
+                Yo-yo,3.5,2,0.1,100,10,
+                """;
+
+        ProductImportResultDTO result = productImportService.importProducts(stream(csv), ProductImportFormat.CSV);
+
+        assertEquals(2, result.getInserted());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertEquals(1, productRepository.findAll().stream()
+                .filter(product -> "Lamp, brass".equals(product.getName())
+                        && "Warm \"vintage\" light".equals(product.getDescription()))
+                .count());
+    }
+
+    @Test
+    @DisplayName("Import JSON - Every stored row gets an outbox event and reaches the search index without a rebuild")
+    void importJson_recordsAndPublishesRows() throws IOException {
+        long rebuildsBefore = productSearchIndex.getRebuildCount();
+        String json = """
+                [
+                  {"name": "Outboxed Kettle", "price": 30, "categoryId": 6, "weight": 1.5, "currentStock": 8, "minStock": 2},
+                  {"id": 3, "name": "Outboxed Puzzle", "price": 12, "categoryId": 2, "weight": 0.4, "currentStock": 20, "minStock": 5},
+                  {"name": "Outboxed Tray", "price": 9, "categoryId": 6, "weight": 0.8, "currentStock": 15, "minStock": 3},
+                  {"name": "Outboxed Spoon", "price": 2, "categoryId": 6, "weight": 0.1, "currentStock": 90, "minStock": 10}
+                ]
+                """;
+
+        productImportService.importProducts(stream(json), ProductImportFormat.JSON);
+
+        List<ProductEntity> imported = productRepository.findAll().stream()
+                .filter(product -> product.getName().startsWith("Outboxed "))
+                .toList();
+        List<OutboxEventEntity> events = outboxRepository.findByOrderByIdAsc(Limit.unlimited()).stream()
+                .filter(event -> event.getPayload().contains("Outboxed "))
+                .toList();
+        assertEquals(4, imported.size());
+        assertEquals(imported.stream().map(ProductEntity::getId).sorted().toList(),
+                events.stream().map(OutboxEventEntity::getAggregateId).sorted().toList());
+        assertEquals(List.of(OutboxService.CREATED, OutboxService.UPDATED, OutboxService.CREATED, OutboxService.CREATED),
+                events.stream().map(OutboxEventEntity::getEventType).toList());
+        assertEquals(4, productSearchIndex.search("outboxed", null, 0, 10).total());
+        assertEquals(rebuildsBefore, productSearchIndex.getRebuildCount());
+    }
+
+    @Test
+    @DisplayName("Import - Bodies that cannot be read as products are rejected up front")
+    void import_invalidBody() {
+        assertThrows(BadRequest.class, () -> productImportService.importProducts(stream("{\"name\": \"x\"}"), ProductImportFormat.JSON));
+        assertThrows(BadRequest.class, () -> productImportService.importProducts(stream("name,price\nx,1\n"), ProductImportFormat.CSV));
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,154 @@
+package com.gftworkshopcatalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gftworkshopcatalog.model.OutboxEventEntity;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.OutboxRepository;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.gftworkshopcatalog.services.OutboxService;
+import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Commits a second write to a product from another thread just before Hibernate sends a pending product update,
+ * so that the version check fails for real when the outbox flushes it. Outbox rows are kept, as the dispatcher
+ * is off, so their payloads can be checked against the rows they describe.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:productWriteConflict",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.gftworkshopcatalog.ProductWriteConflictTest$ConcurrentWriteInspector",
+        "catalog.outbox.dispatcher.enabled=false"
+})
+class ProductWriteConflictTest {
+
+    @Autowired
+    private ProductServiceImpl productServiceImpl;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ExecutorService otherWriter = Executors.newSingleThreadExecutor();
+    private ProductEntity product;
+
+    @BeforeEach
+    void setUp() {
+        product = productRepository.save(ProductEntity.builder()
+                .name("Lamp").description("Brass").price(20.0).categoryId(1L).weight(1.0).currentStock(10).minStock(1)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ConcurrentWriteInspector.BEFORE_PRODUCT_UPDATE.set(null);
+        otherWriter.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Outbox - A version conflict found while flushing is reported as an optimistic locking failure")
+    void record_concurrentWrite_translated() {
+        assertThrows(OptimisticLockingFailureException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            ProductEntity loaded = productRepository.findById(product.getId()).orElseThrow();
+            loaded.setName("Renamed");
+            ConcurrentWriteInspector.BEFORE_PRODUCT_UPDATE.set(this::commitConcurrentWrite);
+            outboxService.record(OutboxEventEntity.AggregateType.PRODUCT, loaded.getId(), OutboxService.UPDATED, loaded);
+        }));
+    }
+
+    @Test
+    @DisplayName("Update - A write committed by someone else mid-update is retried")
+    void updateProduct_concurrentWrite_retried() {
+        double retriedBefore = retried();
+        ConcurrentWriteInspector.BEFORE_PRODUCT_UPDATE.set(this::commitConcurrentWrite);
+
+        ProductEntity updated = productServiceImpl.updateProduct(product.getId(),
+                product.toBuilder().name("Renamed").build());
+
+        assertEquals("Renamed", productRepository.findById(product.getId()).orElseThrow().getName());
+        assertEquals(2L, updated.getVersion());
+        assertEquals(retriedBefore + 1, retried());
+    }
+
+    @Test
+    @DisplayName("Outbox - Payloads carry the version the write produced")
+    void record_payloadHasWrittenVersion() throws Exception {
+        productServiceImpl.updateProduct(product.getId(), product.toBuilder().name("Renamed").build());
+        productServiceImpl.updateProductPrice(product.getId(), 25.0);
+
+        List<OutboxEventEntity> events = outboxRepository.findByOrderByIdAsc(Limit.unlimited()).stream()
+                .filter(event -> product.getId().equals(event.getAggregateId()))
+                .toList();
+        assertEquals(List.of(OutboxService.UPDATED, OutboxService.PRICE_CHANGED),
+                events.stream().map(OutboxEventEntity::getEventType).toList());
+        assertEquals(1L, objectMapper.readTree(events.get(0).getPayload()).get("version").asLong());
+        assertEquals(2L, objectMapper.readTree(events.get(1).getPayload()).get("version").asLong());
+        assertEquals(2L, productRepository.findById(product.getId()).orElseThrow().getVersion());
+    }
+
+    private void commitConcurrentWrite() {
+        try {
+            otherWriter.submit(() -> jdbcTemplate.update(
+                    "UPDATE products SET version = version + 1 WHERE product_id = ?", product.getId())).get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double retried() {
+        Counter counter = meterRegistry.find("catalog.product.write.conflicts")
+                .tags("operation", "update", "outcome", "retried").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    public static class ConcurrentWriteInspector implements StatementInspector {
+
+        static final AtomicReference<Runnable> BEFORE_PRODUCT_UPDATE = new AtomicReference<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.startsWith("update products")) {
+                Runnable write = BEFORE_PRODUCT_UPDATE.getAndSet(null);
+                if (write != null) {
+                    write.run();
+                }
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.gftworkshopcatalog;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Migrates a database shaped like the one production was created with by Hibernate, before products had a
+ * version, the way application-production.yml configures Flyway: baselined at V1, so only the later migrations
+ * and the production corrections run.
+ */
+class ProductionBaselineMigrationTest {
+
+    @Test
+    @DisplayName("Migrations - A database baselined at V1 gets the products version column")
+    void baselinedDatabase_getsVersionColumn() {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:productionBaseline;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE categories (category_id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE products (product_id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                + "description VARCHAR(255), price DECIMAL(10, 2) NOT NULL, category_id BIGINT NOT NULL, "
+                + "weight DECIMAL(5, 2) NOT NULL, current_stock INT NOT NULL, min_stock INT NOT NULL, "
+                + "FOREIGN KEY (category_id) REFERENCES categories(category_id))");
+        jdbcTemplate.execute("CREATE TABLE promotions (promotion_id BIGINT AUTO_INCREMENT PRIMARY KEY, category_id BIGINT NOT NULL, "
+                + "discount DECIMAL(4, 2) NOT NULL, promotion_type VARCHAR(50) NOT NULL, volume_threshold INT NOT NULL, "
+                + "start_date DATE NOT NULL, end_date DATE NOT NULL, is_active BOOLEAN NOT NULL, "
+                + "FOREIGN KEY (category_id) REFERENCES categories(category_id))");
+        jdbcTemplate.update("INSERT INTO categories (name) VALUES ('Seasonal'), ('Plain')");
+        jdbcTemplate.update("INSERT INTO promotions (category_id, discount, promotion_type, volume_threshold, start_date, end_date, is_active) "
+                + "VALUES (1, 0.20, 'SEASONAL', 1, CURRENT_DATE - 1, CURRENT_DATE + 1, true)");
+        jdbcTemplate.update("INSERT INTO products (name, price, category_id, weight, current_stock, min_stock) "
+                + "VALUES ('Discounted at boot', 80.00, 1, 1, 10, 1), ('Untouched', 80.00, 2, 1, 10, 1)");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .locations("classpath:db/migration", "classpath:db/correction")
+                .load()
+                .migrate();
+
+        assertEquals(List.of("1", "2", "3", "4", "5", "6"), jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"success\" AND \"version\" IS NOT NULL ORDER BY \"installed_rank\"", String.class));
+        assertEquals(List.of(1L, 0L), jdbcTemplate.queryForList("SELECT version FROM products ORDER BY product_id", Long.class));
+        assertEquals(List.of(100.0, 80.0), jdbcTemplate.queryForList("SELECT price FROM products ORDER BY product_id", Double.class));
+    }
+}
@@ -0,0 +1,210 @@
+package com.gftworkshopcatalog;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.gftworkshopcatalog.repositories.PromotionRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs repository queries, captures the SQL Hibernate sends and checks H2's plan for it, so that a change to
+ * either the queries or the migrations cannot silently turn an indexed lookup into a table scan. The catalog
+ * generator provides enough rows for the optimizer's statistics to tell the indexes apart.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:repositoryQueryPlan",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.gftworkshopcatalog.RepositoryQueryPlanTest$RecordingStatementInspector",
+        "catalog.generator.products=2000",
+        "catalog.generator.categories=12",
+        "catalog.generator.promotions-per-category=4",
+        "catalog.promotions.scheduler.enabled=false",
+        "catalog.outbox.dispatcher.enabled=false"
+})
+@ActiveProfiles({"development", "generate-catalog"})
+class RepositoryQueryPlanTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("ANALYZE");
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("Migrations - Every versioned migration is applied in order")
+    void migrations_applied() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"success\" AND \"version\" IS NOT NULL " +
+                        "ORDER BY \"installed_rank\"", String.class);
+
+        assertEquals(List.of("1", "1.1", "2", "3", "4"), versions);
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("Migrations - Production correction takes the seasonal discount stored at boot back out")
+    void revertSeasonalDiscounts_restoresBasePrices() {
+        jdbcTemplate.update("INSERT INTO categories (name) VALUES ('Running seasonal'), ('Ended seasonal')");
+        long running = jdbcTemplate.queryForObject("SELECT category_id FROM categories WHERE name = 'Running seasonal'", Long.class);
+        long ended = jdbcTemplate.queryForObject("SELECT category_id FROM categories WHERE name = 'Ended seasonal'", Long.class);
+        jdbcTemplate.update("INSERT INTO promotions (category_id, discount, promotion_type, volume_threshold, start_date, end_date, is_active) "
+                + "VALUES (?, 0.20, 'SEASONAL', 1, CURRENT_DATE - 1, CURRENT_DATE + 1, true), "
+                + "(?, 0.50, 'VOLUME', 5, CURRENT_DATE - 1, CURRENT_DATE + 1, true), "
+                + "(?, 0.20, 'SEASONAL', 1, CURRENT_DATE - 10, CURRENT_DATE - 1, false)", running, running, ended);
+        jdbcTemplate.update("INSERT INTO products (name, price, category_id, weight, current_stock, min_stock) "
+                + "VALUES ('Discounted at boot', 80.00, ?, 1, 10, 1), ('Untouched', 80.00, ?, 1, 10, 1)", running, ended);
+
+        new ResourceDatabasePopulator(new ClassPathResource("db/correction/V6__revert_seasonal_discounts_stored_at_boot.sql"))
+                .execute(dataSource);
+
+        assertEquals(100.0, jdbcTemplate.queryForObject("SELECT price FROM products WHERE category_id = ?", Double.class, running));
+        assertEquals(80.0, jdbcTemplate.queryForObject("SELECT price FROM products WHERE category_id = ?", Double.class, ended));
+    }
+
+    @Test
+    @DisplayName("Plan - Products by category use an index")
+    void findByCategoryId_usesIndex() {
+        productRepository.findByCategoryId(4L);
+
+        assertUsesIndex(plan(4L), "CATEGORY_ID = CAST(4 AS BIGINT)");
+    }
+
+    @Test
+    @DisplayName("Plan - Name prefix within a category uses the category and name index")
+    void findByCategoryIdAndNameStartsWith_usesIndex() {
+        productRepository.findByCategoryIdAndNameStartsWith(4L, "Premium%");
+
+        assertUsesIndex(plan(4L, "Premium%"), "IDX_PRODUCTS_CATEGORY_NAME");
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("Plan - Category export streams through the category index in id order")
+    void streamByCategoryId_usesIndex() {
+        try (Stream<ProductEntity> products = productRepository.streamByCategoryId(4L)) {
+            assertTrue(products.count() > 0);
+        }
+
+        assertUsesIndex(plan(4L), "CATEGORY_ID = CAST(4 AS BIGINT)");
+    }
+
+    @Test
+    @DisplayName("Plan - Low stock watchlist is loaded with a single pass over products")
+    void findBelowMinimumStock_singleQuery() {
+        productRepository.findBelowMinimumStock();
+
+        // Comparing two columns of the same row cannot use an index; the watchlist only runs this on rebuild.
+        String plan = plan();
+        assertTrue(plan.contains("PUBLIC.PRODUCTS"), () -> "Unexpected plan:\n" + plan);
+        assertFalse(plan.contains("JOIN"), () -> "Unexpected join in plan:\n" + plan);
+    }
+
+    @Test
+    @DisplayName("Plan - Promotions of a category use an index")
+    void promotionsFindByCategoryId_usesIndex() {
+        promotionRepository.findByCategoryId(4L);
+
+        assertUsesIndex(plan(4L), "CATEGORY_ID = CAST(4 AS BIGINT)");
+    }
+
+    @Test
+    @DisplayName("Plan - Promotions of a category running on a date use the category and dates index")
+    void promotionsRunningOnDate_useCategoryDatesIndex() {
+        assertUsesIndex(explain("SELECT promotion_id FROM promotions WHERE category_id = 4 "
+                + "AND start_date <= CURRENT_DATE AND end_date >= CURRENT_DATE"), "IDX_PROMOTIONS_CATEGORY_DATES");
+    }
+
+    @Test
+    @DisplayName("Plan - Products of a category in a price range use the category and price index")
+    void productsInPriceRange_useCategoryPriceIndex() {
+        assertUsesIndex(explain("SELECT product_id FROM products WHERE category_id = 4 AND price > 10 "
+                + "ORDER BY price, product_id FETCH FIRST 20 ROWS ONLY"), "IDX_PRODUCTS_CATEGORY_PRICE");
+    }
+
+    @Test
+    @DisplayName("Plan - Promotions of a category are found through an index")
+    void promotionsExistsByCategoryId_usesIndex() {
+        promotionRepository.existsByCategoryId(4L);
+
+        assertUsesIndex(plan(4L, 1), "CATEGORY_ID = CAST(4 AS BIGINT)");
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("Plan - Scheduled is_active flips look promotions up by primary key")
+    void promotionsUpdateIsActive_usesPrimaryKey() {
+        promotionRepository.updateIsActive(List.of(1L, 2L), false);
+
+        assertUsesIndex(plan(false, 1L, 2L, false), "PROMOTION_ID IN(");
+    }
+
+    /**
+     * Plans the captured statement with its parameters inlined, as H2 only turns a {@code LIKE} prefix into an
+     * index range when the pattern is a literal.
+     */
+    private String plan(Object... parameters) {
+        List<String> statements = RecordingStatementInspector.STATEMENTS;
+        assertEquals(1, statements.size(), () -> "Expected a single statement but got " + statements);
+        StringBuilder sql = new StringBuilder("EXPLAIN ");
+        String[] parts = statements.get(0).split("\\?", -1);
+        assertEquals(parameters.length + 1, parts.length, "Parameter count");
+        for (int i = 0; i < parameters.length; i++) {
+            Object parameter = parameters[i];
+            sql.append(parts[i]).append(parameter instanceof String text ? "'" + text.replace("'", "''") + "'" : parameter);
+        }
+        sql.append(parts[parameters.length]);
+        return jdbcTemplate.queryForObject(sql.toString(), String.class);
+    }
+
+    /**
+     * Plans a lookup the migrations index for that is answered from memory today, so that the index stays usable
+     * for the database-side queries that still need it.
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+
+    private static void assertUsesIndex(String plan, String expected) {
+        assertTrue(plan.contains(expected), () -> "Expected " + expected + " in plan:\n" + plan);
+        assertFalse(plan.contains("tableScan"), () -> "Unexpected table scan in plan:\n" + plan);
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.gftworkshopcatalog;
+
+import com.gftworkshopcatalog.exceptions.BadRequest;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:stockUpdateConcurrency")
+class StockUpdateConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ProductServiceImpl productServiceImpl;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    @DisplayName("Concurrent stock updates - No lost updates")
+    void updateProductStock_concurrentIncrementsAndDecrements() throws Exception {
+        ProductEntity product = productRepository.save(newProduct(1000));
+        int operationsPerThread = 200;
+
+        runConcurrently(operationsPerThread, (thread, i) ->
+                productServiceImpl.updateProductStock(product.getId(), thread % 2 == 0 ? 3 : -2));
+
+        int expectedStock = 1000 + (THREADS / 2) * operationsPerThread * 3 - (THREADS / 2) * operationsPerThread * 2;
+        assertEquals(expectedStock, productRepository.findById(product.getId()).orElseThrow().getCurrentStock());
+    }
+
+    @Test
+    @DisplayName("Concurrent stock decrements - Never below zero")
+    void updateProductStock_concurrentDecrementsStopAtZero() throws Exception {
+        ProductEntity product = productRepository.save(newProduct(500));
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(50, (thread, i) -> {
+            try {
+                productServiceImpl.updateProductStock(product.getId(), -1);
+                accepted.incrementAndGet();
+            } catch (BadRequest e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(500, accepted.get());
+        assertEquals(THREADS * 50 - 500, rejected.get());
+        assertEquals(0, productRepository.findById(product.getId()).orElseThrow().getCurrentStock());
+    }
+
+    private void runConcurrently(int operationsPerThread, StockOperation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        operation.apply(thread, i);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ProductEntity newProduct(int stock) {
+        return ProductEntity.builder()
+                .name("Concurrency Product")
+                .description("Stock hammered by concurrent checkouts")
+                .price(10.0)
+                .categoryId(6L)
+                .weight(1.0)
+                .currentStock(stock)
+                .minStock(0)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface StockOperation {
+        void apply(int thread, int iteration);
+    }
+}
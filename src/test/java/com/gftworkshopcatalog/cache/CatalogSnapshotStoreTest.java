@@ -0,0 +1,153 @@
+package com.gftworkshopcatalog.cache;
+
+import com.gftworkshopcatalog.events.CatalogChangedEvent;
+import com.gftworkshopcatalog.events.ProductChangedEvent;
+import com.gftworkshopcatalog.model.CategoryEntity;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.CategoryRepository;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.gftworkshopcatalog.repositories.ProductSortField;
+import com.gftworkshopcatalog.repositories.PromotionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogSnapshotStoreTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private PromotionRepository promotionRepository;
+
+    private CatalogSnapshotStore catalogSnapshotStore;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(3L, 1L, "Hat", 15.0),
+                product(1L, 1L, "Jacket", 65.0),
+                product(2L, 2L, "Puzzle", 15.0)));
+        when(categoryRepository.findAll()).thenReturn(List.of(category(2L), category(1L)));
+        when(promotionRepository.findAll()).thenReturn(List.of(PromotionEntity.builder().promotionId(1L).categoryId(1L).build()));
+        catalogSnapshotStore = new CatalogSnapshotStore(productRepository, categoryRepository, promotionRepository);
+        catalogSnapshotStore.init();
+    }
+
+    @Test
+    @DisplayName("Snapshot - Products, categories and promotions in listing order")
+    void current_listsInOrder() {
+        CatalogSnapshot snapshot = catalogSnapshotStore.current();
+
+        assertEquals(List.of(1L, 2L, 3L), ids(snapshot.products()));
+        assertEquals(List.of(1L, 3L), ids(snapshot.productsByCategory(1L)));
+        assertEquals(List.of(1L, 2L), snapshot.categories().stream().map(CategoryEntity::getCategoryId).toList());
+        assertEquals(1, snapshot.promotions().size());
+        assertEquals(List.of(2L, 3L, 1L), ids(snapshot.page(ProductSortField.PRICE, null, null, product -> true, 10)));
+        assertEquals(List.of(3L), ids(snapshot.page(ProductSortField.NAME, 1L, null, product -> true, 1)));
+        assertEquals(List.of(3L), ids(snapshot.page(ProductSortField.ID, 1L, product -> product.getId() > 1L, product -> true, 10)));
+    }
+
+    @Test
+    @DisplayName("Product events - Saves and deletions are patched in without reloading")
+    void onProductChanged_patchesSnapshot() {
+        CatalogSnapshot before = catalogSnapshotStore.current();
+        ProductEntity moved = product(3L, 2L, "Hat", 5.0);
+
+        catalogSnapshotStore.onProductChanged(ProductChangedEvent.saved(moved));
+        moved.setPrice(500.0);
+        catalogSnapshotStore.onProductChanged(ProductChangedEvent.saved(product(4L, 1L, "Coat", 80.0)));
+        catalogSnapshotStore.onProductChanged(ProductChangedEvent.deleted(product(1L, 1L, "Jacket", 65.0)));
+        CatalogSnapshot after = catalogSnapshotStore.current();
+
+        assertEquals(List.of(2L, 3L, 4L), ids(after.products()));
+        assertEquals(List.of(4L), ids(after.productsByCategory(1L)));
+        assertEquals(List.of(2L, 3L), ids(after.productsByCategory(2L)));
+        assertEquals(List.of(3L, 2L, 4L), ids(after.page(ProductSortField.PRICE, null, null, product -> true, 10)));
+        assertEquals(5.0, after.product(3L).orElseThrow().getPrice());
+        assertEquals(List.of(1L, 2L, 3L), ids(before.products()));
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Product events - Stale saves arriving late are dropped")
+    void onProductChanged_dropsStaleSaves() {
+        catalogSnapshotStore.onProductChanged(ProductChangedEvent.saved(versioned(product(3L, 1L, "Hat", 20.0), 2L)));
+        catalogSnapshotStore.onProductChanged(ProductChangedEvent.saved(versioned(product(3L, 1L, "Hat", 18.0), 1L)));
+        catalogSnapshotStore.onProductChanged(ProductChangedEvent.deleted(versioned(product(2L, 2L, "Puzzle", 15.0), 4L)));
+        catalogSnapshotStore.onProductChanged(ProductChangedEvent.saved(versioned(product(2L, 2L, "Puzzle", 12.0), 3L)));
+        CatalogSnapshot snapshot = catalogSnapshotStore.current();
+
+        assertEquals(20.0, snapshot.product(3L).orElseThrow().getPrice());
+        assertTrue(snapshot.product(2L).isEmpty());
+        assertEquals(List.of(1L, 3L), ids(snapshot.products()));
+    }
+
+    @Test
+    @DisplayName("Bulk and table events - Reloaded when published, so reads never query")
+    void bulkAndTableEvents_reloadedOnWrite() {
+        when(productRepository.findByCategoryId(1L)).thenReturn(List.of(product(1L, 1L, "Jacket", 70.0), product(3L, 1L, "Hat", 16.5)));
+        when(categoryRepository.findAll()).thenReturn(List.of(category(1L), category(2L), category(3L)));
+
+        catalogSnapshotStore.onProductChanged(ProductChangedEvent.categoryRepriced(1L));
+        catalogSnapshotStore.onCatalogChanged(CatalogChangedEvent.categories());
+        verify(productRepository, times(1)).findByCategoryId(1L);
+        verify(categoryRepository, times(2)).findAll();
+
+        CatalogSnapshot snapshot = catalogSnapshotStore.current();
+        catalogSnapshotStore.current();
+
+        assertEquals(70.0, snapshot.product(1L).orElseThrow().getPrice());
+        assertEquals(List.of(2L, 3L, 1L), ids(snapshot.page(ProductSortField.PRICE, null, null, product -> true, 10)));
+        assertEquals(3, snapshot.categories().size());
+        verify(productRepository, times(1)).findByCategoryId(1L);
+        verify(categoryRepository, times(2)).findAll();
+        verify(promotionRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Reload event - Rebuilds everything from the database")
+    void reloaded_rebuilds() {
+        when(productRepository.findAll()).thenReturn(List.of(product(9L, 1L, "Lamp", 30.0)));
+
+        catalogSnapshotStore.onProductChanged(ProductChangedEvent.reloaded());
+
+        assertEquals(List.of(9L), ids(catalogSnapshotStore.current().products()));
+        assertTrue(catalogSnapshotStore.current().productsByCategory(2L).isEmpty());
+        assertEquals(2, catalogSnapshotStore.getRebuildCount());
+    }
+
+    private static List<Long> ids(List<ProductEntity> products) {
+        return products.stream().map(ProductEntity::getId).toList();
+    }
+
+    private static ProductEntity versioned(ProductEntity product, Long version) {
+        product.setVersion(version);
+        return product;
+    }
+
+    private static CategoryEntity category(Long categoryId) {
+        return CategoryEntity.builder().categoryId(categoryId).name("Category " + categoryId).build();
+    }
+
+    private static ProductEntity product(Long id, Long categoryId, String name, double price) {
+        return ProductEntity.builder()
+                .id(id)
+                .categoryId(categoryId)
+                .name(name)
+                .price(price)
+                .currentStock(10)
+                .minStock(1)
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.gftworkshopcatalog.cache;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProductCacheTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductCache productCache;
+    private ProductEntity product;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        productCache = new ProductCache(productRepository, 2, Duration.ofMinutes(10));
+        product = new ProductEntity(1L, "Jacket", "Warm", 100.0, 1L, 3.71, 26, 10);
+    }
+
+    @Test
+    @DisplayName("Get - Loads once then serves from memory")
+    void get_readThrough() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        assertEquals(product, productCache.get(1L));
+        assertEquals(product, productCache.get(1L));
+
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Get - Missing products are not cached")
+    void get_missingProduct() {
+        when(productRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertNull(productCache.get(9L));
+        assertNull(productCache.get(9L));
+
+        verify(productRepository, times(2)).findById(9L);
+    }
+
+    @Test
+    @DisplayName("Get all - Loads only the misses in one query")
+    void getAll_bulkLoadsMisses() {
+        ProductEntity other = new ProductEntity(2L, "Hat", "Red", 20.0, 1L, 0.5, 10, 1);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findAllById(any())).thenReturn(List.of(other));
+        productCache.get(1L);
+
+        Map<Long, ProductEntity> result = productCache.getAll(List.of(1L, 2L, 3L));
+
+        assertEquals(Map.of(1L, product, 2L, other), result);
+        verify(productRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Get - Changing a returned product leaves the cached one untouched")
+    void get_returnsCopies() {
+        ProductEntity other = new ProductEntity(2L, "Hat", "Red", 20.0, 1L, 0.5, 10, 1);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product.toBuilder().build()));
+        when(productRepository.findAllById(any())).thenReturn(List.of(other.toBuilder().build()));
+
+        productCache.get(1L).setPrice(1.0);
+        productCache.getAll(List.of(2L)).get(2L).setCurrentStock(0);
+
+        assertEquals(product, productCache.get(1L));
+        assertEquals(other, productCache.getAll(List.of(2L)).get(2L));
+        assertNotSame(productCache.get(1L), productCache.get(1L));
+    }
+
+    @Test
+    @DisplayName("Evict - Next read goes back to the repository")
+    void evict_forcesReload() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        productCache.get(1L);
+
+        productCache.evict(1L);
+        productCache.get(1L);
+
+        verify(productRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Get - Concurrent misses share a single load")
+    void get_stampedeProtection() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        when(productRepository.findById(1L)).thenAnswer(invocation -> {
+            loading.await(5, TimeUnit.SECONDS);
+            return Optional.of(product);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ProductEntity>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> productCache.get(1L)));
+            }
+            Thread.sleep(100);
+            loading.countDown();
+            for (Future<ProductEntity> future : futures) {
+                assertEquals(product, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Metrics - Exposes hits, misses and evictions")
+    void bindTo_registersMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        productCache.bindTo(registry);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        productCache.get(1L);
+        productCache.get(1L);
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "products").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "products").tag("result", "miss").functionCounter().count());
+        assertNotNull(registry.get("cache.evictions").tag("cache", "products").functionCounter());
+    }
+}
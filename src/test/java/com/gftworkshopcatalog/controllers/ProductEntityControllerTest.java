@@ -1,9 +1,17 @@
 package com.gftworkshopcatalog.controllers;
 
 import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.api.dto.ProductFilterDTO;
+import com.gftworkshopcatalog.api.dto.ProductImportResultDTO;
+import com.gftworkshopcatalog.api.dto.ProductPageDTO;
+import com.gftworkshopcatalog.api.dto.ProductStockDTO;
+import com.gftworkshopcatalog.api.dto.StockUpdateDTO;
 import com.gftworkshopcatalog.exceptions.*;
 import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.services.ProductImportFormat;
+import com.gftworkshopcatalog.services.ProductImportService;
 import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.hibernate.service.spi.ServiceException;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,10 +32,12 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,6 +45,8 @@ class ProductEntityControllerTest {
     private MockMvc mockMvc;
     @Mock
     private ProductServiceImpl productServiceImpl;
+    @Mock
+    private ProductImportService productImportService;
     @InjectMocks
     private ProductController productController;
     @BeforeEach
@@ -42,7 +54,7 @@ class ProductEntityControllerTest {
         MockitoAnnotations.openMocks(this);
         mockMvc = MockMvcBuilders
                 .standaloneSetup(productController)
-                .setControllerAdvice(new GlobalExceptionHandler()) // Assuming GlobalExceptionHandler handles exceptions
+                .setControllerAdvice(new GlobalExceptionHandler(new SimpleMeterRegistry())) // Assuming GlobalExceptionHandler handles exceptions
                 .build();
     }
     @Test
@@ -52,17 +64,31 @@ class ProductEntityControllerTest {
         ProductEntity productEntity2 = new ProductEntity(2L,"Building Blocks", "Agent word occur number chair.", 7.89, 2L, 1.41, 25, 5);
         List<ProductEntity> mockProductEntities = Arrays.asList(productEntity1, productEntity2);
         when(productServiceImpl.findAllProducts()).thenReturn(mockProductEntities);
-        ResponseEntity<?> responseEntity = productController.listAllProducts();
+        ResponseEntity<?> responseEntity = productController.listAllProducts(new ProductFilterDTO(), true);
 
         assertEquals(mockProductEntities, responseEntity.getBody());
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
     }
     @Test
+    @DisplayName("Find page of products - Success")
+    void test_listProductsPage(){
+        ProductEntity productEntity1 = new ProductEntity(1L, "Jacket","Something indicate large central measure watch provide.", 58.79, 1L, 3.71, 26, 10);
+        ProductFilterDTO filter = ProductFilterDTO.builder().categoryId(1L).size(1).build();
+        ProductPageDTO page = new ProductPageDTO(List.of(productEntity1), "next");
+        when(productServiceImpl.findProductsPage(filter)).thenReturn(page);
+
+        ResponseEntity<?> responseEntity = productController.listAllProducts(filter, false);
+
+        assertEquals(page, responseEntity.getBody());
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        verify(productServiceImpl, never()).findAllProducts();
+    }
+    @Test
     @DisplayName("Find all products - InternalServerError")
     void test_listAllProducts_InternalServerError() throws Exception{
         when(productServiceImpl.findAllProducts()).thenThrow(new DatabaseException("Database access failed"));
 
-        mockMvc.perform(get("/products"))
+        mockMvc.perform(get("/products").param("unpaged", "true"))
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.message").value("Database access failed"));
     }
@@ -165,9 +191,9 @@ class ProductEntityControllerTest {
         ProductEntity productToUpdate = new ProductEntity(productId, "Updated Product", "Updated Description", 55.55, 1L, 1.0, 100, 10);
         ProductEntity updatedProduct = new ProductEntity(productId, "Updated Product", "Updated Description", 55.55, 1L, 1.0, 100, 10);
 
-        when(productServiceImpl.updateProduct(productId, productToUpdate)).thenReturn(updatedProduct);
+        when(productServiceImpl.updateProduct(productId, productToUpdate, null)).thenReturn(updatedProduct);
 
-        ResponseEntity<ProductEntity> response = productController.updateProduct(productId, productToUpdate);
+        ResponseEntity<ProductEntity> response = productController.updateProduct(productId, productToUpdate, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -180,9 +206,9 @@ class ProductEntityControllerTest {
         Long productId = 1L;
         ProductEntity productToUpdate = new ProductEntity(productId, "Updated Product", "Updated Description", 55.55, 1L, 1.0, 100, 10);
 
-        when(productServiceImpl.updateProduct(productId, productToUpdate)).thenThrow(new NotFoundProduct("Product not found with ID: " + productId));
+        when(productServiceImpl.updateProduct(productId, productToUpdate, null)).thenThrow(new NotFoundProduct("Product not found with ID: " + productId));
 
-        NotFoundProduct exception = assertThrows(NotFoundProduct.class, () -> productController.updateProduct(productId, productToUpdate));
+        NotFoundProduct exception = assertThrows(NotFoundProduct.class, () -> productController.updateProduct(productId, productToUpdate, null));
 
         assertNotNull(exception);
         assertEquals("Product not found with ID: " + productId, exception.getMessage());
@@ -194,9 +220,9 @@ class ProductEntityControllerTest {
         Long productId = 1L;
         ProductEntity productToUpdate = new ProductEntity(productId, "Updated Product", "Updated Description", 55.55, 1L, 1.0, 100, 10);
 
-        when(productServiceImpl.updateProduct(productId, productToUpdate)).thenThrow(new DatabaseException("Database access failed"));
+        when(productServiceImpl.updateProduct(productId, productToUpdate, null)).thenThrow(new DatabaseException("Database access failed"));
 
-        DatabaseException exception = assertThrows(DatabaseException.class, () -> productController.updateProduct(productId, productToUpdate));
+        DatabaseException exception = assertThrows(DatabaseException.class, () -> productController.updateProduct(productId, productToUpdate, null));
 
         assertNotNull(exception);
         assertEquals("Database access failed", exception.getMessage());
@@ -245,9 +271,9 @@ class ProductEntityControllerTest {
         updatedProductEntity.setId(productId);
         updatedProductEntity.setPrice(newPrice);
 
-        when(productServiceImpl.updateProductPrice(productId, newPrice)).thenReturn(updatedProductEntity);
+        when(productServiceImpl.updateProductPrice(productId, newPrice, null)).thenReturn(updatedProductEntity);
 
-        ResponseEntity<?> response = productController.updateProductPrice(productId, newPrice);
+        ResponseEntity<?> response = productController.updateProductPrice(productId, newPrice, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertSame(updatedProductEntity, response.getBody());
@@ -257,10 +283,10 @@ class ProductEntityControllerTest {
     void testUpdateProductPrice_NotFound() {
         long productId = 1L;
         double newPrice = 299.99;
-        when(productServiceImpl.updateProductPrice(productId, newPrice)).thenThrow(new NotFoundProduct("Product not found with ID: " + productId));
+        when(productServiceImpl.updateProductPrice(productId, newPrice, null)).thenThrow(new NotFoundProduct("Product not found with ID: " + productId));
 
         NotFoundProduct exception = assertThrows(NotFoundProduct.class,
-                () -> productController.updateProductPrice(productId, newPrice),
+                () -> productController.updateProductPrice(productId, newPrice, null),
                 "Expected to throw, but it did not");
 
         assertNotNull(exception);
@@ -271,10 +297,10 @@ class ProductEntityControllerTest {
     void testUpdateProductPrice_InternalServerError() {
         long productId = 1L;
         double newPrice = 299.99;
-        when(productServiceImpl.updateProductPrice(productId, newPrice)).thenThrow(new DatabaseException("Database access failed"));
+        when(productServiceImpl.updateProductPrice(productId, newPrice, null)).thenThrow(new DatabaseException("Database access failed"));
 
         DatabaseException exception = assertThrows(DatabaseException.class,
-                () -> productController.updateProductPrice(productId, newPrice),
+                () -> productController.updateProductPrice(productId, newPrice, null),
                 "Expected to throw, but it did not");
 
         assertNotNull(exception);
@@ -289,9 +315,9 @@ class ProductEntityControllerTest {
         updatedProductEntity.setId(productId);
         updatedProductEntity.setCurrentStock(newStock);
 
-        when(productServiceImpl.updateProductStock(productId, newStock)).thenReturn(updatedProductEntity);
+        when(productServiceImpl.updateProductStock(productId, newStock, null)).thenReturn(updatedProductEntity);
 
-        ResponseEntity<?> response = productController.updateProductStock(productId, newStock);
+        ResponseEntity<?> response = productController.updateProductStock(productId, newStock, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertSame(updatedProductEntity, response.getBody());
@@ -301,10 +327,10 @@ class ProductEntityControllerTest {
     void testUpdateProductStock_NotFound() {
         long productId = 1L;
         int quantity = 10;
-        when(productServiceImpl.updateProductStock(productId, quantity)).thenThrow(new NotFoundProduct("Product not found with ID: " + productId));
+        when(productServiceImpl.updateProductStock(productId, quantity, null)).thenThrow(new NotFoundProduct("Product not found with ID: " + productId));
 
         Exception exception = assertThrows(NotFoundProduct.class,
-                () -> productController.updateProductStock(productId, quantity),
+                () -> productController.updateProductStock(productId, quantity, null),
                 "Expected to throw, but it did not");
 
         assertNotNull(exception);
@@ -315,10 +341,10 @@ class ProductEntityControllerTest {
     void testUpdateProductStock_InternalServerError() {
         long productId = 1L;
         int quantity = 10;
-        when(productServiceImpl.updateProductStock(productId, quantity)).thenThrow(new ServiceException("Database error occurred", new RuntimeException()));
+        when(productServiceImpl.updateProductStock(productId, quantity, null)).thenThrow(new ServiceException("Database error occurred", new RuntimeException()));
 
         ServiceException exception = assertThrows(ServiceException.class,
-                () -> productController.updateProductStock(productId, quantity),
+                () -> productController.updateProductStock(productId, quantity, null),
                 "Expected ServiceException to be thrown");
 
         assertNotNull(exception);
@@ -483,4 +509,43 @@ class ProductEntityControllerTest {
         assertEquals("Product not found", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("Update stock of several products - Success")
+    void testUpdateProductsStock_Success() {
+        List<StockUpdateDTO> stockUpdates = List.of(new StockUpdateDTO(1L, -2), new StockUpdateDTO(2L, 5));
+        List<ProductStockDTO> stockLevels = List.of(new ProductStockDTO(1L, 24), new ProductStockDTO(2L, 30));
+        when(productServiceImpl.updateProductsStock(stockUpdates)).thenReturn(stockLevels);
+
+        ResponseEntity<List<ProductStockDTO>> response = productController.updateProductsStock(stockUpdates);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(stockLevels, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Update stock of several products - Insufficient stock")
+    void testUpdateProductsStock_InsufficientStock() {
+        List<StockUpdateDTO> stockUpdates = List.of(new StockUpdateDTO(1L, -200));
+        when(productServiceImpl.updateProductsStock(stockUpdates)).thenThrow(new BadRequest("Insufficient stock to decrement by -200"));
+
+        BadRequest exception = assertThrows(BadRequest.class, () -> productController.updateProductsStock(stockUpdates));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    @DisplayName("Import products - Format follows the content type")
+    void testImportProducts_Csv() throws Exception {
+        ProductImportResultDTO result = new ProductImportResultDTO(1, 0, 0, List.of());
+        when(productImportService.importProducts(any(), eq(ProductImportFormat.CSV))).thenReturn(result);
+
+        mockMvc.perform(post("/products/import")
+                        .contentType("text/csv")
+                        .content("name,price,categoryId,weight,currentStock,minStock\nKite,5,2,0.5,5,1\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1));
+
+        verify(productImportService).importProducts(any(), eq(ProductImportFormat.CSV));
+    }
+
 }
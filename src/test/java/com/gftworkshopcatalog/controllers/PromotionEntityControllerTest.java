@@ -11,6 +11,7 @@ import com.gftworkshopcatalog.exceptions.InternalServiceException;
 import com.gftworkshopcatalog.exceptions.NotFoundPromotion;
 import com.gftworkshopcatalog.model.PromotionEntity;
 import com.gftworkshopcatalog.services.impl.PromotionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -57,7 +58,7 @@ class PromotionEntityControllerTest {
         mockMvc = MockMvcBuilders
                 .standaloneSetup(promotionController)
                 .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
-                .setControllerAdvice(new GlobalExceptionHandler())
+                .setControllerAdvice(new GlobalExceptionHandler(new SimpleMeterRegistry()))
                 .build();
     }
     @Test
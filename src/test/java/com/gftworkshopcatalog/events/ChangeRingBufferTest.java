@@ -0,0 +1,46 @@
+package com.gftworkshopcatalog.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeRingBufferTest {
+
+    @Test
+    @DisplayName("Since - Returns the changes after a sequence number, oldest first")
+    void since_returnsLaterChanges() {
+        ChangeRingBuffer<String> buffer = new ChangeRingBuffer<>(4);
+        for (int i = 0; i < 3; i++) {
+            buffer.append(sequence -> "change " + sequence);
+        }
+
+        assertEquals(3, buffer.lastSequence());
+        assertEquals(Optional.of(List.of("change 2", "change 3")), buffer.since(1));
+        assertEquals(Optional.of(List.of("change 1", "change 2", "change 3")), buffer.since(0));
+        assertEquals(Optional.of(List.of()), buffer.since(3));
+    }
+
+    @Test
+    @DisplayName("Since - Empty once the changes after a sequence number were overwritten")
+    void since_afterWrapAround() {
+        ChangeRingBuffer<String> buffer = new ChangeRingBuffer<>(4);
+        for (int i = 0; i < 10; i++) {
+            buffer.append(sequence -> "change " + sequence);
+        }
+
+        assertEquals(Optional.of(List.of("change 7", "change 8", "change 9", "change 10")), buffer.since(6));
+        assertEquals(Optional.of(List.of("change 10")), buffer.since(9));
+        assertTrue(buffer.since(5).isEmpty());
+        assertTrue(buffer.since(11).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Constructor - Capacity must be positive")
+    void constructor_rejectsEmptyBuffer() {
+        assertThrows(IllegalArgumentException.class, () -> new ChangeRingBuffer<String>(0));
+    }
+}
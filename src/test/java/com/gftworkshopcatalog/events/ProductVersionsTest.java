@@ -0,0 +1,74 @@
+package com.gftworkshopcatalog.events;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductVersionsTest {
+
+    @Test
+    @DisplayName("Advance - Only a newer version of a product is applied")
+    void advance_onlyNewerVersions() {
+        ProductVersions versions = new ProductVersions();
+
+        assertTrue(versions.advance(product(1L, 2L)));
+        assertFalse(versions.advance(product(1L, 1L)));
+        assertFalse(versions.advance(product(1L, 2L)));
+        assertTrue(versions.advance(product(1L, 3L)));
+        assertTrue(versions.advance(product(2L, 0L)));
+        assertTrue(versions.advance(product(1L, null)));
+    }
+
+    @Test
+    @DisplayName("Delete - Leaves a tombstone that stops late writes")
+    void delete_stopsLateWrites() {
+        ProductVersions versions = new ProductVersions();
+
+        versions.delete(product(1L, 4L));
+        versions.delete(product(2L, null));
+
+        assertFalse(versions.advance(product(1L, 3L)));
+        assertFalse(versions.advance(product(1L, 4L)));
+        assertFalse(versions.advance(product(2L, 7L)));
+    }
+
+    @Test
+    @DisplayName("Reload - Rows at the held version are applied, older or deleted ones are not")
+    void reload_skipsStaleAndDeletedRows() {
+        ProductVersions versions = new ProductVersions();
+        versions.advance(product(1L, 2L));
+        versions.delete(product(2L, 1L));
+
+        assertTrue(versions.reload(product(1L, 2L)));
+        assertFalse(versions.reload(product(1L, 1L)));
+        assertFalse(versions.reload(product(2L, 1L)));
+        assertTrue(versions.reload(product(3L, 0L)));
+        assertFalse(versions.advance(product(3L, 0L)));
+    }
+
+    @Test
+    @DisplayName("Reload - Hands back the writes applied while the rows were read, in order")
+    void finishReload_returnsWritesSinceStart() {
+        ProductVersions versions = new ProductVersions();
+        versions.advance(product(1L, 1L));
+
+        versions.startReload();
+        versions.advance(product(1L, 2L));
+        versions.advance(product(1L, 2L));
+        versions.delete(product(2L, 3L));
+        List<ProductVersions.Write> written = versions.finishReload();
+        versions.advance(product(1L, 3L));
+
+        assertEquals(List.of(new ProductVersions.Write(product(1L, 2L), false), new ProductVersions.Write(product(2L, 3L), true)),
+                written);
+        assertTrue(versions.finishReload().isEmpty());
+    }
+
+    private static ProductEntity product(Long id, Long version) {
+        return ProductEntity.builder().id(id).version(version).build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.gftworkshopcatalog.generator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalogDataGenerator",
+        "catalog.generator.products=2500",
+        "catalog.generator.categories=12",
+        "catalog.generator.promotions-per-category=4",
+        "catalog.generator.batch-size=500",
+        "catalog.promotions.scheduler.enabled=false"
+})
+@ActiveProfiles({"development", "generate-catalog"})
+class CatalogDataGeneratorTest {
+
+    private static final int SEED_PRODUCTS = 40;
+
+    @Autowired
+    private CatalogDataGenerator catalogDataGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Generate - Seeds the configured volume on top of the seed migration")
+    void generate_insertsConfiguredVolume() {
+        assertEquals(6 + 12, count("SELECT COUNT(*) FROM categories WHERE category_id <= 18"));
+        assertEquals(6 + 12 * 4, count("SELECT COUNT(*) FROM promotions WHERE promotion_id <= 54"));
+        assertEquals(SEED_PRODUCTS + 2500, count("SELECT COUNT(*) FROM products WHERE product_id <= 2540"));
+        assertTrue(count("SELECT COUNT(DISTINCT category_id) FROM products WHERE product_id > 40 AND product_id <= 2540") > 6);
+    }
+
+    @Test
+    @DisplayName("Generate - Same seed produces the same catalog")
+    void generate_isDeterministic() {
+        Long lastId = jdbcTemplate.queryForObject("SELECT MAX(product_id) FROM products", Long.class);
+
+        catalogDataGenerator.generate();
+
+        List<String> firstRun = names(SEED_PRODUCTS, SEED_PRODUCTS + 2500L);
+        List<String> secondRun = names(lastId, lastId + 2500);
+        assertEquals(2500, secondRun.size());
+        assertEquals(firstRun, secondRun);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private List<String> names(long afterId, long upToId) {
+        return jdbcTemplate.queryForList("SELECT CONCAT(name, '|', price, '|', description) FROM products " +
+                "WHERE product_id > ? AND product_id <= ? ORDER BY product_id", String.class, afterId, upToId);
+    }
+}
@@ -0,0 +1,160 @@
+package com.gftworkshopcatalog.indexes;
+
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.PromotionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ActivePromotionIndexTest {
+
+    @Mock
+    private PromotionRepository promotionRepository;
+
+    private ActivePromotionIndex activePromotionIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        activePromotionIndex = new ActivePromotionIndex(promotionRepository);
+    }
+
+    @Test
+    @DisplayName("Rebuild - Loads promotions from repository")
+    void rebuild_loadsPromotions() {
+        when(promotionRepository.findAll()).thenReturn(List.of(
+                promotion(1L, 1L, 0.10, "VOLUME", LocalDate.now().minusDays(1), LocalDate.now().plusDays(1)),
+                promotion(2L, 2L, 0.20, "SEASONAL", LocalDate.now().minusDays(1), LocalDate.now().plusDays(1))));
+
+        activePromotionIndex.init();
+
+        assertEquals(2, activePromotionIndex.size());
+        assertEquals(1, activePromotionIndex.getRebuildCount());
+        assertEquals(1L, activePromotionIndex.findActiveVolumePromotion(1L).getPromotionId());
+        assertNull(activePromotionIndex.findActiveVolumePromotion(2L));
+    }
+
+    @Test
+    @DisplayName("Find active volume promotion - Ignores promotions outside their dates")
+    void findActiveVolumePromotion_respectsDates() {
+        activePromotionIndex.put(promotion(1L, 1L, 0.10, "VOLUME", LocalDate.now().plusDays(1), LocalDate.now().plusDays(10)));
+        activePromotionIndex.put(promotion(2L, 1L, 0.20, "VOLUME", LocalDate.now().minusDays(10), LocalDate.now().minusDays(1)));
+
+        assertNull(activePromotionIndex.findActiveVolumePromotion(1L));
+    }
+
+    @Test
+    @DisplayName("Find active volume promotion - Ignores promotions switched off")
+    void findActiveVolumePromotion_respectsIsActive() {
+        PromotionEntity promotion = promotion(1L, 1L, 0.10, "VOLUME", LocalDate.now().minusDays(1), LocalDate.now().plusDays(1));
+        promotion.setIsActive(false);
+        activePromotionIndex.put(promotion);
+
+        assertNull(activePromotionIndex.findActiveVolumePromotion(1L));
+    }
+
+    @Test
+    @DisplayName("Set active - Applies the scheduler's flag changes to indexed promotions")
+    void setActive_updatesIsActive() {
+        activePromotionIndex.put(promotion(1L, 1L, 0.10, "VOLUME", LocalDate.now().minusDays(1), LocalDate.now().plusDays(1)));
+
+        activePromotionIndex.setActive(List.of(1L, 99L), false);
+        assertNull(activePromotionIndex.findActiveVolumePromotion(1L));
+        assertEquals(1, activePromotionIndex.size());
+
+        activePromotionIndex.setActive(List.of(1L), true);
+        assertEquals(1L, activePromotionIndex.findActiveVolumePromotion(1L).getPromotionId());
+        verifyNoInteractions(promotionRepository);
+    }
+
+    @Test
+    @DisplayName("Find active volume promotion - Highest discount wins when promotions overlap")
+    void findActiveVolumePromotion_highestDiscountWins() {
+        activePromotionIndex.put(promotion(1L, 1L, 0.10, "VOLUME", LocalDate.now(), LocalDate.now()));
+        activePromotionIndex.put(promotion(2L, 1L, 0.25, "VOLUME", LocalDate.now().minusDays(1), LocalDate.now().plusDays(1)));
+
+        assertEquals(2L, activePromotionIndex.findActiveVolumePromotion(1L).getPromotionId());
+    }
+
+    @Test
+    @DisplayName("Find active seasonal promotion - Only matches seasonal promotions")
+    void findActiveSeasonalPromotion_matchesType() {
+        activePromotionIndex.put(promotion(1L, 1L, 0.35, "SEASONAL", LocalDate.now().minusDays(1), LocalDate.now().plusDays(1)));
+        activePromotionIndex.put(promotion(2L, 1L, 0.50, "VOLUME", LocalDate.now().minusDays(1), LocalDate.now().plusDays(1)));
+
+        assertEquals(1L, activePromotionIndex.findActiveSeasonalPromotion(1L).getPromotionId());
+        assertEquals(2L, activePromotionIndex.findActiveVolumePromotion(1L).getPromotionId());
+        assertNull(activePromotionIndex.findActiveSeasonalPromotion(2L));
+    }
+
+    @Test
+    @DisplayName("Put and remove - Updates the index without touching the repository")
+    void putAndRemove_updatesIndex() {
+        PromotionEntity promotion = promotion(1L, 1L, 0.10, "VOLUME", LocalDate.now(), LocalDate.now());
+        activePromotionIndex.put(promotion);
+
+        promotion.setCategoryId(2L);
+        assertNotNull(activePromotionIndex.findActiveVolumePromotion(1L), "Index must hold its own copy");
+
+        activePromotionIndex.put(promotion);
+        assertNull(activePromotionIndex.findActiveVolumePromotion(1L));
+        assertNotNull(activePromotionIndex.findActiveVolumePromotion(2L));
+
+        activePromotionIndex.remove(1L);
+        assertNull(activePromotionIndex.findActiveVolumePromotion(2L));
+        assertEquals(0, activePromotionIndex.size());
+        verifyNoInteractions(promotionRepository);
+    }
+
+    @Test
+    @DisplayName("Refresh - Applies the committed row, not the one handed over")
+    void refresh_appliesCommittedRow() {
+        activePromotionIndex.put(promotion(1L, 1L, 0.10, "VOLUME", LocalDate.now(), LocalDate.now()));
+        when(promotionRepository.findById(1L)).thenReturn(Optional.of(
+                promotion(1L, 1L, 0.25, "VOLUME", LocalDate.now(), LocalDate.now())));
+
+        activePromotionIndex.refresh(1L);
+        assertEquals(0.25, activePromotionIndex.findActiveVolumePromotion(1L).getDiscount());
+
+        when(promotionRepository.findById(1L)).thenReturn(Optional.empty());
+        activePromotionIndex.refresh(1L);
+        assertNull(activePromotionIndex.findActiveVolumePromotion(1L));
+        assertEquals(0, activePromotionIndex.size());
+    }
+
+    @Test
+    @DisplayName("Metrics - Exposes size and rebuild count")
+    void bindTo_registersMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        activePromotionIndex.bindTo(registry);
+        activePromotionIndex.put(promotion(1L, 1L, 0.10, "VOLUME", LocalDate.now(), LocalDate.now()));
+        activePromotionIndex.rebuild();
+        activePromotionIndex.rebuild();
+
+        assertEquals(0.0, registry.get("catalog.promotion.index.size").gauge().value());
+        assertEquals(2.0, registry.get("catalog.promotion.index.rebuilds").functionCounter().count());
+    }
+
+    private PromotionEntity promotion(Long id, Long categoryId, double discount, String type, LocalDate start, LocalDate end) {
+        return PromotionEntity.builder()
+                .promotionId(id)
+                .categoryId(categoryId)
+                .discount(discount)
+                .promotionType(type)
+                .volumeThreshold(5)
+                .startDate(start)
+                .endDate(end)
+                .isActive(true)
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.gftworkshopcatalog.indexes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitmapTest {
+
+    @Test
+    @DisplayName("Bitmap - Set operations and counts across word boundaries")
+    void setOperations() {
+        Bitmap even = bitmap(0, 2, 64, 130);
+        Bitmap low = bitmap(0, 1, 2, 3, 64);
+
+        assertEquals(3, even.andCardinality(low));
+        Bitmap union = even.copy();
+        union.or(low);
+        assertEquals(6, union.cardinality());
+        even.and(low);
+        assertEquals(3, even.cardinality());
+        assertEquals(64, even.nextSetBit(3));
+        assertEquals(-1, even.nextSetBit(65));
+        even.clear(64);
+        even.clear(1000);
+        assertEquals(-1, even.nextSetBit(3));
+    }
+
+    private static Bitmap bitmap(int... bits) {
+        Bitmap bitmap = new Bitmap();
+        for (int bit : bits) {
+            bitmap.set(bit);
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,179 @@
+package com.gftworkshopcatalog.indexes;
+
+import com.gftworkshopcatalog.events.ProductChangedEvent;
+import com.gftworkshopcatalog.events.StockLevelChangedEvent;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.model.StockLevel;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LowStockIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private LowStockIndex lowStockIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productRepository.findBelowMinimumStock()).thenReturn(List.of(
+                product(1L, 8, 10),
+                product(2L, 0, 5),
+                product(3L, 2, 20),
+                product(4L, 5, 10)));
+        lowStockIndex = new LowStockIndex(productRepository, eventPublisher);
+        lowStockIndex.init();
+    }
+
+    @Test
+    @DisplayName("Page - Furthest below minimum first, then by ID")
+    void page_orderedByDeficit() {
+        LowStockIndex.Result result = lowStockIndex.page(0, 10);
+
+        assertEquals(4, result.total());
+        assertEquals(List.of(3L, 2L, 4L, 1L), ids(result));
+        assertEquals(18, result.entries().get(0).deficit());
+        assertEquals(StockLevel.OUT_OF_STOCK, result.entries().get(1).level());
+        assertEquals(List.of(4L, 1L), ids(lowStockIndex.page(2, 2)));
+        assertTrue(lowStockIndex.page(4, 2).entries().isEmpty());
+        verify(productRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Product events - Products move in and out and are reordered without reloading")
+    void onProductChanged_updatesIncrementally() {
+        lowStockIndex.onProductChanged(ProductChangedEvent.saved(product(5L, 1, 30)));
+        lowStockIndex.onProductChanged(ProductChangedEvent.saved(product(3L, 50, 20)));
+        lowStockIndex.onProductChanged(ProductChangedEvent.saved(product(1L, 1, 10)));
+        lowStockIndex.onProductChanged(ProductChangedEvent.deleted(product(2L, 0, 5)));
+        lowStockIndex.onProductChanged(ProductChangedEvent.saved(product(6L, 100, 10)));
+
+        assertEquals(List.of(5L, 1L, 4L), ids(lowStockIndex.page(0, 10)));
+        assertEquals(3, lowStockIndex.size());
+        verify(productRepository, times(1)).findBelowMinimumStock();
+    }
+
+    @Test
+    @DisplayName("Threshold events - Published only when the stock level changes")
+    void onProductChanged_publishesCrossings() {
+        lowStockIndex.onProductChanged(ProductChangedEvent.saved(product(1L, 7, 10)));
+        verify(eventPublisher, never()).publishEvent(any(StockLevelChangedEvent.class));
+
+        lowStockIndex.onProductChanged(ProductChangedEvent.saved(product(1L, 0, 10)));
+        lowStockIndex.onProductChanged(ProductChangedEvent.saved(product(4L, 40, 10)));
+        lowStockIndex.onProductChanged(ProductChangedEvent.saved(product(7L, 3, 10)));
+
+        verify(eventPublisher).publishEvent(new StockLevelChangedEvent(1L, "Product 1", 1L, StockLevel.LOW_STOCK, StockLevel.OUT_OF_STOCK, 0, 10));
+        verify(eventPublisher).publishEvent(new StockLevelChangedEvent(4L, "Product 4", 1L, StockLevel.LOW_STOCK, StockLevel.IN_STOCK, 40, 10));
+        verify(eventPublisher).publishEvent(new StockLevelChangedEvent(7L, "Product 7", 1L, StockLevel.IN_STOCK, StockLevel.LOW_STOCK, 3, 10));
+        assertEquals(3, lowStockIndex.getCrossingCount());
+    }
+
+    @Test
+    @DisplayName("Threshold events - Crossings of a product are published in the order they were applied")
+    void put_publishesCrossingsInOrder() throws Exception {
+        List<StockLevelChangedEvent> published = new CopyOnWriteArrayList<>();
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            StockLevelChangedEvent event = invocation.getArgument(0);
+            if (event.current() == StockLevel.IN_STOCK) {
+                publishing.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            published.add(event);
+            return null;
+        }).when(eventPublisher).publishEvent(any(StockLevelChangedEvent.class));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> restocked = executor.submit(() -> lowStockIndex.put(versioned(product(1L, 50, 10), 2L)));
+            assertTrue(publishing.await(5, TimeUnit.SECONDS));
+            Future<?> drained = executor.submit(() -> lowStockIndex.put(versioned(product(1L, 3, 10), 3L)));
+            Thread.sleep(100);
+            release.countDown();
+            restocked.get(5, TimeUnit.SECONDS);
+            drained.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(List.of(StockLevel.IN_STOCK, StockLevel.LOW_STOCK),
+                published.stream().map(StockLevelChangedEvent::current).toList());
+    }
+
+    @Test
+    @DisplayName("Product events - Stale saves arriving late are dropped without an alert")
+    void onProductChanged_dropsStaleSaves() {
+        lowStockIndex.onProductChanged(ProductChangedEvent.saved(versioned(product(1L, 50, 10), 3L)));
+        lowStockIndex.onProductChanged(ProductChangedEvent.saved(versioned(product(1L, 0, 10), 2L)));
+        lowStockIndex.onProductChanged(ProductChangedEvent.deleted(versioned(product(2L, 0, 5), 5L)));
+        lowStockIndex.onProductChanged(ProductChangedEvent.saved(versioned(product(2L, 1, 5), 4L)));
+
+        assertEquals(List.of(3L, 4L), ids(lowStockIndex.page(0, 10)));
+        verify(eventPublisher).publishEvent(new StockLevelChangedEvent(1L, "Product 1", 1L, StockLevel.LOW_STOCK, StockLevel.IN_STOCK, 50, 10));
+        assertEquals(1, lowStockIndex.getCrossingCount());
+    }
+
+    @Test
+    @DisplayName("Reload event - Rebuilds from the low stock query")
+    void reloaded_rebuilds() {
+        when(productRepository.findBelowMinimumStock()).thenReturn(List.of(product(9L, 1, 2)));
+
+        lowStockIndex.onProductChanged(ProductChangedEvent.reloaded());
+
+        assertEquals(List.of(9L), ids(lowStockIndex.page(0, 10)));
+        assertEquals(2, lowStockIndex.getRebuildCount());
+    }
+
+    @Test
+    @DisplayName("Reload event - Writes made while the rows are read win over the rows read, without an alert")
+    void reloaded_keepsWritesMadeDuringRead() {
+        when(productRepository.findBelowMinimumStock()).thenAnswer(invocation -> {
+            lowStockIndex.onProductChanged(ProductChangedEvent.saved(versioned(product(1L, 50, 10), 2L)));
+            lowStockIndex.onProductChanged(ProductChangedEvent.deleted(versioned(product(2L, 0, 5), 2L)));
+            lowStockIndex.onProductChanged(ProductChangedEvent.saved(versioned(product(5L, 1, 30), 0L)));
+            return List.of(versioned(product(1L, 8, 10), 1L), versioned(product(2L, 0, 5), 1L),
+                    versioned(product(3L, 2, 20), 1L));
+        });
+
+        lowStockIndex.onProductChanged(ProductChangedEvent.reloaded());
+
+        assertEquals(List.of(5L, 3L), ids(lowStockIndex.page(0, 10)));
+        assertEquals(2, lowStockIndex.getCrossingCount());
+    }
+
+    private static List<Long> ids(LowStockIndex.Result result) {
+        return result.entries().stream().map(LowStockIndex.Entry::productId).toList();
+    }
+
+    private static ProductEntity versioned(ProductEntity product, Long version) {
+        product.setVersion(version);
+        return product;
+    }
+
+    private static ProductEntity product(Long id, int currentStock, int minStock) {
+        return ProductEntity.builder()
+                .id(id)
+                .name("Product " + id)
+                .categoryId(1L)
+                .price(10.0)
+                .currentStock(currentStock)
+                .minStock(minStock)
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.gftworkshopcatalog.indexes;
+
+import com.gftworkshopcatalog.events.ProductChangedEvent;
+import com.gftworkshopcatalog.indexes.ProductFacetIndex.Facet;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProductFacetIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductFacetIndex productFacetIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, 1L, 5.0, 0.3, 20, 10),
+                product(2L, 1L, 15.0, 1.5, 5, 10),
+                product(3L, 2L, 15.0, 0.3, 0, 10),
+                product(4L, 2L, 150.0, 3.0, 40, 10)));
+        productFacetIndex = new ProductFacetIndex(productRepository, new double[]{100, 10}, new double[]{1});
+        productFacetIndex.init();
+    }
+
+    @Test
+    @DisplayName("Facets - Without filters every product is counted once per facet")
+    void facets_unfiltered() {
+        ProductFacetIndex.Result result = productFacetIndex.facets(Map.of(), 10);
+
+        assertEquals(4, result.total());
+        assertEquals(List.of(1L, 2L, 3L, 4L), result.productIds());
+        assertEquals(Map.of("1", 2, "2", 2), result.counts().get(Facet.CATEGORY));
+        assertEquals(List.of("0-10", "10-100", "100+"), List.copyOf(result.counts().get(Facet.PRICE_BAND).keySet()));
+        assertEquals(Map.of("0-10", 1, "10-100", 2, "100+", 1), result.counts().get(Facet.PRICE_BAND));
+        assertEquals(Map.of("0-1", 2, "1+", 2), result.counts().get(Facet.WEIGHT_BAND));
+        assertEquals(Map.of("OUT_OF_STOCK", 1, "LOW_STOCK", 1, "IN_STOCK", 2), result.counts().get(Facet.STOCK));
+    }
+
+    @Test
+    @DisplayName("Facets - Values of one facet are ORed, facets are ANDed")
+    void facets_combinesFilters() {
+        ProductFacetIndex.Result result = productFacetIndex.facets(Map.of(
+                Facet.PRICE_BAND, List.of("0-10", "10-100"),
+                Facet.STOCK, List.of("IN_STOCK", "LOW_STOCK")), 10);
+
+        assertEquals(2, result.total());
+        assertEquals(List.of(1L, 2L), result.productIds());
+        assertEquals(Map.of("1", 2, "2", 0), result.counts().get(Facet.CATEGORY));
+    }
+
+    @Test
+    @DisplayName("Facets - Counts of a facet ignore its own filter")
+    void facets_disjunctiveCounts() {
+        ProductFacetIndex.Result result = productFacetIndex.facets(Map.of(
+                Facet.CATEGORY, List.of("2"),
+                Facet.PRICE_BAND, List.of("100+")), 1);
+
+        assertEquals(1, result.total());
+        assertEquals(List.of(4L), result.productIds());
+        assertEquals(Map.of("0-10", 0, "10-100", 1, "100+", 1), result.counts().get(Facet.PRICE_BAND));
+        assertEquals(Map.of("1", 0, "2", 1), result.counts().get(Facet.CATEGORY));
+    }
+
+    @Test
+    @DisplayName("Facets - Unknown values match nothing and the id list honours the limit")
+    void facets_unknownValueAndLimit() {
+        assertEquals(0, productFacetIndex.facets(Map.of(Facet.CATEGORY, List.of("9")), 10).total());
+        assertEquals(List.of(1L, 2L), productFacetIndex.facets(Map.of(), 2).productIds());
+    }
+
+    @Test
+    @DisplayName("Product events - Index follows saves and deletions without reloading")
+    void onProductChanged_updatesIncrementally() {
+        productFacetIndex.onProductChanged(ProductChangedEvent.saved(product(3L, 2L, 15.0, 0.3, 50, 10)));
+        productFacetIndex.onProductChanged(ProductChangedEvent.saved(product(5L, 3L, 50.0, 2.0, 1, 10)));
+        productFacetIndex.onProductChanged(ProductChangedEvent.deleted(product(1L, 1L, 5.0, 0.3, 20, 10)));
+
+        ProductFacetIndex.Result result = productFacetIndex.facets(Map.of(), 10);
+        assertEquals(List.of(2L, 3L, 4L, 5L), result.productIds());
+        assertEquals(Map.of("OUT_OF_STOCK", 0, "LOW_STOCK", 2, "IN_STOCK", 2), result.counts().get(Facet.STOCK));
+        assertEquals(Map.of("1", 1, "2", 2, "3", 1), result.counts().get(Facet.CATEGORY));
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Product events - Stale saves arriving late are dropped")
+    void onProductChanged_dropsStaleSaves() {
+        productFacetIndex.onProductChanged(ProductChangedEvent.saved(versioned(product(3L, 2L, 15.0, 0.3, 50, 10), 2L)));
+        productFacetIndex.onProductChanged(ProductChangedEvent.saved(versioned(product(3L, 2L, 15.0, 0.3, 0, 10), 1L)));
+        productFacetIndex.onProductChanged(ProductChangedEvent.deleted(versioned(product(4L, 2L, 150.0, 3.0, 40, 10), 5L)));
+        productFacetIndex.onProductChanged(ProductChangedEvent.saved(versioned(product(4L, 2L, 150.0, 3.0, 30, 10), 4L)));
+
+        ProductFacetIndex.Result result = productFacetIndex.facets(Map.of(), 10);
+        assertEquals(List.of(1L, 2L, 3L), result.productIds());
+        assertEquals(Map.of("OUT_OF_STOCK", 0, "LOW_STOCK", 1, "IN_STOCK", 2), result.counts().get(Facet.STOCK));
+    }
+
+    @Test
+    @DisplayName("Product events - Repricing re-reads the category once, on the next query")
+    void onProductChanged_categoryRepriced() {
+        when(productRepository.findByCategoryId(1L)).thenReturn(List.of(
+                product(1L, 1L, 500.0, 0.3, 20, 10),
+                product(2L, 1L, 150.0, 1.5, 5, 10)));
+
+        productFacetIndex.onProductChanged(ProductChangedEvent.categoryRepriced(1L));
+        productFacetIndex.onProductChanged(ProductChangedEvent.categoryRepriced(1L));
+        verify(productRepository, never()).findByCategoryId(any());
+
+        ProductFacetIndex.Result result = productFacetIndex.facets(Map.of(Facet.PRICE_BAND, List.of("100+")), 10);
+        assertEquals(List.of(1L, 2L, 4L), result.productIds());
+        productFacetIndex.facets(Map.of(), 10);
+        verify(productRepository, times(1)).findByCategoryId(1L);
+    }
+
+    @Test
+    @DisplayName("Rebuild - Writes made while the rows are read win over the rows read")
+    void rebuild_keepsWritesMadeDuringRead() {
+        productFacetIndex.onProductChanged(ProductChangedEvent.deleted(versioned(product(1L, 1L, 5.0, 0.3, 20, 10), 3L)));
+        when(productRepository.findAll()).thenAnswer(invocation -> {
+            productFacetIndex.onProductChanged(ProductChangedEvent.saved(versioned(product(3L, 2L, 15.0, 0.3, 50, 10), 2L)));
+            productFacetIndex.onProductChanged(ProductChangedEvent.deleted(versioned(product(4L, 2L, 150.0, 3.0, 40, 10), 2L)));
+            productFacetIndex.onProductChanged(ProductChangedEvent.saved(versioned(product(5L, 3L, 5.0, 0.3, 20, 10), 0L)));
+            return List.of(
+                    versioned(product(1L, 1L, 5.0, 0.3, 20, 10), 2L),
+                    versioned(product(2L, 1L, 15.0, 1.5, 5, 10), 1L),
+                    versioned(product(3L, 2L, 15.0, 0.3, 0, 10), 1L),
+                    versioned(product(4L, 2L, 150.0, 3.0, 40, 10), 1L));
+        });
+
+        productFacetIndex.rebuild();
+
+        ProductFacetIndex.Result result = productFacetIndex.facets(Map.of(), 10);
+        assertEquals(List.of(2L, 3L, 5L), result.productIds());
+        assertEquals(Map.of("OUT_OF_STOCK", 0, "LOW_STOCK", 1, "IN_STOCK", 2), result.counts().get(Facet.STOCK));
+    }
+
+    private static ProductEntity versioned(ProductEntity product, Long version) {
+        product.setVersion(version);
+        return product;
+    }
+
+    private static ProductEntity product(Long id, Long categoryId, double price, double weight, int currentStock, int minStock) {
+        return ProductEntity.builder().id(id).categoryId(categoryId).price(price).weight(weight)
+                .currentStock(currentStock).minStock(minStock).build();
+    }
+}
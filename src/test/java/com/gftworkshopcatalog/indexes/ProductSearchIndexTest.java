@@ -0,0 +1,149 @@
+package com.gftworkshopcatalog.indexes;
+
+import com.gftworkshopcatalog.events.ProductChangedEvent;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, 1L, "Running Shoes", "Comfortable and lightweight running shoes."),
+                product(2L, 1L, "Jeans", "Comfortable and stylish blue jeans."),
+                product(3L, 3L, "Yoga Mat", "Non-slip mat, great for running warm-ups."),
+                product(4L, 2L, "Café Racer", "A toy motorbike.")));
+        productSearchIndex = new ProductSearchIndex(productRepository);
+        productSearchIndex.init();
+    }
+
+    @Test
+    @DisplayName("Search - Name matches outrank description matches")
+    void search_ranksNameMatchesFirst() {
+        ProductSearchIndex.Result result = productSearchIndex.search("running", null, 0, 10);
+
+        assertEquals(2, result.total());
+        assertEquals(List.of(1L, 3L), ids(result));
+    }
+
+    @Test
+    @DisplayName("Search - Products matching more words rank higher")
+    void search_moreTermsRankHigher() {
+        ProductSearchIndex.Result result = productSearchIndex.search("comfortable blue", null, 0, 10);
+
+        assertEquals(List.of(2L, 1L), ids(result));
+    }
+
+    @Test
+    @DisplayName("Search - Case, accents and punctuation are ignored")
+    void search_normalizesText() {
+        assertEquals(List.of(4L), ids(productSearchIndex.search("CAFE", null, 0, 10)));
+        assertEquals(List.of(3L), ids(productSearchIndex.search("non-slip!", null, 0, 10)));
+    }
+
+    @Test
+    @DisplayName("Search - Category filter and paging")
+    void search_filtersAndPages() {
+        assertEquals(List.of(3L), ids(productSearchIndex.search("running", 3L, 0, 10)));
+
+        ProductSearchIndex.Result secondPage = productSearchIndex.search("comfortable", null, 1, 1);
+        assertEquals(2, secondPage.total());
+        assertEquals(1, secondPage.hits().size());
+        assertTrue(productSearchIndex.search("comfortable", null, 5, 1).hits().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Product events - Index follows saves and deletions without reloading")
+    void onProductChanged_updatesIncrementally() {
+        productSearchIndex.onProductChanged(ProductChangedEvent.saved(product(2L, 1L, "Denim Jacket", "Warm and blue.")));
+        productSearchIndex.onProductChanged(ProductChangedEvent.deleted(product(1L, 1L, "Running Shoes", null)));
+
+        assertTrue(ids(productSearchIndex.search("jeans", null, 0, 10)).isEmpty());
+        assertEquals(List.of(2L), ids(productSearchIndex.search("jacket", null, 0, 10)));
+        assertEquals(List.of(3L), ids(productSearchIndex.search("running", null, 0, 10)));
+        assertEquals(3, productSearchIndex.size());
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Product events - Stale saves arriving late are dropped")
+    void onProductChanged_dropsStaleSaves() {
+        ProductEntity jacket = product(2L, 1L, "Denim Jacket", null);
+        jacket.setVersion(2L);
+        ProductEntity jeans = product(2L, 1L, "Jeans", null);
+        jeans.setVersion(1L);
+        ProductEntity kite = product(1L, 1L, "Kite", null);
+        kite.setVersion(3L);
+        ProductEntity deleted = product(1L, 1L, "Running Shoes", null);
+        deleted.setVersion(4L);
+
+        productSearchIndex.onProductChanged(ProductChangedEvent.saved(jacket));
+        productSearchIndex.onProductChanged(ProductChangedEvent.saved(jeans));
+        productSearchIndex.onProductChanged(ProductChangedEvent.deleted(deleted));
+        productSearchIndex.onProductChanged(ProductChangedEvent.saved(kite));
+
+        assertEquals(List.of(2L), ids(productSearchIndex.search("jacket", null, 0, 10)));
+        assertTrue(ids(productSearchIndex.search("jeans", null, 0, 10)).isEmpty());
+        assertTrue(ids(productSearchIndex.search("kite", null, 0, 10)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Product events - Reload rebuilds from the repository")
+    void onProductChanged_reloaded() {
+        when(productRepository.findAll()).thenReturn(List.of(product(9L, 1L, "Kite", null)));
+
+        productSearchIndex.onProductChanged(ProductChangedEvent.reloaded());
+
+        assertEquals(1, productSearchIndex.size());
+        assertEquals(List.of(9L), ids(productSearchIndex.search("kite", null, 0, 10)));
+        assertEquals(2, productSearchIndex.getRebuildCount());
+    }
+
+    @Test
+    @DisplayName("Rebuild - Writes made while the rows are read win over the rows read")
+    void rebuild_keepsWritesMadeDuringRead() {
+        ProductEntity jacket = product(2L, 1L, "Denim Jacket", null);
+        jacket.setVersion(2L);
+        ProductEntity jeans = product(2L, 1L, "Jeans", null);
+        jeans.setVersion(1L);
+        ProductEntity deleted = product(1L, 1L, "Running Shoes", null);
+        deleted.setVersion(2L);
+        ProductEntity shoes = product(1L, 1L, "Running Shoes", null);
+        shoes.setVersion(1L);
+        when(productRepository.findAll()).thenAnswer(invocation -> {
+            productSearchIndex.onProductChanged(ProductChangedEvent.saved(jacket));
+            productSearchIndex.onProductChanged(ProductChangedEvent.deleted(deleted));
+            return List.of(shoes, jeans);
+        });
+
+        productSearchIndex.rebuild();
+
+        assertEquals(1, productSearchIndex.size());
+        assertEquals(List.of(2L), ids(productSearchIndex.search("jacket", null, 0, 10)));
+        assertTrue(ids(productSearchIndex.search("jeans running", null, 0, 10)).isEmpty());
+    }
+
+    private static List<Long> ids(ProductSearchIndex.Result result) {
+        return result.hits().stream().map(ProductSearchIndex.Hit::productId).toList();
+    }
+
+    private static ProductEntity product(Long id, Long categoryId, String name, String description) {
+        return ProductEntity.builder().id(id).categoryId(categoryId).name(name).description(description).build();
+    }
+}
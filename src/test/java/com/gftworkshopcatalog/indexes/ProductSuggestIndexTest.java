@@ -0,0 +1,142 @@
+package com.gftworkshopcatalog.indexes;
+
+import com.gftworkshopcatalog.events.ProductChangedEvent;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductSuggestIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductSuggestIndex productSuggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, 2L, "Puzzle", 89),
+                product(2L, 2L, "Puzzle", 138),
+                product(3L, 2L, "Doll", 150),
+                product(4L, 3L, "Pull-up Bar", 10),
+                product(5L, 2L, "Púzzle Box", 5)));
+        productSuggestIndex = new ProductSuggestIndex(productRepository, ProductSuggestIndex.Weight.CURRENT_STOCK);
+        productSuggestIndex.init();
+    }
+
+    @Test
+    @DisplayName("Suggest - Prefix matches heaviest first, ignoring case and accents")
+    void suggest_ranksByWeight() {
+        assertEquals(List.of(2L, 1L, 5L), ids(productSuggestIndex.suggest("PUZ", 2L, 10)));
+        assertEquals(List.of(2L, 1L, 4L, 5L), ids(productSuggestIndex.suggest("pu", null, 10)));
+        assertEquals("Púzzle Box", productSuggestIndex.suggest("puzzle b", null, 10).get(0).name());
+    }
+
+    @Test
+    @DisplayName("Suggest - Limit keeps the top entries only")
+    void suggest_limit() {
+        assertEquals(List.of(2L), ids(productSuggestIndex.suggest("pu", null, 1)));
+        assertEquals(List.of(2L, 1L), ids(productSuggestIndex.suggest("pu", 2L, 2)));
+    }
+
+    @Test
+    @DisplayName("Suggest - Unknown prefix or category returns nothing")
+    void suggest_noMatches() {
+        assertTrue(productSuggestIndex.suggest("kite", null, 10).isEmpty());
+        assertTrue(productSuggestIndex.suggest("pu", 9L, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Suggest - Equal weights fall back to alphabetical order")
+    void suggest_alphabeticalWithoutWeight() {
+        productSuggestIndex = new ProductSuggestIndex(productRepository, ProductSuggestIndex.Weight.NONE);
+        productSuggestIndex.init();
+
+        assertEquals(List.of(4L, 1L, 2L, 5L), ids(productSuggestIndex.suggest("pu", null, 10)));
+    }
+
+    @Test
+    @DisplayName("Product events - Index follows adds, renames, moves and deletions without reloading")
+    void onProductChanged_updatesIncrementally() {
+        productSuggestIndex.onProductChanged(ProductChangedEvent.saved(product(6L, 3L, "Punching Bag", 40)));
+        productSuggestIndex.onProductChanged(ProductChangedEvent.saved(product(1L, 2L, "Jigsaw", 89)));
+        productSuggestIndex.onProductChanged(ProductChangedEvent.saved(product(2L, 3L, "Puzzle", 1)));
+        productSuggestIndex.onProductChanged(ProductChangedEvent.saved(product(5L, 2L, "Púzzle Box", 500)));
+        productSuggestIndex.onProductChanged(ProductChangedEvent.deleted(product(4L, 3L, "Pull-up Bar", 10)));
+
+        assertEquals(List.of(5L), ids(productSuggestIndex.suggest("pu", 2L, 10)));
+        assertEquals(List.of(6L, 2L), ids(productSuggestIndex.suggest("pu", 3L, 10)));
+        assertEquals(List.of(1L), ids(productSuggestIndex.suggest("jig", null, 10)));
+        assertEquals(5, productSuggestIndex.size());
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Product events - Stale saves arriving late are dropped")
+    void onProductChanged_dropsStaleSaves() {
+        productSuggestIndex.onProductChanged(ProductChangedEvent.saved(versioned(product(3L, 2L, "Dollhouse", 150), 2L)));
+        productSuggestIndex.onProductChanged(ProductChangedEvent.saved(versioned(product(3L, 2L, "Doll", 1), 1L)));
+        productSuggestIndex.onProductChanged(ProductChangedEvent.deleted(versioned(product(4L, 3L, "Pull-up Bar", 10), 5L)));
+        productSuggestIndex.onProductChanged(ProductChangedEvent.saved(versioned(product(4L, 3L, "Pull-up Bar", 20), 4L)));
+
+        assertEquals("Dollhouse", productSuggestIndex.suggest("doll", null, 10).get(0).name());
+        assertEquals(150, productSuggestIndex.suggest("doll", null, 10).get(0).weight());
+        assertTrue(productSuggestIndex.suggest("pull", null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Product events - Repricing reloads the category only when weighting by price")
+    void onProductChanged_categoryRepriced() {
+        productSuggestIndex = new ProductSuggestIndex(productRepository, ProductSuggestIndex.Weight.PRICE);
+        productSuggestIndex.init();
+        ProductEntity cheap = product(1L, 2L, "Puzzle", 89);
+        cheap.setPrice(1.0);
+        ProductEntity dear = product(2L, 2L, "Puzzle", 138);
+        dear.setPrice(2.0);
+        when(productRepository.findByCategoryId(2L)).thenReturn(List.of(cheap, dear));
+
+        productSuggestIndex.onProductChanged(ProductChangedEvent.categoryRepriced(2L));
+
+        assertEquals(List.of(2L, 1L), ids(productSuggestIndex.suggest("puzzle", 2L, 10)));
+        assertEquals(List.of(4L), ids(productSuggestIndex.suggest("pu", 3L, 10)));
+    }
+
+    @Test
+    @DisplayName("Rebuild - Rows of deleted products are skipped, rows at the version already held are kept")
+    void rebuild_skipsDeletedRows() {
+        productSuggestIndex.onProductChanged(ProductChangedEvent.saved(versioned(product(1L, 2L, "Puzzle", 89), 2L)));
+        productSuggestIndex.onProductChanged(ProductChangedEvent.deleted(versioned(product(3L, 2L, "Doll", 150), 2L)));
+        when(productRepository.findAll()).thenReturn(List.of(
+                versioned(product(1L, 2L, "Puzzle", 89), 2L),
+                versioned(product(2L, 2L, "Puzzle", 138), 1L),
+                versioned(product(3L, 2L, "Doll", 150), 1L)));
+
+        productSuggestIndex.rebuild();
+
+        assertEquals(List.of(2L, 1L), ids(productSuggestIndex.suggest("", 2L, 10)));
+        assertEquals(2, productSuggestIndex.size());
+    }
+
+    private static List<Long> ids(List<ProductSuggestIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggestIndex.Suggestion::productId).toList();
+    }
+
+    private static ProductEntity versioned(ProductEntity product, Long version) {
+        product.setVersion(version);
+        return product;
+    }
+
+    private static ProductEntity product(Long id, Long categoryId, String name, int currentStock) {
+        return ProductEntity.builder().id(id).categoryId(categoryId).name(name).currentStock(currentStock).build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.gftworkshopcatalog.outbox;
+
+import com.gftworkshopcatalog.model.OutboxEventEntity;
+import com.gftworkshopcatalog.repositories.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class OutboxDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+
+    @Mock
+    private OutboxRepository outboxRepository;
+    @Mock
+    private OutboxSink sink;
+    @Mock
+    private ScheduledExecutorService executor;
+
+    private OutboxDispatcher outboxDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        outboxDispatcher = new OutboxDispatcher(outboxRepository, sink, Clock.fixed(NOW, ZoneOffset.UTC), executor,
+                true, 3, Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(10));
+    }
+
+    @Test
+    @DisplayName("Dispatch batch - Delivers in id order, then deletes the batch in one call")
+    void dispatchBatch_deliversAndDeletes() throws IOException {
+        List<OutboxEventEntity> batch = List.of(event(1L, 5), event(2L, 3), event(4L, 1));
+        when(outboxRepository.findByOrderByIdAsc(Limit.of(3))).thenReturn(batch);
+
+        assertEquals(3, outboxDispatcher.dispatchBatch());
+
+        var inOrder = inOrder(sink, outboxRepository);
+        inOrder.verify(sink).deliver(batch);
+        inOrder.verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L, 4L));
+        assertEquals(3, outboxDispatcher.getDispatchedCount());
+        assertEquals(5000, outboxDispatcher.getLagMillis());
+    }
+
+    @Test
+    @DisplayName("Dispatch batch - A failed delivery keeps the batch in the outbox")
+    void dispatchBatch_sinkFailure() throws IOException {
+        when(outboxRepository.findByOrderByIdAsc(Limit.of(3))).thenReturn(List.of(event(7L, 2)));
+        doThrow(new IOException("disk full")).when(sink).deliver(anyList());
+
+        assertThrows(IOException.class, () -> outboxDispatcher.dispatchBatch());
+
+        verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+        assertEquals(0, outboxDispatcher.getDispatchedCount());
+        assertEquals(2000, outboxDispatcher.getLagMillis());
+    }
+
+    @Test
+    @DisplayName("Dispatch batch - Nothing to deliver when the outbox is empty")
+    void dispatchBatch_empty() throws IOException {
+        when(outboxRepository.findByOrderByIdAsc(Limit.of(3))).thenReturn(List.of());
+
+        assertEquals(0, outboxDispatcher.dispatchBatch());
+
+        verifyNoInteractions(sink);
+        assertEquals(0, outboxDispatcher.getLagMillis());
+    }
+
+    @Test
+    @DisplayName("Backoff - Doubles with each consecutive failure up to the maximum")
+    void backoff_doublesUpToMaximum() {
+        assertEquals(Duration.ofSeconds(1), outboxDispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(2), outboxDispatcher.backoff(2));
+        assertEquals(Duration.ofSeconds(8), outboxDispatcher.backoff(4));
+        assertEquals(Duration.ofSeconds(10), outboxDispatcher.backoff(5));
+        assertEquals(Duration.ofSeconds(10), outboxDispatcher.backoff(64));
+    }
+
+    private static OutboxEventEntity event(Long id, int ageSeconds) {
+        return OutboxEventEntity.builder()
+                .id(id)
+                .aggregateType(OutboxEventEntity.AggregateType.PRODUCT)
+                .aggregateId(id)
+                .eventType("updated")
+                .payload("{}")
+                .createdAt(NOW.minusSeconds(ageSeconds))
+                .build();
+    }
+}
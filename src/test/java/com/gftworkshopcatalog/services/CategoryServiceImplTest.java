@@ -1,5 +1,11 @@
 package com.gftworkshopcatalog.services;
 
+import com.gftworkshopcatalog.api.dto.PriceAdjustmentDTO;
+import com.gftworkshopcatalog.api.dto.PriceAdjustmentResultDTO;
+import com.gftworkshopcatalog.cache.CatalogSnapshot;
+import com.gftworkshopcatalog.cache.CatalogSnapshotStore;
+import com.gftworkshopcatalog.cache.ProductCache;
+import com.gftworkshopcatalog.events.ProductChangedEvent;
 import com.gftworkshopcatalog.exceptions.*;
 import com.gftworkshopcatalog.model.CategoryEntity;
 import com.gftworkshopcatalog.model.ProductEntity;
@@ -13,10 +19,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 
+import java.math.BigDecimal;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +38,14 @@ class CategoryServiceImplTest {
     private ProductRepository productRepository;
     @Mock
     private PromotionRepository promotionRepository;
+    @Mock
+    private ProductCache productCache;
+    @Mock
+    private CatalogSnapshotStore catalogSnapshotStore;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private OutboxService outboxService;
     @InjectMocks
     private CategoryServiceImpl categoryServiceImpl;
 
@@ -55,7 +71,7 @@ class CategoryServiceImplTest {
                 .build();
 
         List<CategoryEntity> mockCategoryEntities = Arrays.asList(categoryEntity, category2);
-        when(categoryRepository.findAll()).thenReturn(mockCategoryEntities);
+        when(catalogSnapshotStore.current()).thenReturn(CatalogSnapshot.of(List.of(), mockCategoryEntities, List.of()));
 
         List<CategoryEntity> allCategoryEntities = categoryServiceImpl.getAllCategories();
 
@@ -68,7 +84,7 @@ class CategoryServiceImplTest {
     @Test
     @DisplayName("Find all categories: Should return empty list when no categories exist")
     void shouldReturnEmptyListWhenNoCategoriesExist() {
-        when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
+        when(catalogSnapshotStore.current()).thenReturn(CatalogSnapshot.of(List.of(), List.of(), List.of()));
 
         List<CategoryEntity> allCategoryEntities = categoryServiceImpl.getAllCategories();
 
@@ -124,8 +140,8 @@ class CategoryServiceImplTest {
     @DisplayName("Delete Category: Success")
     void testDeleteCategory() {
         when(categoryRepository.findById(categoryEntity.getCategoryId())).thenReturn(Optional.of(categoryEntity));
-        when(productRepository.findByCategoryId(categoryEntity.getCategoryId())).thenReturn(List.of());
-        when(promotionRepository.findByCategoryId(categoryEntity.getCategoryId())).thenReturn(List.of());
+        when(productRepository.existsByCategoryId(categoryEntity.getCategoryId())).thenReturn(false);
+        when(promotionRepository.existsByCategoryId(categoryEntity.getCategoryId())).thenReturn(false);
 
         categoryServiceImpl.deleteCategoryById(categoryEntity.getCategoryId());
 
@@ -152,8 +168,8 @@ class CategoryServiceImplTest {
     @DisplayName("Delete Category: Handle DataAccessException")
     void testDeleteCategory_DataAccessException() {
         when(categoryRepository.findById(categoryEntity.getCategoryId())).thenReturn(Optional.of(categoryEntity));
-        when(productRepository.findByCategoryId(categoryEntity.getCategoryId())).thenReturn(List.of());
-        when(promotionRepository.findByCategoryId(categoryEntity.getCategoryId())).thenReturn(List.of());
+        when(productRepository.existsByCategoryId(categoryEntity.getCategoryId())).thenReturn(false);
+        when(promotionRepository.existsByCategoryId(categoryEntity.getCategoryId())).thenReturn(false);
         
         doThrow(new InternalServiceException("Failed to delete category with ID: " + categoryEntity.getCategoryId())).when(categoryRepository).delete(categoryEntity);
 
@@ -167,10 +183,11 @@ class CategoryServiceImplTest {
     void testFindProductsByCategoryId_Success() {
         Long categoryId = 1L;
         List<ProductEntity> products = new ArrayList<>();
-        products.add(new ProductEntity());
-        products.add(new ProductEntity());
+        products.add(ProductEntity.builder().id(1L).name("Jacket").price(65.0).categoryId(categoryId).build());
+        products.add(ProductEntity.builder().id(2L).name("Hat").price(15.0).categoryId(categoryId).build());
+        ProductEntity otherCategory = ProductEntity.builder().id(3L).name("Ball").price(5.0).categoryId(2L).build();
 
-        when(productRepository.findByCategoryId(categoryId)).thenReturn(products);
+        when(catalogSnapshotStore.current()).thenReturn(CatalogSnapshot.of(List.of(products.get(0), otherCategory, products.get(1)), List.of(), List.of()));
 
         List<ProductEntity> result = categoryServiceImpl.findProductsByCategoryId(categoryId);
 
@@ -183,9 +200,7 @@ class CategoryServiceImplTest {
     @DisplayName("Find products by category ID: Empty list")
     void testFindProductsByCategoryId_EmptyList() {
         Long categoryId = 1L;
-        List<ProductEntity> products = Collections.emptyList();
-
-        when(productRepository.findByCategoryId(categoryId)).thenReturn(products);
+        when(catalogSnapshotStore.current()).thenReturn(CatalogSnapshot.of(List.of(), List.of(), List.of()));
 
         NotFoundCategory exception = assertThrows(NotFoundCategory.class, () -> categoryServiceImpl.findProductsByCategoryId(categoryId),
                 "Expected findProductsByCategoryId to throw, but it did not");
@@ -237,5 +252,43 @@ class CategoryServiceImplTest {
 
         assertEquals("Example%", formattedName, "The formatted name should be 'Example%'");
     }
-}
 
+    @Test
+    @DisplayName("Adjust prices: Percentage becomes a factor and caches are invalidated")
+    void testAdjustPrices_Percentage() {
+        when(productRepository.adjustPricesRoundingDown(1L, new BigDecimal("0.85"), BigDecimal.ZERO, BigDecimal.TEN)).thenReturn(3);
+
+        PriceAdjustmentResultDTO result = categoryServiceImpl.adjustPrices(1L, PriceAdjustmentDTO.builder()
+                .type(PriceAdjustmentDTO.Type.PERCENTAGE)
+                .amount(new BigDecimal("-15"))
+                .rounding(PriceAdjustmentDTO.Rounding.DOWN)
+                .scale(1)
+                .build());
+
+        assertEquals(3, result.getUpdatedProducts());
+        verify(productCache).invalidateAll();
+        verify(eventPublisher).publishEvent(ProductChangedEvent.categoryRepriced(1L));
+        verifyNoInteractions(categoryRepository);
+    }
+
+    @Test
+    @DisplayName("Adjust prices: Nothing updated in an unknown category")
+    void testAdjustPrices_NotFound() {
+        when(productRepository.adjustPricesRoundingNearest(99L, BigDecimal.ONE, BigDecimal.ONE, 2)).thenReturn(0);
+        when(categoryRepository.findById(99L)).thenReturn(Optional.empty());
+
+        PriceAdjustmentDTO adjustment = PriceAdjustmentDTO.builder().type(PriceAdjustmentDTO.Type.ABSOLUTE).amount(BigDecimal.ONE).build();
+        assertThrows(NotFoundCategory.class, () -> categoryServiceImpl.adjustPrices(99L, adjustment));
+    }
+
+    @Test
+    @DisplayName("Adjust prices: Invalid adjustments are rejected before touching the database")
+    void testAdjustPrices_Invalid() {
+        PriceAdjustmentDTO noAmount = PriceAdjustmentDTO.builder().type(PriceAdjustmentDTO.Type.ABSOLUTE).build();
+        PriceAdjustmentDTO badScale = PriceAdjustmentDTO.builder().type(PriceAdjustmentDTO.Type.ABSOLUTE).amount(BigDecimal.ONE).scale(3).build();
+
+        assertThrows(BadRequest.class, () -> categoryServiceImpl.adjustPrices(1L, noAmount));
+        assertThrows(BadRequest.class, () -> categoryServiceImpl.adjustPrices(1L, badScale));
+        verifyNoInteractions(productRepository, productCache);
+    }
+}
@@ -1,27 +1,45 @@
 package com.gftworkshopcatalog.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.api.dto.ProductFilterDTO;
+import com.gftworkshopcatalog.api.dto.ProductPageDTO;
+import com.gftworkshopcatalog.api.dto.ProductStockDTO;
+import com.gftworkshopcatalog.api.dto.StockUpdateDTO;
+import com.gftworkshopcatalog.cache.CatalogSnapshot;
+import com.gftworkshopcatalog.cache.CatalogSnapshotStore;
+import com.gftworkshopcatalog.cache.ProductCache;
+import com.gftworkshopcatalog.events.ProductChangedEvent;
 import com.gftworkshopcatalog.exceptions.*;
+import com.gftworkshopcatalog.indexes.ActivePromotionIndex;
+import com.gftworkshopcatalog.model.OutboxEventEntity;
 import com.gftworkshopcatalog.model.ProductEntity;
 import com.gftworkshopcatalog.model.PromotionEntity;
 import com.gftworkshopcatalog.operations.ProductOperations;
 import com.gftworkshopcatalog.repositories.ProductRepository;
-import com.gftworkshopcatalog.repositories.PromotionRepository;
 import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 
@@ -30,19 +48,34 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
     @Mock
-    private PromotionRepository promotionRepository;
+    private ActivePromotionIndex activePromotionIndex;
+
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private CatalogSnapshotStore catalogSnapshotStore;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
-    @InjectMocks
     private ProductServiceImpl productServiceImpl;
     private ProductEntity product;
     private ProductEntity product1;
     private ProductEntity product2;
     private PromotionEntity promotion1;
+    private SimpleMeterRegistry meterRegistry;
 
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        productServiceImpl = new ProductServiceImpl(activePromotionIndex, productRepository,
+                new ProductCache(productRepository, 100, Duration.ofMinutes(10)), catalogSnapshotStore, entityManager, new ObjectMapper(),
+                meterRegistry, eventPublisher, outboxService, transactionManager);
         product = new ProductEntity();
         product.setId(1L);
         product.setCurrentStock(100);
@@ -81,13 +114,60 @@ class ProductServiceImplTest {
     @Test
     @DisplayName("Find all products - Success")
     void findAllProducts_Success() {
-        List<ProductEntity> products = List.of(new ProductEntity());
-        when(productRepository.findAll()).thenReturn(products);
+        when(catalogSnapshotStore.current()).thenReturn(CatalogSnapshot.of(List.of(product1), List.of(), List.of()));
         List<ProductEntity> result = productServiceImpl.findAllProducts();
         assertNotNull(result);
         assertFalse(result.isEmpty());
     }
 
+    @Test
+    @DisplayName("Find page of products - Next cursor when more rows exist")
+    void findProductsPage_HasNextPage() {
+        when(catalogSnapshotStore.current()).thenReturn(CatalogSnapshot.of(List.of(product1, product2), List.of(), List.of()));
+
+        ProductPageDTO page = productServiceImpl.findProductsPage(ProductFilterDTO.builder().size(1).build());
+
+        assertEquals(List.of(product1), page.getContent());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Find page of products - Cursor continues in sort order and filters apply")
+    void findProductsPage_CursorAndFilters() {
+        ProductEntity product3 = ProductEntity.builder().id(3L).name("Ball").price(65.0).categoryId(2L).currentStock(0).build();
+        when(catalogSnapshotStore.current()).thenReturn(CatalogSnapshot.of(List.of(product1, product2, product3), List.of(), List.of()));
+
+        ProductPageDTO first = productServiceImpl.findProductsPage(ProductFilterDTO.builder().sort("price").size(1).build());
+        ProductPageDTO second = productServiceImpl.findProductsPage(ProductFilterDTO.builder().sort("price").size(1)
+                .cursor(first.getNextCursor()).build());
+        ProductPageDTO inStock = productServiceImpl.findProductsPage(ProductFilterDTO.builder().sort("price")
+                .inStock(true).minPrice(60.0).build());
+
+        assertEquals(List.of(product1), first.getContent());
+        assertEquals(List.of(product3), second.getContent());
+        assertEquals(List.of(product1, product2), inStock.getContent());
+    }
+
+    @Test
+    @DisplayName("Find page of products - Last page has no cursor")
+    void findProductsPage_LastPage() {
+        when(catalogSnapshotStore.current()).thenReturn(CatalogSnapshot.of(List.of(product1, product2), List.of(), List.of()));
+
+        ProductPageDTO page = productServiceImpl.findProductsPage(ProductFilterDTO.builder().size(2).build());
+
+        assertEquals(2, page.getContent().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Find page of products - Invalid page size")
+    void findProductsPage_InvalidSize() {
+        ProductFilterDTO filter = ProductFilterDTO.builder().size(0).build();
+
+        assertThrows(BadRequest.class, () -> productServiceImpl.findProductsPage(filter));
+        verify(catalogSnapshotStore, never()).current();
+    }
+
     @Test
     @DisplayName("Find product by ID - Success")
     void findProductById_Success() {
@@ -98,6 +178,31 @@ class ProductServiceImplTest {
         assertNotNull(result);
     }
 
+    @Test
+    @DisplayName("Find product by ID - Served from cache on repeated calls")
+    void findProductById_Cached() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product1));
+
+        productServiceImpl.findProductById(1L);
+        ProductEntity result = productServiceImpl.findProductById(1L);
+
+        assertEquals(product1, result);
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Update product price - Invalidates cached product")
+    void updateProductPrice_EvictsCache() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product1));
+        when(productRepository.save(product1)).thenReturn(product1);
+
+        productServiceImpl.findProductById(1L);
+        productServiceImpl.updateProductPrice(1L, 70.0);
+        productServiceImpl.findProductById(1L);
+
+        verify(productRepository, times(3)).findById(1L);
+    }
+
     @Test
     @DisplayName("Find product by ID - Not Found")
     void findProductById_NotFound() {
@@ -159,6 +264,7 @@ class ProductServiceImplTest {
         when(productRepository.findById(productId)).thenReturn(Optional.of(product));
         productServiceImpl.deleteProduct(productId);
         verify(productRepository).delete(product);
+        verify(eventPublisher).publishEvent(ProductChangedEvent.deleted(product));
     }
     @Test
     @DisplayName("Update product with null details - Throws Exception")
@@ -183,6 +289,8 @@ class ProductServiceImplTest {
         when(productRepository.save(product)).thenReturn(product);
         ProductEntity result = productServiceImpl.updateProductPrice(productId, newPrice);
         assertEquals(newPrice, result.getPrice());
+        verify(eventPublisher).publishEvent(ProductChangedEvent.priceChanged(product));
+        verify(outboxService).record(OutboxEventEntity.AggregateType.PRODUCT, product.getId(), OutboxService.PRICE_CHANGED, product);
     }
     @Test
     @DisplayName("Update product price with negative price - Throws Exception")
@@ -198,34 +306,145 @@ class ProductServiceImplTest {
     }
 
 
+    @Test
+    @DisplayName("Update product - Retries from a fresh read after an optimistic lock conflict")
+    void updateProduct_RetriesAfterConflict() {
+        ProductEntity stale = ProductEntity.builder().id(1L).version(3L).build();
+        ProductEntity fresh = ProductEntity.builder().id(1L).version(4L).build();
+        when(productRepository.findById(1L)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(productRepository.save(stale)).thenThrow(new ObjectOptimisticLockingFailureException(ProductEntity.class, 1L));
+        when(productRepository.save(fresh)).thenReturn(fresh);
+
+        ProductEntity result = productServiceImpl.updateProduct(1L, product1);
+
+        assertSame(fresh, result);
+        assertEquals("Jacket", fresh.getName());
+        verify(entityManager).clear();
+        assertEquals(1.0, meterRegistry.get("catalog.product.write.conflicts")
+                .tags("operation", "update", "outcome", "retried").counter().count());
+    }
+
+    @Test
+    @DisplayName("Update product price - Gives up after the bounded number of conflicts")
+    void updateProductPrice_ConflictsExhausted() {
+        when(productRepository.findById(1L)).thenAnswer(invocation -> Optional.of(ProductEntity.builder().id(1L).version(1L).build()));
+        when(productRepository.save(any(ProductEntity.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ProductEntity.class, 1L));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> productServiceImpl.updateProductPrice(1L, 70.0));
+
+        verify(productRepository, times(4)).save(any(ProductEntity.class));
+        assertEquals(3.0, meterRegistry.get("catalog.product.write.conflicts")
+                .tags("operation", "price", "outcome", "retried").counter().count());
+        assertEquals(1.0, meterRegistry.get("catalog.product.write.conflicts")
+                .tags("operation", "price", "outcome", "exhausted").counter().count());
+    }
+
+    @Test
+    @DisplayName("Update product price - Stale If-Match version is rejected without saving")
+    void updateProductPrice_VersionMismatch() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(ProductEntity.builder().id(1L).version(5L).build()));
+
+        assertThrows(PreconditionFailed.class, () -> productServiceImpl.updateProductPrice(1L, 70.0, 4L));
+
+        verify(productRepository, never()).save(any(ProductEntity.class));
+        assertEquals(1.0, meterRegistry.get("catalog.product.write.conflicts")
+                .tags("operation", "price", "outcome", "precondition_failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Update product stock - Stale If-Match version is rejected")
+    void updateProductStock_VersionMismatch() {
+        when(productRepository.addStockIfSufficientAtVersion(1L, 5, 2L)).thenReturn(0);
+        when(productRepository.existsById(1L)).thenReturn(true);
+        when(productRepository.existsByIdAndVersion(1L, 2L)).thenReturn(false);
+
+        assertThrows(PreconditionFailed.class, () -> productServiceImpl.updateProductStock(1L, 5, 2L));
+
+        verify(productRepository, never()).addStockIfSufficient(anyLong(), anyInt());
+    }
+
     @Test
     @DisplayName("Update product stock - Success")
     void updateProductStock_Success() {
         int quantity = 50;
+        product.setCurrentStock(150);
+        when(productRepository.addStockIfSufficient(1L, quantity)).thenReturn(1);
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(ProductEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         ProductEntity updatedProduct = productServiceImpl.updateProductStock(1L, quantity);
 
         assertNotNull(updatedProduct);
         assertEquals(150, updatedProduct.getCurrentStock());
-        verify(productRepository).save(product);
+        verify(productRepository).addStockIfSufficient(1L, quantity);
+        verify(productRepository, never()).save(any(ProductEntity.class));
     }
     @Test
     @DisplayName("Fail to update product stock due to insufficient stock")
     void testUpdateProductStock_FailDueToInsufficientStock() {
 
         int quantity = -150;
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.addStockIfSufficient(1L, quantity)).thenReturn(0);
+        when(productRepository.existsById(1L)).thenReturn(true);
 
         BadRequest exception = assertThrows(BadRequest.class, () -> productServiceImpl.updateProductStock(1L, quantity),
                 "Should throw BadRequest due to insufficient stock");
 
         assertEquals("Insufficient stock to decrement by " + (quantity), exception.getMessage());
+        assertEquals(1.0, meterRegistry.get("catalog.stock.update.conflicts").tag("reason", "insufficient_stock").counter().count());
         verify(productRepository, never()).save(any(ProductEntity.class));
     }
+    @Test
+    @DisplayName("Fail to update product stock due to unknown product")
+    void testUpdateProductStock_NotFound() {
+        when(productRepository.addStockIfSufficient(999L, 5)).thenReturn(0);
+        when(productRepository.existsById(999L)).thenReturn(false);
+
+        assertThrows(NotFoundProduct.class, () -> productServiceImpl.updateProductStock(999L, 5));
+        verify(productRepository, never()).save(any(ProductEntity.class));
+    }
+
+
+
+    @Test
+    @DisplayName("Update stock of several products - Applied in ascending ID order")
+    void updateProductsStock_Success() {
+        List<StockUpdateDTO> stockUpdates = List.of(
+                new StockUpdateDTO(2L, -5),
+                new StockUpdateDTO(1L, 10),
+                new StockUpdateDTO(2L, 2));
+        when(productRepository.addStockIfSufficient(anyLong(), anyInt())).thenReturn(1);
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1, product2));
+
+        List<ProductStockDTO> result = productServiceImpl.updateProductsStock(stockUpdates);
+
+        InOrder inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).addStockIfSufficient(1L, 10);
+        inOrder.verify(productRepository).addStockIfSufficient(2L, -3);
+        assertEquals(List.of(new ProductStockDTO(1L, 26), new ProductStockDTO(2L, 25)), result);
+    }
 
+    @Test
+    @DisplayName("Update stock of several products - Insufficient stock stops the batch")
+    void updateProductsStock_InsufficientStock() {
+        List<StockUpdateDTO> stockUpdates = List.of(
+                new StockUpdateDTO(1L, -500),
+                new StockUpdateDTO(2L, -1));
+        when(productRepository.addStockIfSufficient(1L, -500)).thenReturn(0);
+        when(productRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(BadRequest.class, () -> productServiceImpl.updateProductsStock(stockUpdates));
+        verify(productRepository, never()).addStockIfSufficient(2L, -1);
+    }
 
+    @Test
+    @DisplayName("Update stock of several products - Missing quantity")
+    void updateProductsStock_NullQuantity() {
+        List<StockUpdateDTO> stockUpdates = List.of(new StockUpdateDTO(1L, null));
+
+        assertThrows(BadRequest.class, () -> productServiceImpl.updateProductsStock(stockUpdates));
+        verify(productRepository, never()).addStockIfSufficient(anyLong(), anyInt());
+    }
 
     @Test
     @DisplayName("Find products by IDs - Success")
@@ -260,7 +479,7 @@ class ProductServiceImplTest {
         ProductEntity product = new ProductEntity();
         product.setPrice(100.0);
         when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-        when(promotionRepository.findActivePromotionByCategoryId(product.getCategoryId())).thenReturn(null);
+        when(activePromotionIndex.findActiveVolumePromotion(product.getCategoryId())).thenReturn(null);
         double result = productServiceImpl.calculateDiscountedPrice(productId, quantity);
         assertEquals(100.0, result);
     }
@@ -273,10 +492,7 @@ class ProductServiceImplTest {
                 new CartProductDTO(2L, 2L, "Building Blocks", "Agent word occur number chair.",5, new BigDecimal("100.0"))
         );
 
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product1));
-        when(productRepository.findById(2L)).thenReturn(Optional.of(product2));
-        when(promotionRepository.findActivePromotionByCategoryId(1L)).thenReturn(null);
-        when(promotionRepository.findActivePromotionByCategoryId(2L)).thenReturn(null);
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1, product2));
 
         List<ProductEntity> result = productServiceImpl.calculateListDiscountedPrice(cartProducts);
 
@@ -293,10 +509,8 @@ class ProductServiceImplTest {
                 new CartProductDTO(2L, 2L, "Building Blocks", "Agent word occur number chair.",5, new BigDecimal("100.0"))
         );
 
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product1));
-        when(productRepository.findById(2L)).thenReturn(Optional.of(product2));
-        when(promotionRepository.findActivePromotionByCategoryId(1L)).thenReturn(null);
-        when(promotionRepository.findActivePromotionByCategoryId(2L)).thenReturn(promotion1);
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1, product2));
+        when(activePromotionIndex.findActiveVolumePromotion(2L)).thenReturn(promotion1);
 
         List<ProductEntity> result = productServiceImpl.calculateListDiscountedPrice(cartProducts);
 
@@ -305,6 +519,90 @@ class ProductServiceImplTest {
         assertEquals(400.0, result.get(1).getPrice());
     }
 
+    @Test
+    @DisplayName("Calculate discounted price - Seasonal and volume promotions stack on the stored price")
+    void calculateDiscountedPriceV2_seasonalAndVolumePromotion() {
+        PromotionEntity seasonalPromotion = PromotionEntity.builder()
+                .categoryId(2L)
+                .isActive(true)
+                .promotionType("SEASONAL")
+                .volumeThreshold(1)
+                .discount(0.10)
+                .build();
+        List<CartProductDTO> cartProducts = List.of(
+                new CartProductDTO(1L, 2L, "Building Blocks", "Agent word occur number chair.",5, new BigDecimal("100.0")));
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(product2));
+        when(activePromotionIndex.findActiveSeasonalPromotion(2L)).thenReturn(seasonalPromotion);
+        when(activePromotionIndex.findActiveVolumePromotion(2L)).thenReturn(promotion1);
+
+        List<ProductEntity> result = productServiceImpl.calculateListDiscountedPrice(cartProducts);
+        List<ProductEntity> again = productServiceImpl.calculateListDiscountedPrice(cartProducts);
+
+        assertEquals(360.0, result.get(0).getPrice(), 0.0001);
+        assertEquals(360.0, again.get(0).getPrice(), 0.0001);
+        assertEquals(100.0, product2.getPrice());
+        verify(productRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Calculate discounted price - Seasonal promotion ignores the volume threshold")
+    void calculateDiscountedPriceV2_seasonalPromotionIgnoresThreshold() {
+        PromotionEntity seasonalPromotion = PromotionEntity.builder()
+                .categoryId(2L)
+                .isActive(true)
+                .promotionType("SEASONAL")
+                .volumeThreshold(10)
+                .discount(0.10)
+                .build();
+        List<CartProductDTO> cartProducts = List.of(
+                new CartProductDTO(1L, 2L, "Building Blocks", "Agent word occur number chair.",1, new BigDecimal("100.0")));
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(product2));
+        when(activePromotionIndex.findActiveSeasonalPromotion(2L)).thenReturn(seasonalPromotion);
+
+        List<ProductEntity> result = productServiceImpl.calculateListDiscountedPrice(cartProducts);
+
+        assertEquals(90.0, result.get(0).getPrice(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Calculate discounted price - Duplicate lines merged in cart order")
+    void calculateDiscountedPriceV2_mergesDuplicateLines() {
+        List<CartProductDTO> cartProducts = Arrays.asList(
+                new CartProductDTO(1L, 2L, "Building Blocks", "Agent word occur number chair.",3, new BigDecimal("100.0")),
+                new CartProductDTO(2L, 1L, "Jacket", "Something indicate large central measure watch provide.",1, new BigDecimal("65.0")),
+                new CartProductDTO(3L, 2L, "Building Blocks", "Agent word occur number chair.",2, new BigDecimal("100.0"))
+        );
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1, product2));
+        when(activePromotionIndex.findActiveVolumePromotion(2L)).thenReturn(promotion1);
+
+        List<ProductEntity> result = productServiceImpl.calculateListDiscountedPrice(cartProducts);
+
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).getId());
+        assertEquals(400.0, result.get(0).getPrice());
+        assertEquals(1L, result.get(1).getId());
+        assertEquals(65.0, result.get(1).getPrice());
+        verify(productRepository, times(1)).findAllById(any());
+        verify(productRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Calculate discounted price - Product not found")
+    void calculateDiscountedPriceV2_productNotFound() {
+        List<CartProductDTO> cartProducts = Arrays.asList(
+                new CartProductDTO(1L, 1L, "Jacket", "Something indicate large central measure watch provide.",1, new BigDecimal("65.0")),
+                new CartProductDTO(2L, 999L, "Unknown", "Unknown",1, new BigDecimal("10.0"))
+        );
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(product1));
+
+        assertThrows(NotFoundProduct.class, () -> productServiceImpl.calculateListDiscountedPrice(cartProducts));
+        verify(activePromotionIndex, never()).findActiveVolumePromotion(any());
+    }
+
     @Test
     @DisplayName("Calculate new price - Below volume threshold")
     void calculateNewPriceV2_belowThreshold() {
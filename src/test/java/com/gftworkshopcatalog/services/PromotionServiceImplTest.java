@@ -1,28 +1,36 @@
 package com.gftworkshopcatalog.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gftworkshopcatalog.cache.CatalogSnapshot;
+import com.gftworkshopcatalog.cache.CatalogSnapshotStore;
+import com.gftworkshopcatalog.cache.ProductCache;
 import com.gftworkshopcatalog.exceptions.AddProductInvalidArgumentsExceptions;
 import com.gftworkshopcatalog.exceptions.InternalServiceException;
 import com.gftworkshopcatalog.exceptions.NotFoundProduct;
 import com.gftworkshopcatalog.exceptions.NotFoundPromotion;
+import com.gftworkshopcatalog.indexes.ActivePromotionIndex;
+import com.gftworkshopcatalog.model.OutboxEventEntity;
 import com.gftworkshopcatalog.model.ProductEntity;
 import com.gftworkshopcatalog.model.PromotionEntity;
 import com.gftworkshopcatalog.repositories.ProductRepository;
 import com.gftworkshopcatalog.repositories.PromotionRepository;
 import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
 import com.gftworkshopcatalog.services.impl.PromotionServiceImpl;
-import com.gftworkshopcatalog.services.impl.StatusPromotionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.dao.DataAccessException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,13 +43,24 @@ class PromotionServiceImplTest {
     private PromotionRepository promotionRepository;
     @Mock
     private ProductRepository productRepository;
+    @Mock
+    private ActivePromotionIndex activePromotionIndex;
+    @Mock
+    private PromotionUpdateService promotionUpdateService;
+    @Mock
+    private CatalogSnapshotStore catalogSnapshotStore;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private PromotionServiceImpl promotionServiceImpl;
 
-    @InjectMocks
-    private StatusPromotionServiceImpl statusPromotionServiceImpl;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
-    @InjectMocks
     private ProductServiceImpl productServiceImpl;
 
     private ProductEntity product;
@@ -50,6 +69,7 @@ class PromotionServiceImplTest {
     @BeforeEach
     void setUp(){
         MockitoAnnotations.openMocks(this);
+        productServiceImpl = productServiceWith(activePromotionIndex);
 
         product = new ProductEntity();
         product.setId(1L);
@@ -82,7 +102,7 @@ class PromotionServiceImplTest {
                 .build();
 
         List<PromotionEntity> mockPromotionEntities = Arrays.asList(promotionEntity, promotion2);
-        when(promotionRepository.findAll()).thenReturn(mockPromotionEntities);
+        when(catalogSnapshotStore.current()).thenReturn(CatalogSnapshot.of(List.of(), List.of(), mockPromotionEntities));
         List<PromotionEntity> allPromotionEntities = promotionServiceImpl.findAllPromotions();
 
         assertNotNull(allPromotionEntities, "The promotion list should not be null");
@@ -94,7 +114,7 @@ class PromotionServiceImplTest {
     @DisplayName("Find all promotions - Should return empty list when no promotions exist")
     void shouldReturnEmptyListWhenNoPromotionsExists(){
 
-        when(promotionRepository.findAll()).thenReturn(Collections.emptyList());
+        when(catalogSnapshotStore.current()).thenReturn(CatalogSnapshot.of(List.of(), List.of(), List.of()));
 
         List<PromotionEntity>allPromotionEntities = promotionServiceImpl.findAllPromotions();
 
@@ -102,15 +122,6 @@ class PromotionServiceImplTest {
         assertTrue(allPromotionEntities.isEmpty(),"The promotion list should be empty");
     }
     @Test
-    @DisplayName("Find all promotions - DataAccessException")
-    void testFindAllPromotionsDataAccessException() {
-        when(promotionRepository.findAll()).thenThrow(new DataAccessException("Failed to access data") {});
-
-        assertThrows(DataAccessException.class, () -> {
-            promotionServiceImpl.findAllPromotions();
-        });
-    }
-    @Test
     @DisplayName("Find promotion by ID - Success")
     void test_findPromotionById(){
         when(promotionRepository.findById(1L)).thenReturn(Optional.of(promotionEntity));
@@ -144,6 +155,8 @@ class PromotionServiceImplTest {
         promotionServiceImpl.deletePromotion(promotionEntity.getPromotionId());
 
         verify(promotionRepository, times(1)).delete(promotionEntity);
+        verify(activePromotionIndex).refresh(promotionEntity.getPromotionId());
+        verify(promotionUpdateService).reschedule(promotionEntity.getPromotionId());
     }
     @Test
     @DisplayName("Delete Promotion - NotFoundPromotion")
@@ -182,6 +195,9 @@ class PromotionServiceImplTest {
         assertNotNull(savedPromotion);
         assertEquals(0.20, savedPromotion.getDiscount());
         verify(promotionRepository).save(validPromotion);
+        verify(activePromotionIndex).refresh(validPromotion.getPromotionId());
+        verify(promotionUpdateService).reschedule(validPromotion.getPromotionId());
+        verify(outboxService).record(OutboxEventEntity.AggregateType.PROMOTION, validPromotion.getPromotionId(), OutboxService.CREATED, validPromotion);
     }
     @Test
     @DisplayName("Add a new promotion - IllegalArgumentException when promotion details are null")
@@ -225,6 +241,8 @@ class PromotionServiceImplTest {
                 () -> assertEquals(LocalDate.of(2024, 9, 1), result.getEndDate())
         );
         verify(promotionRepository).save(promotionEntity);
+        verify(activePromotionIndex).refresh(updateDetails.getPromotionId());
+        verify(promotionUpdateService).reschedule(updateDetails.getPromotionId());
     }
     @Test
     @DisplayName("Update Promotion - Null Details Exception")
@@ -281,7 +299,7 @@ class PromotionServiceImplTest {
     @DisplayName("Calculate Discounted Price - No Active Promotion")
     void testCalculateDiscountedPrice_NoActivePromotion() {
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(promotionRepository.findActivePromotionByCategoryId(1L)).thenReturn(null);
+        when(activePromotionIndex.findActiveVolumePromotion(1L)).thenReturn(null);
 
         double price = productServiceImpl.calculateDiscountedPrice(1L, 5);
 
@@ -292,12 +310,15 @@ class PromotionServiceImplTest {
     @DisplayName("Calculate Discounted Price - Active Promotion But Not Volume")
     void testCalculateDiscountedPrice_ActivePromotionButNotVolume() {
         promotionEntity.setPromotionType("SEASONAL");
+        promotionEntity.setStartDate(LocalDate.now().minusDays(1));
+        promotionEntity.setEndDate(LocalDate.now().plusDays(1));
+        ActivePromotionIndex index = new ActivePromotionIndex(promotionRepository);
+        index.put(promotionEntity);
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(promotionRepository.findActivePromotionByCategoryId(1L)).thenReturn(promotionEntity);
 
-        double price = productServiceImpl.calculateDiscountedPrice(1L, 5);
+        double price = productServiceWith(index).calculateDiscountedPrice(1L, 5);
 
-        assertEquals(100.0, price);
+        assertEquals(80.0, price, "The seasonal discount applies once and is not taken for a volume discount");
     }
 
     @Test
@@ -305,7 +326,7 @@ class PromotionServiceImplTest {
     void testCalculateDiscountedPrice_VolumePromotionButThresholdNotMet() {
         promotionEntity.setIsActive(true);
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(promotionRepository.findActivePromotionByCategoryId(1L)).thenReturn(promotionEntity);
+        when(activePromotionIndex.findActiveVolumePromotion(1L)).thenReturn(promotionEntity);
 
         double price = productServiceImpl.calculateDiscountedPrice(1L, 3);
 
@@ -317,11 +338,16 @@ class PromotionServiceImplTest {
     void testCalculateDiscountedPrice_VolumePromotionThresholdMet() {
         promotionEntity.setIsActive(true);
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(promotionRepository.findActivePromotionByCategoryId(1L)).thenReturn(promotionEntity);
+        when(activePromotionIndex.findActiveVolumePromotion(1L)).thenReturn(promotionEntity);
 
         double price = productServiceImpl.calculateDiscountedPrice(1L, 5);
 
         assertEquals(80.0, price);
     }
-}
 
+    private ProductServiceImpl productServiceWith(ActivePromotionIndex index) {
+        return new ProductServiceImpl(index, productRepository,
+                new ProductCache(productRepository, 100, Duration.ofMinutes(10)), catalogSnapshotStore, entityManager, new ObjectMapper(),
+                new SimpleMeterRegistry(), event -> { }, outboxService, transactionManager);
+    }
+}
@@ -0,0 +1,178 @@
+package com.gftworkshopcatalog.services;
+
+import com.gftworkshopcatalog.events.CatalogChangedEvent;
+import com.gftworkshopcatalog.indexes.ActivePromotionIndex;
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.PromotionRepository;
+import com.gftworkshopcatalog.services.impl.PromotionUpdateServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PromotionUpdateServiceImplTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+
+    @Mock
+    private PromotionRepository promotionRepository;
+    @Mock
+    private ActivePromotionIndex activePromotionIndex;
+    @Mock
+    private ScheduledExecutorService executor;
+    @Mock
+    private Clock clock;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PromotionUpdateServiceImpl promotionUpdateService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(clock.getZone()).thenReturn(ZONE);
+        setToday(TODAY);
+        promotionUpdateService = new PromotionUpdateServiceImpl(promotionRepository, activePromotionIndex, clock, executor, eventPublisher, true);
+    }
+
+    @Test
+    @DisplayName("Load boundaries - Corrects stale flags in one update per state")
+    void loadBoundaries_correctsStaleFlags() {
+        when(promotionRepository.findAll()).thenReturn(List.of(
+                promotion(1L, TODAY.minusDays(10), TODAY.minusDays(1), true),
+                promotion(2L, TODAY.minusDays(10), TODAY.minusDays(2), true),
+                promotion(3L, TODAY.minusDays(1), TODAY.plusDays(1), false),
+                promotion(4L, TODAY.minusDays(1), TODAY.plusDays(1), true)));
+        when(promotionRepository.updateIsActive(anyCollection(), anyBoolean())).thenAnswer(invocation ->
+                ((Collection<?>) invocation.getArgument(0)).size());
+
+        promotionUpdateService.loadBoundaries();
+
+        verify(promotionRepository).updateIsActive(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(1L, 2L))), eq(false));
+        verify(promotionRepository).updateIsActive(List.of(3L), true);
+        verify(activePromotionIndex).setActive(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(1L, 2L))), eq(false));
+        verify(activePromotionIndex).setActive(List.of(3L), true);
+        verify(promotionRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Apply due boundaries - Flips only promotions whose boundary has passed")
+    void applyDueBoundaries_flipsOnlyDuePromotions() {
+        promotionUpdateService.schedule(promotion(1L, TODAY.plusDays(1), TODAY.plusDays(5), false));
+        promotionUpdateService.schedule(promotion(2L, TODAY.plusDays(3), TODAY.plusDays(5), false));
+        when(promotionRepository.updateIsActive(anyCollection(), anyBoolean())).thenReturn(1);
+
+        assertEquals(0, promotionUpdateService.applyDueBoundaries());
+        verifyNoInteractions(eventPublisher);
+        setToday(TODAY.plusDays(1));
+        assertEquals(1, promotionUpdateService.applyDueBoundaries());
+        verify(eventPublisher).publishEvent(CatalogChangedEvent.promotions());
+        setToday(TODAY.plusDays(6));
+        promotionUpdateService.applyDueBoundaries();
+
+        verify(promotionRepository).updateIsActive(List.of(1L), true);
+        verify(promotionRepository).updateIsActive(argThat(ids -> ids.size() == 2), eq(false));
+        verify(promotionRepository, never()).updateIsActive(List.of(2L), true);
+        verify(promotionRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Schedule - Wakes up at the start of the next boundary day")
+    void schedule_timerSetForNextBoundary() {
+        promotionUpdateService.schedule(promotion(1L, TODAY.plusDays(2), TODAY.plusDays(5), false));
+
+        verify(executor).schedule(any(Callable.class), eq(TimeUnit.DAYS.toMillis(2)), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Reschedule - Follows the committed dates, not the ones handed over")
+    void reschedule_usesCommittedRow() {
+        promotionUpdateService.schedule(promotion(1L, TODAY.plusDays(1), TODAY.plusDays(5), false));
+        when(promotionRepository.findById(1L)).thenReturn(Optional.of(promotion(1L, TODAY.plusDays(3), TODAY.plusDays(5), false)));
+        when(promotionRepository.updateIsActive(anyCollection(), anyBoolean())).thenReturn(1);
+
+        promotionUpdateService.reschedule(1L);
+        setToday(TODAY.plusDays(1));
+        assertEquals(0, promotionUpdateService.applyDueBoundaries());
+        setToday(TODAY.plusDays(3));
+        assertEquals(1, promotionUpdateService.applyDueBoundaries());
+
+        when(promotionRepository.findById(1L)).thenReturn(Optional.empty());
+        promotionUpdateService.reschedule(1L);
+        setToday(TODAY.plusDays(10));
+        assertEquals(0, promotionUpdateService.applyDueBoundaries());
+        verify(promotionRepository, times(1)).updateIsActive(anyCollection(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Unschedule - Removed promotions are never flipped")
+    void unschedule_dropsBoundaries() {
+        promotionUpdateService.schedule(promotion(1L, TODAY.plusDays(1), TODAY.plusDays(5), false));
+        promotionUpdateService.unschedule(1L);
+        setToday(TODAY.plusDays(10));
+
+        assertEquals(0, promotionUpdateService.applyDueBoundaries());
+        verifyNoInteractions(promotionRepository);
+    }
+
+    @Test
+    @DisplayName("Apply due boundaries - Failed update is retried")
+    void applyDueBoundaries_retriesAfterFailure() {
+        promotionUpdateService.schedule(promotion(1L, TODAY.minusDays(1), TODAY.plusDays(5), false));
+        when(promotionRepository.updateIsActive(anyCollection(), anyBoolean()))
+                .thenThrow(new RuntimeException("Database unavailable"))
+                .thenReturn(1);
+
+        assertEquals(0, promotionUpdateService.applyDueBoundaries());
+        verifyNoInteractions(activePromotionIndex);
+        assertEquals(1, promotionUpdateService.applyDueBoundaries());
+        verify(activePromotionIndex).setActive(List.of(1L), true);
+        verify(executor).schedule(any(Callable.class), eq(TimeUnit.MINUTES.toMillis(1)), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Disabled - Neither loads nor schedules anything")
+    void disabled_doesNothing() {
+        PromotionUpdateServiceImpl disabled = new PromotionUpdateServiceImpl(promotionRepository, activePromotionIndex, clock, executor, eventPublisher, false);
+
+        disabled.onApplicationReady();
+        disabled.schedule(promotion(1L, TODAY.minusDays(1), TODAY.plusDays(5), false));
+
+        verifyNoInteractions(executor, promotionRepository, activePromotionIndex);
+    }
+
+    private void setToday(LocalDate today) {
+        when(clock.instant()).thenReturn(today.atStartOfDay(ZONE).toInstant());
+    }
+
+    private PromotionEntity promotion(Long id, LocalDate start, LocalDate end, boolean isActive) {
+        return PromotionEntity.builder()
+                .promotionId(id)
+                .categoryId(1L)
+                .discount(0.10)
+                .promotionType("SEASONAL")
+                .volumeThreshold(1)
+                .startDate(start)
+                .endDate(end)
+                .isActive(isActive)
+                .build();
+    }
+}
@@ -1,8 +1,6 @@
 package com.gftworkshopcatalog.utils;
 
 import com.gftworkshopcatalog.exceptions.InternalServiceException;
-import com.gftworkshopcatalog.model.ProductEntity;
-import com.gftworkshopcatalog.model.PromotionEntity;
 import com.gftworkshopcatalog.repositories.CategoryRepository;
 import com.gftworkshopcatalog.repositories.ProductRepository;
 import com.gftworkshopcatalog.repositories.PromotionRepository;
@@ -12,10 +10,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.util.Collections;
-import java.util.List;
-
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,27 +34,22 @@ class CategoryValidationUtilTest {
     @DisplayName("Validate category deletion fails due to associated products")
     void testValidateCategoryDeletionFailsDueToProducts() {
         Long categoryId = 1L;
-        List<ProductEntity> products = List.of(new ProductEntity());
-        List<PromotionEntity> promotions = Collections.emptyList();
-
-        when(productRepository.findByCategoryId(categoryId)).thenReturn(products);
-        when(promotionRepository.findByCategoryId(categoryId)).thenReturn(promotions);
+        when(productRepository.existsByCategoryId(categoryId)).thenReturn(true);
+        when(promotionRepository.existsByCategoryId(categoryId)).thenReturn(false);
 
         InternalServiceException exception = assertThrows(InternalServiceException.class,
                 () -> categoryValidationUtils.validateCategoryDeletion(categoryId),
                 "Should throw because category is referenced by products");
 
         assertEquals("Cannot delete category because it´s referenced by products.", exception.getMessage());
+        verify(productRepository, never()).findByCategoryId(categoryId);
     }
     @Test
     @DisplayName("Validate category deletion fails due to associated promotions")
     void testValidateCategoryDeletionFailsDueToPromotions() {
         Long categoryId = 1L;
-        List<ProductEntity> products = Collections.emptyList();
-        List<PromotionEntity> promotions = List.of(new PromotionEntity());
-
-        when(productRepository.findByCategoryId(categoryId)).thenReturn(products);
-        when(promotionRepository.findByCategoryId(categoryId)).thenReturn(promotions);
+        when(productRepository.existsByCategoryId(categoryId)).thenReturn(false);
+        when(promotionRepository.existsByCategoryId(categoryId)).thenReturn(true);
 
         InternalServiceException exception = assertThrows(InternalServiceException.class,
                 () -> categoryValidationUtils.validateCategoryDeletion(categoryId),
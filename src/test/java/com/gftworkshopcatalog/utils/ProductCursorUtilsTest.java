@@ -0,0 +1,47 @@
+package com.gftworkshopcatalog.utils;
+
+import com.gftworkshopcatalog.exceptions.BadRequest;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductSortField;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCursorUtilsTest {
+
+    private final ProductEntity product = new ProductEntity(7L, "Board: Game", "Fun", 35.5, 2L, 1.2, 70, 10);
+
+    @Test
+    @DisplayName("Encode and decode cursor - Success")
+    void encodeAndDecode_Success() {
+        for (ProductSortField sortField : ProductSortField.values()) {
+            String cursor = ProductCursorUtils.encode(sortField, product);
+            assertFalse(cursor.contains(":"), "Cursor should be opaque");
+            assertNotNull(ProductCursorUtils.decode(sortField, cursor));
+        }
+    }
+
+    @Test
+    @DisplayName("Decode cursor - Malformed token")
+    void decode_Malformed() {
+        assertThrows(BadRequest.class, () -> ProductCursorUtils.decode(ProductSortField.ID, "%%%"));
+        assertThrows(BadRequest.class, () -> ProductCursorUtils.decode(ProductSortField.ID, "bm90LWEtY3Vyc29y"));
+    }
+
+    @Test
+    @DisplayName("Decode cursor - Issued for another sort")
+    void decode_SortMismatch() {
+        String cursor = ProductCursorUtils.encode(ProductSortField.PRICE, product);
+
+        assertThrows(BadRequest.class, () -> ProductCursorUtils.decode(ProductSortField.NAME, cursor));
+    }
+
+    @Test
+    @DisplayName("Sort field - Invalid value")
+    void sortField_Invalid() {
+        assertEquals(ProductSortField.ID, ProductSortField.from(null));
+        assertEquals(ProductSortField.PRICE, ProductSortField.from("Price"));
+        assertThrows(BadRequest.class, () -> ProductSortField.from("weight"));
+    }
+}
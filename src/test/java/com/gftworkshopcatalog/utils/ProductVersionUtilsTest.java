@@ -0,0 +1,45 @@
+package com.gftworkshopcatalog.utils;
+
+import com.gftworkshopcatalog.exceptions.BadRequest;
+import com.gftworkshopcatalog.model.ProductEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductVersionUtilsTest {
+
+    @Test
+    @DisplayName("ETag - Quoted version of the product")
+    void okWithETag_quotesVersion() {
+        ResponseEntity<ProductEntity> response = ProductVersionUtils.okWithETag(ProductEntity.builder().id(1L).version(7L).build());
+
+        assertEquals("\"7\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("ETag - Omitted when the version is unknown")
+    void okWithETag_noVersion() {
+        ResponseEntity<ProductEntity> response = ProductVersionUtils.okWithETag(new ProductEntity());
+
+        assertNull(response.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("If-Match - Parses strong validators and treats absent or * as unconditional")
+    void parseIfMatch_valid() {
+        assertEquals(7L, ProductVersionUtils.parseIfMatch("\"7\""));
+        assertEquals(7L, ProductVersionUtils.parseIfMatch(" \"7\" "));
+        assertNull(ProductVersionUtils.parseIfMatch(null));
+        assertNull(ProductVersionUtils.parseIfMatch("*"));
+    }
+
+    @Test
+    @DisplayName("If-Match - Rejects malformed and weak validators")
+    void parseIfMatch_invalid() {
+        assertThrows(BadRequest.class, () -> ProductVersionUtils.parseIfMatch("7"));
+        assertThrows(BadRequest.class, () -> ProductVersionUtils.parseIfMatch("W/\"7\""));
+        assertThrows(BadRequest.class, () -> ProductVersionUtils.parseIfMatch("\"abc\""));
+    }
+}